@@ -8,19 +8,33 @@ import dev.lsdmc.edencells.commands.MainCommand;
 import dev.lsdmc.edencells.commands.TeleportNPCCommands;
 import dev.lsdmc.edencells.commands.SecurityCommands;
 import dev.lsdmc.edencells.managers.DoorManager;
+import dev.lsdmc.edencells.managers.BackupManager;
 import dev.lsdmc.edencells.managers.CellManager;
+import dev.lsdmc.edencells.managers.CompletionIndex;
+import dev.lsdmc.edencells.managers.OwnershipIndex;
+import dev.lsdmc.edencells.managers.RegionIndex;
 import dev.lsdmc.edencells.managers.TeleportNPCManager;
 import dev.lsdmc.edencells.managers.SyncManager;
 import dev.lsdmc.edencells.gui.CellGUIManager;
 import dev.lsdmc.edencells.listeners.CellSignListener;
+import dev.lsdmc.edencells.listeners.DoorChunkListener;
 import dev.lsdmc.edencells.listeners.DoorInteractionListener;
 import dev.lsdmc.edencells.listeners.GUIListener;
+import dev.lsdmc.edencells.listeners.PlayerQuitListener;
+import dev.lsdmc.edencells.listeners.RegionSyncListener;
+import dev.lsdmc.edencells.listeners.StartupGateListener;
+import dev.lsdmc.edencells.listeners.TabCompleteListener;
 import dev.lsdmc.edencells.models.CellGroupManager;
+import dev.lsdmc.edencells.security.PermissionCache;
 import dev.lsdmc.edencells.security.SecurityManager;
+import dev.lsdmc.edencells.storage.StorageBackend;
+import dev.lsdmc.edencells.storage.StorageBackends;
 import dev.lsdmc.edencells.utils.ConfigManager;
 import dev.lsdmc.edencells.utils.Constants;
+import dev.lsdmc.edencells.utils.EdenCellsSettings;
 import dev.lsdmc.edencells.utils.MessageUtils;
 import dev.lsdmc.edencells.utils.PermissionManager;
+import dev.lsdmc.edencells.utils.TimingWheel;
 import net.alex9849.arm.AdvancedRegionMarket;
 import net.alex9849.arm.regions.Region;
 import net.milkbowl.vault.economy.Economy;
@@ -29,20 +43,35 @@ import org.bukkit.command.CommandExecutor;
 import org.bukkit.command.CommandSender;
 import org.bukkit.command.TabCompleter;
 import org.bukkit.entity.Player;
+import org.bukkit.event.HandlerList;
 import org.bukkit.event.Listener;
 import org.bukkit.plugin.Plugin;
 import org.bukkit.plugin.RegisteredServiceProvider;
 import org.bukkit.plugin.java.JavaPlugin;
 
 import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 public class EdenCells extends JavaPlugin implements Listener {
     private static EdenCells instance;
     
     private Economy economy;
     private AdvancedRegionMarket arm;
+    private RegionIndex regionIndex;
+    private OwnershipIndex ownershipIndex;
+    private CompletionIndex completionIndex;
+    private StartupGateListener startupGateListener;
+    private volatile boolean ready;
+    private volatile EdenCellsSettings settings;
+    private StorageBackend storage;
     private SecurityManager securityManager;
+    private PermissionCache permissionCache;
+    private TimingWheel timers;
     private CellManager cellManager;
     private DoorManager doorManager;
     private TeleportNPCManager teleportNPCManager;
@@ -52,6 +81,7 @@ public class EdenCells extends JavaPlugin implements Listener {
     private CellGroupManager cellGroupManager;
     private ConfigManager configManager;
     private SyncManager syncManager;
+    private BackupManager backupManager;
     
     @Override
     public void onEnable() {
@@ -83,17 +113,35 @@ public class EdenCells extends JavaPlugin implements Listener {
             
             // Save default config
             saveDefaultConfig();
+            this.settings = EdenCellsSettings.from(getConfig(), getLogger());
             
             // Initialize config manager
             this.configManager = new ConfigManager(this);
             
+            // Open storage before the managers that read from it
+            this.storage = StorageBackends.open(this);
+            getLogger().info("Using " + storage.getName() + " storage");
+            
+            // Create indexes and managers; their data is loaded in parallel below
+            this.regionIndex = new RegionIndex(this, arm);
+            this.ownershipIndex = new OwnershipIndex(this, regionIndex);
+            
+            // One wheel for every per-player cooldown and expiry, advanced each tick
+            this.timers = new TimingWheel(512, 50L);
+            getServer().getScheduler().runTaskTimer(this, timers::advance, 1L, 1L);
+            
             // Initialize managers with null safety
+            this.permissionCache = new PermissionCache(this);
             this.securityManager = new SecurityManager(this);
             this.cellManager = new CellManager(this, arm, economy, securityManager);
             this.cellGroupManager = new CellGroupManager(this);
+            this.completionIndex = new CompletionIndex(this);
             this.doorManager = new DoorManager(this, cellManager, securityManager);
             this.teleportNPCManager = new TeleportNPCManager(this, cellManager, economy, securityManager);
             this.syncManager = new SyncManager(this);
+            this.backupManager = new BackupManager(this);
+            
+            startLoading();
             
             // Register Citizens trait if Citizens is available
             if (getServer().getPluginManager().isPluginEnabled("Citizens")) {
@@ -119,15 +167,21 @@ public class EdenCells extends JavaPlugin implements Listener {
             // Initialize listeners with null checks
             try {
                 this.cellSignListener = new CellSignListener(this);
-                this.guiListener = new GUIListener(this, cellManager, securityManager);
+                this.guiListener = new GUIListener(this, cellManager);
                 
                 // Create door interaction listener
                 DoorInteractionListener doorInteractionListener = new DoorInteractionListener(this, doorManager, securityManager);
                 
                 // Register events
+                this.startupGateListener = new StartupGateListener(this);
+                getServer().getPluginManager().registerEvents(startupGateListener, this);
+                getServer().getPluginManager().registerEvents(new RegionSyncListener(this, regionIndex, ownershipIndex), this);
                 getServer().getPluginManager().registerEvents(cellSignListener, this);
                 getServer().getPluginManager().registerEvents(guiListener, this);
                 getServer().getPluginManager().registerEvents(doorInteractionListener, this);
+                getServer().getPluginManager().registerEvents(new DoorChunkListener(doorManager), this);
+                getServer().getPluginManager().registerEvents(new TabCompleteListener(this, completionIndex), this);
+                getServer().getPluginManager().registerEvents(new PlayerQuitListener(timers), this);
             } catch (Exception e) {
                 getLogger().severe("Failed to initialize listeners: " + e.getMessage());
                 throw e;
@@ -171,7 +225,7 @@ public class EdenCells extends JavaPlugin implements Listener {
                 throw e;
             }
             
-            getLogger().info("EdenCells has been enabled successfully!");
+            getLogger().info("EdenCells has been enabled, data is loading in the background");
             
         } catch (Exception e) {
             getLogger().severe("Critical error during plugin initialization: " + e.getMessage());
@@ -180,30 +234,148 @@ public class EdenCells extends JavaPlugin implements Listener {
         }
     }
     
+    /**
+     * Build region indexes, then parse data files on worker threads. Each phase is timed;
+     * when all are done the main thread finishes startup and opens the plugin up.
+     */
+    private void startLoading() {
+        long started = System.nanoTime();
+        
+        // ARM's region manager and regions are not thread-safe, so the index walk stays on the main thread
+        runPhase("region indexes", () -> {
+            regionIndex.rebuild();
+            ownershipIndex.rebuild();
+        });
+        
+        Map<String, Runnable> phases = new LinkedHashMap<>();
+        phases.put("cell groups", cellGroupManager::loadGroups);
+        phases.put("door links", doorManager::loadDoors);
+        phases.put("teleport NPCs", teleportNPCManager::readNPCs);
+        
+        int threads = Math.max(1, Math.min(phases.size(), getConfig().getInt(Constants.Config.ASYNC_THREAD_POOL_SIZE, 4)));
+        ExecutorService loader = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "EdenCells-loader");
+            thread.setDaemon(true);
+            return thread;
+        });
+        
+        Map<String, CompletableFuture<Void>> running = new LinkedHashMap<>();
+        for (Map.Entry<String, Runnable> phase : phases.entrySet()) {
+            running.put(phase.getKey(), CompletableFuture.runAsync(() -> runPhase(phase.getKey(), phase.getValue()), loader));
+        }
+        
+        CompletableFuture.allOf(running.values().toArray(new CompletableFuture<?>[0])).whenComplete((ignored, error) -> {
+            loader.shutdown();
+            if (isEnabled()) {
+                getServer().getScheduler().runTask(this, () -> finishLoading(phases, running, started));
+            }
+        });
+    }
+    
+    private void runPhase(String name, Runnable task) {
+        long start = System.nanoTime();
+        task.run();
+        getLogger().info("Startup phase '" + name + "' took " + (System.nanoTime() - start) / 1_000_000 + " ms");
+    }
+    
+    /**
+     * Join the loading phases on the main thread, retrying any that failed
+     */
+    private void finishLoading(Map<String, Runnable> phases, Map<String, CompletableFuture<Void>> running, long started) {
+        for (Map.Entry<String, CompletableFuture<Void>> phase : running.entrySet()) {
+            if (!phase.getValue().isCompletedExceptionally()) {
+                continue;
+            }
+            
+            getLogger().warning("Startup phase '" + phase.getKey() + "' failed off the main thread, retrying");
+            try {
+                runPhase(phase.getKey(), phases.get(phase.getKey()));
+            } catch (Exception e) {
+                getLogger().severe("Startup phase '" + phase.getKey() + "' failed: " + e.getMessage());
+                e.printStackTrace();
+            }
+        }
+        
+        // Citizens must be touched from the main thread
+        teleportNPCManager.attachTraits();
+        
+        ready = true;
+        backupManager.start();
+        permissionCache.start();
+        if (startupGateListener != null) {
+            HandlerList.unregisterAll(startupGateListener);
+            startupGateListener = null;
+        }
+        getLogger().info("EdenCells finished loading in " + (System.nanoTime() - started) / 1_000_000 + " ms");
+    }
+    
+    /**
+     * Check whether startup loading has finished
+     * @return true once all data is loaded
+     */
+    public boolean isReady() {
+        return ready;
+    }
+    
+    /**
+     * Tell a sender to try again later if startup loading hasn't finished
+     * @param sender The sender
+     * @return true if the interaction should be rejected
+     */
+    public boolean rejectWhileLoading(CommandSender sender) {
+        if (ready) {
+            return false;
+        }
+        MessageUtils.sendError(sender, "EdenCells is still loading, please try again in a moment.");
+        return true;
+    }
+    
     @Override
     public void onDisable() {
         getLogger().info("Disabling EdenCells...");
         
+        if (!ready) {
+            // Data may be half loaded; saving now would overwrite the files with it
+            getLogger().warning("EdenCells was disabled before loading finished, skipping saves");
+            if (securityManager != null) {
+                securityManager.shutdown();
+            }
+            if (storage != null) {
+                storage.close();
+            }
+            return;
+        }
+        
         try {
             // Save all configurations
             if (cellGroupManager != null) {
-                cellGroupManager.saveGroups();
+                cellGroupManager.shutdown();
                 getLogger().info("Saved cell group configurations");
             }
             
             if (doorManager != null) {
-                doorManager.saveDoors();
+                doorManager.shutdown();
                 getLogger().info("Saved door configurations");
             }
             
             if (teleportNPCManager != null) {
-                teleportNPCManager.saveNPCs();
+                teleportNPCManager.shutdown();
                 getLogger().info("Saved teleport NPC configurations");
             }
             
+            // Write queued audit entries before storage goes away
+            if (securityManager != null) {
+                securityManager.shutdown();
+            }
+            
+            // Close storage once every manager has flushed
+            if (storage != null) {
+                storage.close();
+            }
+            
             // Clean up sessions
             if (guiManager != null) {
-                dev.lsdmc.edencells.gui.CellGUI.cleanupSessions();
+                guiManager.shutdown();
                 getLogger().info("Cleaned up GUI sessions");
             }
             
@@ -244,10 +416,34 @@ public class EdenCells extends JavaPlugin implements Listener {
         return arm;
     }
     
+    public RegionIndex getRegionIndex() {
+        return regionIndex;
+    }
+    
+    public OwnershipIndex getOwnershipIndex() {
+        return ownershipIndex;
+    }
+    
+    public CompletionIndex getCompletionIndex() {
+        return completionIndex;
+    }
+    
+    public StorageBackend getStorage() {
+        return storage;
+    }
+    
     public SecurityManager getSecurityManager() {
         return securityManager;
     }
     
+    public PermissionCache getPermissionCache() {
+        return permissionCache;
+    }
+    
+    public TimingWheel getTimers() {
+        return timers;
+    }
+    
     public CellManager getCellManager() {
         return cellManager;
     }
@@ -273,37 +469,81 @@ public class EdenCells extends JavaPlugin implements Listener {
         return configManager;
     }
     
+    public BackupManager getBackupManager() {
+        return backupManager;
+    }
+    
     public SyncManager getSyncManager() {
         return syncManager;
     }
     
     public double getMemberAddCost() {
-        return getConfig().getDouble("economy.members.add-cost", 100.0);
+        return settings.memberAddCost();
     }
     
     public double getMemberRemoveCost() {
-        return getConfig().getDouble("economy.members.remove-cost", 50.0);
+        return settings.memberRemoveCost();
+    }
+    
+    /**
+     * Get the current settings snapshot
+     * @return Settings compiled from the loaded config
+     */
+    public EdenCellsSettings getSettings() {
+        return settings;
+    }
+    
+    /**
+     * Recompile the settings snapshot from the loaded config and swap it in
+     * Call after changing or reloading the config
+     */
+    public void reloadSettings() {
+        this.settings = EdenCellsSettings.from(getConfig(), getLogger());
+        
+        if (securityManager != null) {
+            securityManager.reloadRateLimits();
+        }
+        
+        // Free teleport groups may have changed
+        if (permissionCache != null && ready) {
+            permissionCache.refreshAll();
+        }
     }
     
     // Missing reload method
     public void reload() {
         reloadConfig();
-        // Could add additional reload logic here if needed
+        reloadSettings();
+        
+        if (regionIndex != null) {
+            regionIndex.rebuild();
+        }
+        
+        if (ownershipIndex != null) {
+            ownershipIndex.rebuild();
+        }
+        
+        if (completionIndex != null) {
+            completionIndex.reload();
+        }
+        
+        if (doorManager != null) {
+            doorManager.invalidateAllAccess();
+        }
+        
+        if (backupManager != null && ready) {
+            backupManager.start();
+        }
     }
     
     // Utility methods
     public Region findRegionById(String regionId) {
-        if (regionId == null || regionId.trim().isEmpty() || arm == null) {
+        if (regionId == null || regionId.trim().isEmpty() || regionIndex == null) {
             return null;
         }
         
         try {
-            for (Region r : arm.getRegionManager()) {
-                if (r != null && r.getRegion() != null && 
-                    r.getRegion().getId().equalsIgnoreCase(regionId.trim())) {
-                    return r;
-                }
-            }
+            return regionIndex.get(regionId);
         } catch (Exception e) {
             getLogger().warning("Error finding region '" + regionId + "': " + e.getMessage());
         }
@@ -326,12 +566,8 @@ public class EdenCells extends JavaPlugin implements Listener {
     public void debug(String message) {
         if (message == null) return;
         
-        try {
-            if (getConfig().getBoolean(Constants.Config.DEBUG, false)) {
-                getLogger().info("[DEBUG] " + message);
-            }
-        } catch (Exception e) {
-            // Fallback to basic logging if config is broken
+        EdenCellsSettings current = settings;
+        if (current != null && current.debug()) {
             getLogger().info("[DEBUG] " + message);
         }
     }
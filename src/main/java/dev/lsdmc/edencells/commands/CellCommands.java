@@ -1,8 +1,6 @@
 package dev.lsdmc.edencells.commands;
 
 import dev.lsdmc.edencells.EdenCells;
-import dev.lsdmc.edencells.gui.CellGUI;
-import dev.lsdmc.edencells.gui.CellSelectionGUI;
 import dev.lsdmc.edencells.utils.Constants;
 import dev.lsdmc.edencells.utils.MessageUtils;
 import net.alex9849.arm.regions.Region;
@@ -33,7 +31,7 @@ public final class CellCommands implements CommandExecutor, TabCompleter {
     public boolean onCommand(CommandSender sender, Command command, String label, String[] args) {
         try {
             // Log the command execution only if debug is enabled
-            if (plugin.getConfig().getBoolean(Constants.Config.DEBUG, false)) {
+            if (plugin.getSettings().debug()) {
                 plugin.getLogger().info("[CellCommands] Command executed: /" + label + " " + String.join(" ", args));
             }
             
@@ -56,7 +54,7 @@ public final class CellCommands implements CommandExecutor, TabCompleter {
             }
             
             String subCommand = args[0].toLowerCase();
-            if (plugin.getConfig().getBoolean(Constants.Config.DEBUG, false)) {
+            if (plugin.getSettings().debug()) {
                 plugin.getLogger().info("[CellCommands] Subcommand: " + subCommand);
             }
             
@@ -101,18 +99,16 @@ public final class CellCommands implements CommandExecutor, TabCompleter {
             
             if (cells.size() == 1) {
                 // Single cell - open management GUI directly
-                var cellGUI = new CellGUI(plugin, plugin.getCellManager(), plugin.getSecurityManager());
-                cellGUI.openCellGUI(player, cells.get(0));
+                plugin.getGuiManager().openCellGUI(player, cells.get(0));
             } else {
                 // Multiple cells - show selection GUI
-                var selectionGUI = new CellSelectionGUI(plugin);
-                selectionGUI.openSelectionGUI(player, cells);
+                plugin.getGuiManager().openSelectionGUI(player, cells);
             }
             
         } catch (Exception e) {
             MessageUtils.sendError(player, "Failed to open cell interface!");
             plugin.getLogger().warning("Error opening cell interface for " + player.getName() + ": " + e.getMessage());
-            if (plugin.getConfig().getBoolean(Constants.Config.DEBUG, false)) {
+            if (plugin.getSettings().debug()) {
                 e.printStackTrace();
             }
         }
@@ -133,8 +129,7 @@ public final class CellCommands implements CommandExecutor, TabCompleter {
         }
         
         // Open viewer GUI for this cell
-        var cellGUI = new CellGUI(plugin, plugin.getCellManager(), plugin.getSecurityManager());
-        cellGUI.openCellGUI(player, cell);
+        plugin.getGuiManager().openCellGUI(player, cell);
         
         return true;
     }
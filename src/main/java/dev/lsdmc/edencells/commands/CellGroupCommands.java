@@ -6,14 +6,15 @@ import dev.lsdmc.edencells.models.CellGroupManager;
 import dev.lsdmc.edencells.utils.Constants;
 import dev.lsdmc.edencells.utils.MessageUtils;
 import dev.lsdmc.edencells.utils.PermissionManager;
+import dev.lsdmc.edencells.utils.RegionPattern;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Set;
 import java.util.stream.Collectors;
-import net.alex9849.arm.AdvancedRegionMarket;
 import net.alex9849.arm.regions.Region;
 import net.kyori.adventure.text.Component;
 import net.kyori.adventure.text.TextComponent;
@@ -90,7 +91,7 @@ public final class CellGroupCommands implements CommandExecutor, TabCompleter {
       case "bulkadd":
         if (args.length < 3) {
           MessageUtils.sendError(player, "Usage: /cellgroup bulkadd <group> <pattern>");
-          MessageUtils.sendInfo(player, "Examples: jcell*, jcell1-50, donor*");
+          MessageUtils.sendInfo(player, "Examples: jcell*, jcell1-50, jcell1-50,!jcell13, donor* vip*");
         return true;
         }
         String pattern = String.join(" ", Arrays.copyOfRange(args, 2, args.length));
@@ -166,28 +167,20 @@ public final class CellGroupCommands implements CommandExecutor, TabCompleter {
     if (args.length == 2) {
       String subCommand = args[0].toLowerCase();
       if (Arrays.asList("delete", "add", "bulkadd", "remove", "list", "info", "limit", "cost", "permission", "donor", "debug").contains(subCommand)) {
-        List<String> groupNames = groupManager.getAllGroups().values().stream()
-              .map(CellGroup::getName)
-          .collect(Collectors.toList());
-        return filterStartingWith(groupNames, args[1]);
+        return plugin.getCompletionIndex().completeGroupNames(args[1]);
       }
     } 
     
     if (args.length == 3) {
       String subCommand = args[0].toLowerCase();
-      if (Arrays.asList("add", "remove").contains(subCommand) && 
-          groupManager.getGroup(args[1]) != null) {
-        AdvancedRegionMarket arm = AdvancedRegionMarket.getInstance();
-        if (arm != null) {
-          List<String> regionIds = new ArrayList<>();
-          for (Region region : arm.getRegionManager()) {
-            regionIds.add(region.getRegion().getId()); 
-          }
-          return filterStartingWith(regionIds, args[2]);
-        } 
+      CellGroup group = groupManager.getGroup(args[1]);
+      if (subCommand.equals("add") && group != null) {
+        return plugin.getCompletionIndex().completeRegionIds(args[2]);
+      } else if (subCommand.equals("remove") && group != null) {
+        return plugin.getCompletionIndex().completeRegionIds(args[2], group::containsRegion);
       } else if (subCommand.equals("bulkadd")) {
         // Provide pattern examples for bulk add
-        return Arrays.asList("jcell*", "jcell1-50", "donor*", "vip*");
+        return Arrays.asList("jcell*", "jcell1-50", "jcell1-50,!jcell13", "donor*", "vip*");
       } 
     } 
     
@@ -220,6 +213,7 @@ public final class CellGroupCommands implements CommandExecutor, TabCompleter {
     MessageUtils.send(player, "<color:#FFB3C6>/cellgroup help</color> <color:#06FFA5>- Show this help message</color>");
     MessageUtils.send(player, "");
     MessageUtils.send(player, "<color:#ADB5BD>Bulk patterns: jcell*, jcell1-50, donor*, vip*</color>");
+    MessageUtils.send(player, "<color:#ADB5BD>Combine with commas or spaces, exclude with !: jcell1-50,!jcell13</color>");
   }
   
   private boolean handleCreateGroup(Player player, String groupId, String displayName) {
@@ -313,9 +307,17 @@ public final class CellGroupCommands implements CommandExecutor, TabCompleter {
       return true;
     }
     
+    RegionPattern compiled;
+    try {
+      compiled = RegionPattern.compile(pattern);
+    } catch (IllegalArgumentException e) {
+      MessageUtils.sendError(player, "Invalid pattern: %s", e.getMessage());
+      return true;
+    }
+    
     MessageUtils.sendInfo(player, "Processing bulk add with pattern: %s", pattern);
     
-    List<String> matchingRegions = findRegionsByPattern(pattern);
+    List<String> matchingRegions = findRegionsByPattern(compiled);
     if (matchingRegions.isEmpty()) {
       MessageUtils.sendError(player, "No regions found matching pattern: %s", pattern);
       return true;
@@ -328,32 +330,26 @@ public final class CellGroupCommands implements CommandExecutor, TabCompleter {
       return true;
     }
     
-    int added = 0;
+    // Matches come straight from the region index, so they all exist
+    List<String> toAdd = new ArrayList<>();
     int skipped = 0;
-    int errors = 0;
-    
     for (String regionId : matchingRegions) {
-      // Verify region exists
-      Region region = plugin.findRegionById(regionId);
-      if (region == null) {
-        errors++;
-        continue;
-      }
-      
-      // Check if already in group
       if (group.containsRegion(regionId)) {
         skipped++;
-        continue;
-      }
-      
-      // Add to group
-      if (group.addRegion(regionId)) {
-        added++;
       } else {
-        errors++;
+        toAdd.add(regionId);
       }
     }
     
+    int added;
+    try {
+      added = group.addRegions(toAdd);
+    } catch (IllegalStateException e) {
+      MessageUtils.sendError(player, e.getMessage());
+      return true;
+    }
+    int errors = toAdd.size() - added;
+    
     // Save changes
     if (added > 0) {
       groupManager.saveGroups();
@@ -698,92 +694,19 @@ public final class CellGroupCommands implements CommandExecutor, TabCompleter {
   }
   
   /**
-   * Find regions matching a pattern
+   * Find regions matching a compiled pattern in one pass over the region index
    */
-  private List<String> findRegionsByPattern(String pattern) {
-    AdvancedRegionMarket arm = AdvancedRegionMarket.getInstance();
-    if (arm == null) {
-      return new ArrayList<>();
-    }
-    
-    List<String> matching = new ArrayList<>();
+  private List<String> findRegionsByPattern(RegionPattern pattern) {
+    Set<String> matching = new LinkedHashSet<>();
     
-    for (Region region : arm.getRegionManager()) {
+    for (Region region : plugin.getRegionIndex().getAll()) {
       String regionId = region.getRegion().getId();
-      if (matchesPattern(regionId, pattern)) {
+      if (pattern.matches(regionId)) {
         matching.add(regionId);
       }
     }
     
-    return matching;
-  }
-  
-  /**
-   * Check if a region ID matches a pattern
-   */
-  private boolean matchesPattern(String regionId, String pattern) {
-    // Handle range patterns like jcell1-50
-    if (pattern.contains("-") && !pattern.startsWith("-") && !pattern.endsWith("-")) {
-      return matchesRangePattern(regionId, pattern);
-    }
-    
-    // Handle wildcard patterns like jcell*
-    if (pattern.contains("*")) {
-      return matchesWildcardPattern(regionId, pattern);
-    }
-    
-    // Exact match
-    return regionId.equals(pattern);
-  }
-  
-  /**
-   * Match range patterns like jcell1-50
-   */
-  private boolean matchesRangePattern(String regionId, String pattern) {
-    try {
-      String[] parts = pattern.split("-");
-      if (parts.length != 2) return false;
-      
-      String firstPart = parts[0];
-      String prefix = "";
-      int startNum = 0;
-      
-      // Find where numbers start in the first part
-      for (int i = 0; i < firstPart.length(); i++) {
-        if (Character.isDigit(firstPart.charAt(i))) {
-          prefix = firstPart.substring(0, i);
-          startNum = Integer.parseInt(firstPart.substring(i));
-          break;
-        }
-      }
-      
-      int endNum = Integer.parseInt(parts[1]);
-      
-      // Check if regionId matches pattern
-      if (!regionId.startsWith(prefix)) return false;
-      
-      String numPart = regionId.substring(prefix.length());
-      if (numPart.isEmpty()) return false;
-      
-      try {
-        int regionNum = Integer.parseInt(numPart);
-        return regionNum >= startNum && regionNum <= endNum;
-      } catch (NumberFormatException e) {
-        return false;
-      }
-      
-    } catch (Exception e) {
-      return false;
-    }
-  }
-  
-  /**
-   * Match wildcard patterns like jcell*
-   */
-  private boolean matchesWildcardPattern(String regionId, String pattern) {
-    // Convert wildcard pattern to regex
-    String regex = pattern.replace("*", ".*").replace("?", ".");
-    return regionId.matches(regex);
+    return new ArrayList<>(matching);
   }
 }
 
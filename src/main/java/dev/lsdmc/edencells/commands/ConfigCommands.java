@@ -224,6 +224,7 @@ public final class ConfigCommands implements CommandExecutor, TabCompleter {
         // Apply the change
         plugin.getConfig().set(path, newValue);
         plugin.saveConfig();
+        plugin.reloadSettings();
         
         // Apply specific changes immediately
         applyConfigChange(path, newValue);
@@ -408,7 +409,11 @@ public final class ConfigCommands implements CommandExecutor, TabCompleter {
     }
     
     private boolean handleReload(CommandSender sender) {
+        // Write group edits still waiting on the write-behind delay, or the reload drops them
+        plugin.getCellGroupManager().saveGroupsNow();
+        
         plugin.reloadConfig();
+        plugin.reloadSettings();
         
         // Reload all managers that depend on config
         plugin.getCellGroupManager().loadGroups();
@@ -423,7 +428,7 @@ public final class ConfigCommands implements CommandExecutor, TabCompleter {
     
     private boolean handleSave(CommandSender sender) {
         plugin.saveConfig();
-        plugin.getCellGroupManager().saveGroups();
+        plugin.getCellGroupManager().saveGroupsNow();
         plugin.getDoorManager().saveDoors();
         
         MessageUtils.sendSuccess(sender, "All configurations saved successfully!");
@@ -1,10 +1,10 @@
 package dev.lsdmc.edencells.commands;
 
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
 import dev.lsdmc.edencells.EdenCells;
 import dev.lsdmc.edencells.managers.DoorManager;
 import dev.lsdmc.edencells.utils.Constants;
 import dev.lsdmc.edencells.utils.MessageUtils;
-import net.alex9849.arm.AdvancedRegionMarket;
 import net.alex9849.arm.regions.Region;
 import net.kyori.adventure.text.Component;
 import net.kyori.adventure.text.format.NamedTextColor;
@@ -76,6 +76,14 @@ public class DoorCommands implements CommandExecutor, TabCompleter {
                 handleInfoCommand(player);
                 return true;
                 
+            case "stats":
+                if (!player.hasPermission("edencells.admin.doors")) {
+                    MessageUtils.sendNoPermission(player);
+                    return true;
+                }
+                handleStatsCommand(player);
+                return true;
+                
             case "help":
                 sendUsage(player);
                 return true;
@@ -200,12 +208,24 @@ public class DoorCommands implements CommandExecutor, TabCompleter {
         MessageUtils.sendInfo(player, "Door location: %s", formatLocation(bottomDoor.getLocation()));
     }
     
+    private void handleStatsCommand(Player player) {
+        CacheStats stats = doorManager.getAccessCacheStats();
+        
+        MessageUtils.sendInfo(player, "=== Door Statistics ===");
+        MessageUtils.sendInfo(player, "Linked doors: %d", doorManager.getDoorCount());
+        MessageUtils.sendInfo(player, "Regions with doors: %d", doorManager.getLinkedRegionIds().size());
+        MessageUtils.sendInfo(player, "Access cache entries: %d", doorManager.getAccessCacheSize());
+        MessageUtils.sendInfo(player, "Access cache hits: %d, misses: %d (%.1f%% hit rate)", 
+            stats.hitCount(), stats.missCount(), stats.hitRate() * 100);
+    }
+    
     private void sendUsage(Player player) {
         MessageUtils.send(player, "<color:#9D4EDD>=== Door Management Commands ===</color>");
         if (player.hasPermission("edencells.admin.doors")) {
             MessageUtils.send(player, "<color:#FFB3C6>/door link <region></color> <color:#06FFA5>- Link the door you're looking at to a region</color>");
             MessageUtils.send(player, "<color:#FFB3C6>/door unlink</color> <color:#06FFA5>- Unlink the door you're looking at</color>");
             MessageUtils.send(player, "<color:#FFB3C6>/door info</color> <color:#06FFA5>- Get information about the door you're looking at</color>");
+            MessageUtils.send(player, "<color:#FFB3C6>/door stats</color> <color:#06FFA5>- Show door link and access cache statistics</color>");
             MessageUtils.send(player, "<color:#FFB3C6>/door help</color> <color:#06FFA5>- Show this help message</color>");
             MessageUtils.send(player, "");
             MessageUtils.send(player, "<color:#ADB5BD>Note: Look at a door block when using these commands.</color>");
@@ -228,19 +248,10 @@ public class DoorCommands implements CommandExecutor, TabCompleter {
         
         if (sender instanceof Player player && player.hasPermission("edencells.admin.doors")) {
             if (args.length == 1) {
-                completions.addAll(Arrays.asList("link", "unlink", "info", "help"));
+                completions.addAll(Arrays.asList("link", "unlink", "info", "stats", "help"));
             } else if (args.length == 2 && args[0].equalsIgnoreCase("link")) {
-                // Add region IDs for tab completion
-                try {
-                    AdvancedRegionMarket arm = AdvancedRegionMarket.getInstance();
-                    if (arm != null) {
-                        for (Region region : arm.getRegionManager()) {
-                            completions.add(region.getRegion().getId());
-                        }
-                    }
-                } catch (Exception e) {
-                    plugin.getLogger().warning("Failed to get regions for tab completion: " + e.getMessage());
-                }
+                // Region IDs come pre-sorted and prefix-filtered from the index
+                return plugin.getCompletionIndex().completeRegionIds(args[1]);
             }
             
             return StringUtil.copyPartialMatches(args[args.length - 1], completions, new ArrayList<>());
@@ -1,6 +1,8 @@
 package dev.lsdmc.edencells.commands;
 
 import dev.lsdmc.edencells.EdenCells;
+import dev.lsdmc.edencells.storage.StorageBackend;
+import dev.lsdmc.edencells.storage.StorageBackends;
 import dev.lsdmc.edencells.utils.Constants;
 import dev.lsdmc.edencells.utils.MessageUtils;
 import org.bukkit.command.Command;
@@ -8,8 +10,12 @@ import org.bukkit.command.CommandExecutor;
 import org.bukkit.command.CommandSender;
 import org.bukkit.command.TabCompleter;
 
+import java.io.File;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
  * Main plugin command handler
@@ -17,6 +23,7 @@ import java.util.List;
 public final class MainCommand implements CommandExecutor, TabCompleter {
     
     private final EdenCells plugin;
+    private final AtomicBoolean migrating = new AtomicBoolean();
     
     public MainCommand(EdenCells plugin) {
         this.plugin = plugin;
@@ -44,10 +51,133 @@ public final class MainCommand implements CommandExecutor, TabCompleter {
             return true;
         }
         
+        if (args[0].equalsIgnoreCase("storage")) {
+            if (!sender.hasPermission(Constants.Permissions.ADMIN)) {
+                MessageUtils.sendNoPermission(sender);
+                return true;
+            }
+            
+            if (args.length < 3 || !args[1].equalsIgnoreCase("migrate")) {
+                MessageUtils.sendError(sender, "Usage: /edencells storage migrate <" + String.join("|", StorageBackends.TYPES) + ">");
+                return true;
+            }
+            
+            handleMigrate(sender, args[2].toLowerCase(Locale.ROOT));
+            return true;
+        }
+        
+        if (args[0].equalsIgnoreCase("backup") || args[0].equalsIgnoreCase("restore")) {
+            if (!sender.hasPermission(Constants.Permissions.ADMIN)) {
+                MessageUtils.sendNoPermission(sender);
+                return true;
+            }
+            if (plugin.rejectWhileLoading(sender)) {
+                return true;
+            }
+            
+            if (args[0].equalsIgnoreCase("backup")) {
+                if (plugin.getBackupManager().createBackup(null, sender)) {
+                    MessageUtils.sendInfo(sender, "Writing backup...");
+                }
+            } else {
+                handleRestore(sender, args);
+            }
+            return true;
+        }
+        
         sendInfo(sender);
         return true;
     }
     
+    /**
+     * List backups, or restore one once confirmed
+     */
+    private void handleRestore(CommandSender sender, String[] args) {
+        if (args.length < 2) {
+            List<File> backups = plugin.getBackupManager().listBackups();
+            if (backups.isEmpty()) {
+                MessageUtils.sendInfo(sender, "No backups found.");
+                return;
+            }
+            
+            MessageUtils.sendInfo(sender, "Backups (newest first):");
+            for (File backup : backups.subList(0, Math.min(10, backups.size()))) {
+                MessageUtils.send(sender, "<color:#ADB5BD>- " + backup.getName() + " (" + (backup.length() / 1024) + " KB)</color>");
+            }
+            MessageUtils.send(sender, "<color:#ADB5BD>Use /edencells restore <name> confirm to restore one</color>");
+            return;
+        }
+        
+        if (args.length < 3 || !args[2].equalsIgnoreCase("confirm")) {
+            MessageUtils.sendError(sender, "This replaces all door links, cell groups and teleport NPCs with the backup. " +
+                "Current data is backed up first. Run /edencells restore " + args[1] + " confirm to continue.");
+            return;
+        }
+        
+        plugin.getBackupManager().restore(args[1], sender);
+    }
+    
+    /**
+     * Copy all data from the active storage backend into another one
+     */
+    private void handleMigrate(CommandSender sender, String targetType) {
+        if (plugin.rejectWhileLoading(sender)) {
+            return;
+        }
+        
+        StorageBackend source = plugin.getStorage();
+        if (!StorageBackends.TYPES.contains(targetType)) {
+            MessageUtils.sendError(sender, "Unknown storage type: " + targetType);
+            return;
+        }
+        if (source.getName().equals(targetType)) {
+            MessageUtils.sendError(sender, "EdenCells is already using " + targetType + " storage.");
+            return;
+        }
+        if (!migrating.compareAndSet(false, true)) {
+            MessageUtils.sendError(sender, "A storage migration is already running.");
+            return;
+        }
+        
+        // Get everything in memory into the source first
+        plugin.getCellGroupManager().saveGroupsNow();
+        plugin.getDoorManager().saveDoors();
+        plugin.getTeleportNPCManager().saveNPCsNow();
+        
+        MessageUtils.sendInfo(sender, "Migrating " + source.getName() + " storage to " + targetType + "...");
+        plugin.getServer().getScheduler().runTaskAsynchronously(plugin, () -> {
+            String result;
+            boolean success = false;
+            StorageBackend target = null;
+            try {
+                target = StorageBackends.open(plugin, targetType);
+                result = StorageBackends.migrate(source, target);
+                success = true;
+            } catch (Exception e) {
+                result = e.getMessage();
+                plugin.getLogger().severe("Storage migration to " + targetType + " failed: " + e.getMessage());
+            } finally {
+                if (target != null) {
+                    target.close();
+                }
+                migrating.set(false);
+            }
+            
+            String message = result;
+            boolean migrated = success;
+            plugin.getServer().getScheduler().runTask(plugin, () -> {
+                if (migrated) {
+                    plugin.getLogger().info("Migrated " + message + " to " + targetType + " storage");
+                    MessageUtils.sendSuccess(sender, "Copied " + message + " to " + targetType + " storage.");
+                    MessageUtils.sendInfo(sender, "Set storage.type to " + targetType + " in config.yml and restart to switch. "
+                        + "Changes made before the restart are not copied.");
+                } else {
+                    MessageUtils.sendError(sender, "Migration failed: " + message);
+                }
+            });
+        });
+    }
+    
     private void sendInfo(CommandSender sender) {
         MessageUtils.send(sender, "<color:#9D4EDD>[EdenCells]</color> <color:#06FFA5>v" + plugin.getDescription().getVersion() + "</color>");
         MessageUtils.send(sender, "<color:#06FFA5>Prison cell management plugin with ARM integration</color>");
@@ -56,14 +186,56 @@ public final class MainCommand implements CommandExecutor, TabCompleter {
         if (sender.hasPermission(Constants.Permissions.RELOAD)) {
             MessageUtils.send(sender, "<color:#51CF66>Admin: </color><color:#ADB5BD>/edencells reload to reload config</color>");
         }
+        if (sender.hasPermission(Constants.Permissions.ADMIN)) {
+            MessageUtils.send(sender, "<color:#51CF66>Admin: </color><color:#ADB5BD>/edencells storage migrate <type> to copy data to another storage backend</color>");
+            MessageUtils.send(sender, "<color:#51CF66>Admin: </color><color:#ADB5BD>/edencells backup, /edencells restore [name] to back up or restore data</color>");
+            if (plugin.getGuiManager() != null) {
+                MessageUtils.send(sender, "<color:#51CF66>Status: </color><color:#ADB5BD>" + plugin.getGuiManager().getOpenSessionCount()
+                    + " open GUI sessions, " + plugin.getTimers().size() + " active timers</color>");
+            }
+        }
     }
     
     @Override
     public List<String> onTabComplete(CommandSender sender, Command command, String alias, String[] args) {
-        if (args.length == 1 && sender.hasPermission(Constants.Permissions.RELOAD)) {
-            if ("reload".startsWith(args[0].toLowerCase())) {
-                return Collections.singletonList("reload");
+        if (args.length == 1) {
+            List<String> completions = new ArrayList<>();
+            if (sender.hasPermission(Constants.Permissions.RELOAD) && "reload".startsWith(args[0].toLowerCase())) {
+                completions.add("reload");
+            }
+            if (sender.hasPermission(Constants.Permissions.ADMIN)) {
+                for (String sub : List.of("storage", "backup", "restore")) {
+                    if (sub.startsWith(args[0].toLowerCase())) {
+                        completions.add(sub);
+                    }
+                }
+            }
+            return completions;
+        }
+        
+        if (args[0].equalsIgnoreCase("restore") && sender.hasPermission(Constants.Permissions.ADMIN)) {
+            if (args.length == 2) {
+                return plugin.getBackupManager().listBackups().stream()
+                    .map(File::getName)
+                    .filter(name -> name.startsWith(args[1]))
+                    .toList();
+            }
+            if (args.length == 3 && "confirm".startsWith(args[2].toLowerCase())) {
+                return Collections.singletonList("confirm");
             }
+            return Collections.emptyList();
+        }
+        
+        if (!args[0].equalsIgnoreCase("storage") || !sender.hasPermission(Constants.Permissions.ADMIN)) {
+            return Collections.emptyList();
+        }
+        if (args.length == 2 && "migrate".startsWith(args[1].toLowerCase())) {
+            return Collections.singletonList("migrate");
+        }
+        if (args.length == 3 && args[1].equalsIgnoreCase("migrate")) {
+            return StorageBackends.TYPES.stream()
+                .filter(type -> type.startsWith(args[2].toLowerCase()))
+                .toList();
         }
         
         return Collections.emptyList();
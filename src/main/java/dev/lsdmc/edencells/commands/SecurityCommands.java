@@ -2,16 +2,31 @@ package dev.lsdmc.edencells.commands;
 
 import dev.lsdmc.edencells.EdenCells;
 import dev.lsdmc.edencells.managers.SyncManager;
+import dev.lsdmc.edencells.security.RateLimiter;
+import dev.lsdmc.edencells.storage.AuditPage;
+import dev.lsdmc.edencells.storage.AuditQuery;
+import dev.lsdmc.edencells.storage.AuditRecord;
 import dev.lsdmc.edencells.utils.Constants;
+import dev.lsdmc.edencells.utils.EdenCellsSettings;
 import dev.lsdmc.edencells.utils.MessageUtils;
 import dev.lsdmc.edencells.utils.PermissionManager;
+import net.kyori.adventure.text.minimessage.MiniMessage;
 import org.bukkit.command.Command;
 import org.bukkit.command.CommandExecutor;
 import org.bukkit.command.CommandSender;
 import org.bukkit.command.TabCompleter;
 import org.bukkit.entity.Player;
 
+import java.io.IOException;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
 import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
 /**
@@ -20,6 +35,12 @@ import java.util.stream.Collectors;
  */
 public final class SecurityCommands implements CommandExecutor, TabCompleter {
     
+    private static final int AUDIT_PAGE_SIZE = 10;
+    private static final Pattern AUDIT_DURATION = Pattern.compile("(\\d{1,6})([smhdw])");
+    private static final DateTimeFormatter AUDIT_TIME_FORMAT =
+        DateTimeFormatter.ofPattern("MM-dd HH:mm:ss").withZone(ZoneId.systemDefault());
+    private static final List<String> AUDIT_FILTERS = List.of("player:", "action:", "region:", "since:", "until:");
+    
     private final EdenCells plugin;
     
     public SecurityCommands(EdenCells plugin) {
@@ -65,32 +86,40 @@ public final class SecurityCommands implements CommandExecutor, TabCompleter {
         if (args.length == 1) {
             // List all rate limits
             MessageUtils.sendInfo(sender, "=== Rate Limits (per minute) ===");
-            MessageUtils.sendInfo(sender, "• Cell Purchase: %d", 
-                plugin.getConfig().getInt("security.rate-limits.cell-purchase", 3));
-            MessageUtils.sendInfo(sender, "• Member Add: %d", 
-                plugin.getConfig().getInt("security.rate-limits.member-add", 5));
-            MessageUtils.sendInfo(sender, "• Member Remove: %d", 
-                plugin.getConfig().getInt("security.rate-limits.member-remove", 5));
-            MessageUtils.sendInfo(sender, "• Door Interact: %d", 
-                plugin.getConfig().getInt("security.rate-limits.door-interact", 20));
-            MessageUtils.sendInfo(sender, "• GUI Open: %d", 
-                plugin.getConfig().getInt("security.rate-limits.gui-open", 10));
-            MessageUtils.sendInfo(sender, "• NPC Interact: %d", 
-                plugin.getConfig().getInt("security.rate-limits.npc-interact", 10));
+            EdenCellsSettings settings = plugin.getSettings();
+            for (String key : EdenCellsSettings.rateLimitKeys()) {
+                MessageUtils.sendInfo(sender, "• %s: %d", key, settings.rateLimitByKey(key));
+            }
+            
+            MessageUtils.sendInfo(sender, "=== Since Startup ===");
+            for (RateLimiter.Stats stats : plugin.getSecurityManager().getRateLimitCounters()) {
+                MessageUtils.sendInfo(sender, "• %s: %d allowed, %d denied",
+                    EdenCellsSettings.rateLimitKey(stats.action()), stats.allowed(), stats.denied());
+            }
             return true;
         }
         
-        if (args.length == 3 && args[1].equalsIgnoreCase("set")) {
-            String action = args[2];
+        if (args.length >= 3 && args[1].equalsIgnoreCase("set")) {
+            String action = args[2].toLowerCase();
             if (args.length < 4) {
                 MessageUtils.sendError(sender, "Usage: /esecurity ratelimits set <action> <limit>");
                 return true;
             }
+            if (EdenCellsSettings.rateLimitAction(action) == null) {
+                MessageUtils.sendError(sender, "Unknown rate limit '%s'. Valid: %s", action,
+                    String.join(", ", EdenCellsSettings.rateLimitKeys()));
+                return true;
+            }
             
             try {
                 int limit = Integer.parseInt(args[3]);
-                plugin.getConfig().set("security.rate-limits." + action, limit);
+                if (limit < 0) {
+                    MessageUtils.sendError(sender, "Invalid number: " + args[3]);
+                    return true;
+                }
+                plugin.getConfig().set(Constants.Config.RATE_LIMIT_PREFIX + action, limit);
                 plugin.saveConfig();
+                plugin.reloadSettings();
                 MessageUtils.sendSuccess(sender, "Set rate limit for '%s' to %d per minute", action, limit);
             } catch (NumberFormatException e) {
                 MessageUtils.sendError(sender, "Invalid number: " + args[3]);
@@ -123,17 +152,17 @@ public final class SecurityCommands implements CommandExecutor, TabCompleter {
                 case "enable":
                     plugin.getConfig().set("security.audit.enabled", true);
                     plugin.saveConfig();
+                    plugin.reloadSettings();
                     MessageUtils.sendSuccess(sender, "Audit logging enabled");
                     return true;
                 case "disable":
                     plugin.getConfig().set("security.audit.enabled", false);
                     plugin.saveConfig();
+                    plugin.reloadSettings();
                     MessageUtils.sendSuccess(sender, "Audit logging disabled");
                     return true;
                 case "view":
-                    // Would implement viewing recent audit logs
-                    MessageUtils.sendInfo(sender, "Recent audit entries would be shown here");
-                    return true;
+                    return handleAuditView(sender, args);
             }
         }
         
@@ -141,6 +170,150 @@ public final class SecurityCommands implements CommandExecutor, TabCompleter {
         return true;
     }
     
+    private boolean handleAuditView(CommandSender sender, String[] args) {
+        int page = 1;
+        String player = null;
+        String action = null;
+        String region = null;
+        long from = 0;
+        long to = Long.MAX_VALUE;
+        StringBuilder filters = new StringBuilder();
+        
+        for (int i = 2; i < args.length; i++) {
+            String arg = args[i];
+            int colon = arg.indexOf(':');
+            if (colon < 0) {
+                try {
+                    page = Integer.parseInt(arg);
+                } catch (NumberFormatException e) {
+                    page = 0;
+                }
+                if (page < 1) {
+                    MessageUtils.sendError(sender, "Invalid page: " + arg);
+                    return true;
+                }
+                continue;
+            }
+            
+            String key = arg.substring(0, colon).toLowerCase();
+            String value = arg.substring(colon + 1);
+            switch (key) {
+                case "player":
+                    player = value;
+                    break;
+                case "action":
+                    action = value;
+                    break;
+                case "region":
+                    region = value;
+                    break;
+                case "since":
+                case "until":
+                    long time = parseAuditTime(value);
+                    if (time < 0) {
+                        MessageUtils.sendError(sender, "Invalid time '" + value + "', use e.g. 30m, 12h, 7d or 2025-01-31");
+                        return true;
+                    }
+                    if (key.equals("since")) {
+                        from = time;
+                    } else {
+                        to = time;
+                    }
+                    break;
+                default:
+                    MessageUtils.sendError(sender, "Unknown filter: " + arg);
+                    MessageUtils.sendError(sender, "Usage: /esecurity audit view [page] [player:<name>] [action:<action>] "
+                        + "[region:<id>] [since:<time>] [until:<time>]");
+                    return true;
+            }
+            filters.append(' ').append(arg);
+        }
+        
+        AuditQuery query = new AuditQuery(player, action, region, from, to, page - 1, AUDIT_PAGE_SIZE);
+        String filterText = filters.toString();
+        
+        // Lookups read the log from disk, keep them off the main thread
+        plugin.getServer().getScheduler().runTaskAsynchronously(plugin, () -> {
+            try {
+                AuditPage result = plugin.getStorage().audit().query(query);
+                plugin.getServer().getScheduler().runTask(plugin, () -> showAuditPage(sender, result, filterText));
+            } catch (IOException e) {
+                plugin.getLogger().warning("Failed to query audit log: " + e.getMessage());
+                plugin.getServer().getScheduler().runTask(plugin, () ->
+                    MessageUtils.sendError(sender, "Failed to read the audit log: " + e.getMessage()));
+            }
+        });
+        return true;
+    }
+    
+    private void showAuditPage(CommandSender sender, AuditPage page, String filters) {
+        if (page.total() == 0) {
+            MessageUtils.sendInfo(sender, "No audit entries match");
+            return;
+        }
+        
+        MessageUtils.send(sender, "<color:#9D4EDD>=== Audit Log (page " + (page.page() + 1) + "/" + page.getPageCount()
+            + ", " + page.total() + " entries) ===</color>");
+        if (page.records().isEmpty()) {
+            MessageUtils.sendInfo(sender, "No entries on this page");
+            return;
+        }
+        
+        MiniMessage miniMessage = MiniMessage.miniMessage();
+        for (AuditRecord record : page.records()) {
+            MessageUtils.send(sender, "<color:#ADB5BD>" + AUDIT_TIME_FORMAT.format(Instant.ofEpochMilli(record.time()))
+                + "</color> <color:#FFB3C6>" + miniMessage.escapeTags(record.playerName())
+                + "</color> <color:#06FFA5>" + miniMessage.escapeTags(record.action())
+                + "</color> " + miniMessage.escapeTags(record.target())
+                + " <color:#ADB5BD>" + miniMessage.escapeTags(record.details()) + "</color>");
+        }
+        
+        if (page.page() + 1 < page.getPageCount()) {
+            MessageUtils.sendInfo(sender, "Next page: /esecurity audit view " + (page.page() + 2) + filters);
+        }
+    }
+    
+    /**
+     * Parses a time filter: "30m", "12h", "7d", "2w" ago, or the start of a "yyyy-MM-dd" day
+     * @return Epoch millis, or -1 if invalid
+     */
+    private long parseAuditTime(String value) {
+        try {
+            if (value.length() == 10 && value.charAt(4) == '-') {
+                return LocalDate.parse(value).atStartOfDay(ZoneId.systemDefault()).toInstant().toEpochMilli();
+            }
+        } catch (DateTimeParseException e) {
+            return -1;
+        }
+        
+        Matcher matcher = AUDIT_DURATION.matcher(value.toLowerCase());
+        if (!matcher.matches()) {
+            return -1;
+        }
+        
+        long amount = Long.parseLong(matcher.group(1));
+        TimeUnit unit;
+        switch (matcher.group(2)) {
+            case "s":
+                unit = TimeUnit.SECONDS;
+                break;
+            case "m":
+                unit = TimeUnit.MINUTES;
+                break;
+            case "h":
+                unit = TimeUnit.HOURS;
+                break;
+            case "d":
+                unit = TimeUnit.DAYS;
+                break;
+            default:
+                unit = TimeUnit.DAYS;
+                amount *= 7;
+                break;
+        }
+        return Math.max(0, System.currentTimeMillis() - unit.toMillis(amount));
+    }
+    
     private boolean handleClearRate(CommandSender sender, String[] args) {
         if (args.length < 2) {
             MessageUtils.sendError(sender, "Usage: /esecurity clearrate <player>");
@@ -282,7 +455,8 @@ public final class SecurityCommands implements CommandExecutor, TabCompleter {
         MessageUtils.send(sender, "<color:#9D4EDD>=== Security Commands ===</color>");
         MessageUtils.send(sender, "<color:#FFB3C6>/esecurity ratelimits</color> <color:#06FFA5>- View rate limits</color>");
         MessageUtils.send(sender, "<color:#FFB3C6>/esecurity ratelimits set <action> <limit></color> <color:#06FFA5>- Set rate limit</color>");
-        MessageUtils.send(sender, "<color:#FFB3C6>/esecurity audit [enable|disable|view]</color> <color:#06FFA5>- Manage audit logging</color>");
+        MessageUtils.send(sender, "<color:#FFB3C6>/esecurity audit [enable|disable]</color> <color:#06FFA5>- Manage audit logging</color>");
+        MessageUtils.send(sender, "<color:#FFB3C6>/esecurity audit view [page] [player:|action:|region:|since:|until:]</color> <color:#06FFA5>- Search the audit log</color>");
         MessageUtils.send(sender, "<color:#FFB3C6>/esecurity clearrate <player></color> <color:#06FFA5>- Clear player's rate limits</color>");
         MessageUtils.send(sender, "<color:#FFB3C6>/esecurity validation</color> <color:#06FFA5>- View validation settings</color>");
         MessageUtils.send(sender, "<color:#FFB3C6>/esecurity sync</color> <color:#06FFA5>- Sync data</color>");
@@ -325,9 +499,21 @@ public final class SecurityCommands implements CommandExecutor, TabCompleter {
             }
         }
         
+        if (args.length >= 3 && args[0].equalsIgnoreCase("audit") && args[1].equalsIgnoreCase("view")) {
+            String current = args[args.length - 1].toLowerCase();
+            if (current.startsWith("player:")) {
+                return plugin.getServer().getOnlinePlayers().stream()
+                    .map(player -> "player:" + player.getName())
+                    .filter(s -> s.toLowerCase().startsWith(current))
+                    .collect(Collectors.toList());
+            }
+            return AUDIT_FILTERS.stream()
+                .filter(s -> s.startsWith(current))
+                .collect(Collectors.toList());
+        }
+        
         if (args.length == 3 && args[0].equalsIgnoreCase("ratelimits") && args[1].equalsIgnoreCase("set")) {
-            return Arrays.asList("cell-purchase", "member-add", "member-remove", 
-                "door-interact", "gui-open", "npc-interact")
+            return EdenCellsSettings.rateLimitKeys()
                 .stream()
                 .filter(s -> s.startsWith(args[2].toLowerCase()))
                 .collect(Collectors.toList());
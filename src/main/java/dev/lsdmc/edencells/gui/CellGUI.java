@@ -20,7 +20,6 @@ import org.bukkit.inventory.meta.ItemMeta;
 import org.bukkit.inventory.meta.SkullMeta;
 
 import java.util.*;
-import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Professional GUI system for EdenCells
@@ -32,12 +31,6 @@ public final class CellGUI {
     private final CellManager cellManager;
     private final SecurityManager security;
     
-    // Track open GUIs for cleanup - synchronized for thread safety
-    public static final Map<UUID, GUISession> openGUIs = new ConcurrentHashMap<>();
-    
-    // Cleanup task to prevent memory leaks
-    private static final long SESSION_TIMEOUT = 300000; // 5 minutes
-    
     public record GUISession(
         Inventory inventory,
         String type,
@@ -49,12 +42,6 @@ public final class CellGUI {
         this.plugin = plugin;
         this.cellManager = cellManager;
         this.security = security;
-        
-        // Schedule periodic cleanup task
-        if (plugin != null) {
-            plugin.getServer().getScheduler().runTaskTimerAsynchronously(plugin, 
-                CellGUI::cleanupSessions, 200L, 1200L); // Every minute
-        }
     }
     
     /**
@@ -149,7 +136,7 @@ public final class CellGUI {
         fillBorders(gui, Material.GRAY_STAINED_GLASS_PANE);
         
         player.openInventory(gui);
-        openGUIs.put(player.getUniqueId(), new GUISession(gui, "purchase", cell, System.currentTimeMillis()));
+        plugin.getGuiManager().openSession(player, new GUISession(gui, "purchase", cell, System.currentTimeMillis()));
     }
     
     /**
@@ -236,7 +223,7 @@ public final class CellGUI {
         fillBorders(gui, Material.BLUE_STAINED_GLASS_PANE);
         
         player.openInventory(gui);
-        openGUIs.put(player.getUniqueId(), new GUISession(gui, "management", cell, System.currentTimeMillis()));
+        plugin.getGuiManager().openSession(player, new GUISession(gui, "management", cell, System.currentTimeMillis()));
     }
     
     /**
@@ -293,7 +280,7 @@ public final class CellGUI {
         fillBorders(gui, Material.LIGHT_GRAY_STAINED_GLASS_PANE);
         
         player.openInventory(gui);
-        openGUIs.put(player.getUniqueId(), new GUISession(gui, "viewer", cell, System.currentTimeMillis()));
+        plugin.getGuiManager().openSession(player, new GUISession(gui, "viewer", cell, System.currentTimeMillis()));
     }
     
     /**
@@ -371,46 +358,6 @@ public final class CellGUI {
         }
     }
     
-    /**
-     * Get GUI session for player
-     * @param player The player
-     * @return The session or null
-     */
-    public static GUISession getSession(Player player) {
-        if (player == null) return null;
-        return openGUIs.get(player.getUniqueId());
-    }
-    
-    /**
-     * Close GUI session
-     * @param player The player
-     */
-    public static void closeSession(Player player) {
-        if (player == null) return;
-        openGUIs.remove(player.getUniqueId());
-    }
-    
-    /**
-     * Clean up old sessions - improved to prevent memory leaks
-     */
-    public static void cleanupSessions() {
-        long now = System.currentTimeMillis();
-        openGUIs.entrySet().removeIf(entry -> {
-            if (entry == null || entry.getValue() == null) {
-                return true;
-            }
-            
-            // Remove sessions older than timeout
-            if (now - entry.getValue().openTime() > SESSION_TIMEOUT) {
-                return true;
-            }
-            
-            // Remove sessions for offline players
-            var player = Bukkit.getPlayer(entry.getKey());
-            return player == null || !player.isOnline();
-        });
-    }
-    
     // Backward compatibility methods - redirect to new system
     public void openVacantCellGUI(Player player, Region cell) {
         openCellGUI(player, cell);
@@ -5,18 +5,101 @@ import dev.lsdmc.edencells.utils.MessageUtils;
 import net.alex9849.arm.regions.Region;
 import org.bukkit.entity.Player;
 
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
 /**
- * Bridge class for GUI management
- * Provides backwards compatibility while using the new CellGUI system
+ * Long-lived GUI service: owns the one CellGUI and CellSelectionGUI instance and the
+ * registry of open GUI sessions. Sessions expire on the plugin's timing wheel, so the
+ * wheel's tick is the only sweeper; listeners and commands open GUIs through here
+ * instead of building their own.
  */
 public final class CellGUIManager {
     
+    // Timer kind for session expiry
+    public static final String SESSION_TIMER = "gui-session";
+    private static final long SESSION_TIMEOUT = 300000; // 5 minutes
+    
     private final EdenCells plugin;
     private final CellGUI cellGUI;
+    private final CellSelectionGUI selectionGUI;
+    
+    // Player -> GUI they have open
+    private final Map<UUID, CellGUI.GUISession> sessions = new ConcurrentHashMap<>();
     
     public CellGUIManager(EdenCells plugin) {
         this.plugin = plugin;
         this.cellGUI = new CellGUI(plugin, plugin.getCellManager(), plugin.getSecurityManager());
+        this.selectionGUI = new CellSelectionGUI(plugin);
+    }
+    
+    /**
+     * Open the GUI matching the cell's status and the player's relation to it
+     * @param player The player
+     * @param cell The cell
+     */
+    public void openCellGUI(Player player, Region cell) {
+        cellGUI.openCellGUI(player, cell);
+    }
+    
+    /**
+     * Open the GUI for choosing between several cells
+     * @param player The player
+     * @param cells The player's cells
+     */
+    public void openSelectionGUI(Player player, List<Region> cells) {
+        selectionGUI.openSelectionGUI(player, cells);
+    }
+    
+    /**
+     * Track a GUI session until it is closed, times out or the player quits
+     * @param player The player
+     * @param session The session
+     */
+    public void openSession(Player player, CellGUI.GUISession session) {
+        UUID playerId = player.getUniqueId();
+        sessions.put(playerId, session);
+        // Only remove this session; a newer one replaces the timer anyway
+        plugin.getTimers().schedule(SESSION_TIMER, playerId, SESSION_TIMEOUT,
+            () -> sessions.remove(playerId, session));
+    }
+    
+    /**
+     * Get the GUI session of a player
+     * @param player The player
+     * @return The session or null
+     */
+    public CellGUI.GUISession getSession(Player player) {
+        if (player == null) return null;
+        return sessions.get(player.getUniqueId());
+    }
+    
+    /**
+     * Close the GUI session of a player
+     * @param player The player
+     */
+    public void closeSession(Player player) {
+        if (player == null) return;
+        if (sessions.remove(player.getUniqueId()) != null) {
+            plugin.getTimers().cancel(SESSION_TIMER, player.getUniqueId());
+        }
+    }
+    
+    /**
+     * Get the number of open GUI sessions
+     * @return Session count
+     */
+    public int getOpenSessionCount() {
+        return sessions.size();
+    }
+    
+    /**
+     * Drop all sessions
+     */
+    public void shutdown() {
+        sessions.clear();
     }
     
     /**
@@ -85,7 +85,7 @@ public final class CellSelectionGUI {
         }
         
         player.openInventory(gui);
-        CellGUI.openGUIs.put(player.getUniqueId(), 
+        plugin.getGuiManager().openSession(player,
             new CellGUI.GUISession(gui, "selection", cells, System.currentTimeMillis()));
     }
     
@@ -1,7 +1,6 @@
 package dev.lsdmc.edencells.listeners;
 
 import dev.lsdmc.edencells.EdenCells;
-import dev.lsdmc.edencells.gui.CellGUI;
 import dev.lsdmc.edencells.utils.Constants;
 import dev.lsdmc.edencells.utils.MessageUtils;
 import net.alex9849.arm.AdvancedRegionMarket;
@@ -51,6 +50,11 @@ public final class CellSignListener implements Listener {
             return;
         }
         
+        if (plugin.rejectWhileLoading(player)) {
+            event.setCancelled(true);
+            return;
+        }
+        
         // Try to get the ARM region associated with this sign
         AdvancedRegionMarket arm = AdvancedRegionMarket.getInstance();
         if (arm == null) {
@@ -94,8 +98,7 @@ public final class CellSignListener implements Listener {
      */
     private void openCellGUI(Player player, Region region) {
         try {
-            var cellGUI = new CellGUI(plugin, plugin.getCellManager(), plugin.getSecurityManager());
-            cellGUI.openCellGUI(player, region);
+            plugin.getGuiManager().openCellGUI(player, region);
             
             // Play interaction sound
             player.playSound(player.getLocation(), "minecraft:ui.button.click", 1.0f, 1.0f);
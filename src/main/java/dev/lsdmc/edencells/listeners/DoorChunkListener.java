@@ -0,0 +1,24 @@
+package dev.lsdmc.edencells.listeners;
+
+import dev.lsdmc.edencells.managers.DoorManager;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.world.ChunkLoadEvent;
+
+/**
+ * Runs deferred door validation when the chunk holding the doors loads
+ */
+public final class DoorChunkListener implements Listener {
+
+    private final DoorManager doorManager;
+
+    public DoorChunkListener(DoorManager doorManager) {
+        this.doorManager = doorManager;
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onChunkLoad(ChunkLoadEvent event) {
+        doorManager.onChunkLoad(event.getChunk());
+    }
+}
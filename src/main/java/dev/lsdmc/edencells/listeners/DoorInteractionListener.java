@@ -3,7 +3,6 @@ package dev.lsdmc.edencells.listeners;
 import dev.lsdmc.edencells.EdenCells;
 import dev.lsdmc.edencells.managers.DoorManager;
 import dev.lsdmc.edencells.security.SecurityManager;
-import dev.lsdmc.edencells.utils.Constants;
 import dev.lsdmc.edencells.utils.MessageUtils;
 import org.bukkit.Sound;
 import org.bukkit.block.Block;
@@ -47,10 +46,15 @@ public final class DoorInteractionListener implements Listener {
         }
         
         var player = event.getPlayer();
-        var location = block.getLocation();
+        
+        // Links aren't loaded yet, so any door could be a locked cell door
+        if (plugin.rejectWhileLoading(player)) {
+            event.setCancelled(true);
+            return;
+        }
         
         // Check if door is linked
-        String linkedRegion = doorManager.getLinkedRegion(location);
+        String linkedRegion = doorManager.getLinkedRegion(block);
         if (linkedRegion == null) {
             return; // Not a linked door, let vanilla handle it
         }
@@ -63,15 +67,15 @@ public final class DoorInteractionListener implements Listener {
         }
         
         // Check access
-        if (!doorManager.canAccessDoor(player, location)) {
+        if (!doorManager.canAccessRegion(player, linkedRegion)) {
             event.setCancelled(true);
             
             // Send denial message
             MessageUtils.sendError(player, "You don't have access to this cell!");
             
             // Play sound
-            if (plugin.getConfig().getBoolean("doors.sounds.enabled", true)) {
-                player.playSound(location, Sound.BLOCK_NOTE_BLOCK_BASS, 1.0f, 0.5f);
+            if (plugin.getSettings().doorSounds().enabled()) {
+                player.playSound(block.getLocation(), Sound.BLOCK_NOTE_BLOCK_BASS, 1.0f, 0.5f);
             }
             
             // Audit log
@@ -108,8 +112,13 @@ public final class DoorInteractionListener implements Listener {
         
         var player = event.getPlayer();
         
+        if (plugin.rejectWhileLoading(player)) {
+            event.setCancelled(true);
+            return;
+        }
+        
         // Check if door is linked
-        String linkedRegion = doorManager.getLinkedRegion(block.getLocation());
+        String linkedRegion = doorManager.getLinkedRegion(block);
         if (linkedRegion == null) {
             return; // Not a linked door
         }
@@ -2,9 +2,8 @@ package dev.lsdmc.edencells.listeners;
 
 import dev.lsdmc.edencells.EdenCells;
 import dev.lsdmc.edencells.gui.CellGUI;
+import dev.lsdmc.edencells.gui.CellGUIManager;
 import dev.lsdmc.edencells.managers.CellManager;
-import dev.lsdmc.edencells.security.SecurityManager;
-import dev.lsdmc.edencells.utils.Constants;
 import dev.lsdmc.edencells.utils.MessageUtils;
 import net.alex9849.arm.regions.Region;
 import org.bukkit.Material;
@@ -24,12 +23,10 @@ public final class GUIListener implements Listener {
     
     private final EdenCells plugin;
     private final CellManager cellManager;
-    private final SecurityManager security;
     
-    public GUIListener(EdenCells plugin, CellManager cellManager, SecurityManager security) {
+    public GUIListener(EdenCells plugin, CellManager cellManager) {
         this.plugin = plugin;
         this.cellManager = cellManager;
-        this.security = security;
     }
     
     @EventHandler(priority = EventPriority.HIGH)
@@ -38,7 +35,8 @@ public final class GUIListener implements Listener {
             return;
         }
         
-        var session = CellGUI.getSession(player);
+        CellGUIManager guiManager = plugin.getGuiManager();
+        var session = guiManager != null ? guiManager.getSession(player) : null;
         if (session == null) {
             return;
         }
@@ -52,7 +50,7 @@ public final class GUIListener implements Listener {
         }
         
         // Play click sound
-        if (plugin.getConfig().getBoolean(Constants.Config.GUI_CLICK_SOUNDS, true)) {
+        if (plugin.getSettings().guiClickSounds()) {
             player.playSound(player.getLocation(), Sound.UI_BUTTON_CLICK, 1.0f, 1.0f);
         }
         
@@ -73,8 +71,8 @@ public final class GUIListener implements Listener {
     
     @EventHandler
     public void onInventoryClose(InventoryCloseEvent event) {
-        if (event.getPlayer() instanceof Player player) {
-            CellGUI.closeSession(player);
+        if (event.getPlayer() instanceof Player player && plugin.getGuiManager() != null) {
+            plugin.getGuiManager().closeSession(player);
         }
     }
     
@@ -97,8 +95,7 @@ public final class GUIListener implements Listener {
             player.closeInventory();
                 
                 // Open management GUI for the selected cell
-                var cellGUI = new CellGUI(plugin, cellManager, security);
-                cellGUI.openCellGUI(player, selectedCell);
+                plugin.getGuiManager().openCellGUI(player, selectedCell);
             }
         }
     }
@@ -0,0 +1,27 @@
+package dev.lsdmc.edencells.listeners;
+
+import dev.lsdmc.edencells.gui.CellGUIManager;
+import dev.lsdmc.edencells.managers.DoorManager;
+import dev.lsdmc.edencells.utils.TimingWheel;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerQuitEvent;
+
+/**
+ * Expires a player's session timers when they leave. Cooldowns that must survive a relog,
+ * such as the teleport cooldown, run to their deadline.
+ */
+public final class PlayerQuitListener implements Listener {
+
+    private final TimingWheel timers;
+
+    public PlayerQuitListener(TimingWheel timers) {
+        this.timers = timers;
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onQuit(PlayerQuitEvent event) {
+        timers.expire(event.getPlayer().getUniqueId(), CellGUIManager.SESSION_TIMER, DoorManager.DOOR_COOLDOWN);
+    }
+}
@@ -0,0 +1,94 @@
+package dev.lsdmc.edencells.listeners;
+
+import dev.lsdmc.edencells.EdenCells;
+import dev.lsdmc.edencells.managers.DoorManager;
+import dev.lsdmc.edencells.managers.OwnershipIndex;
+import dev.lsdmc.edencells.managers.RegionIndex;
+import net.alex9849.arm.events.AddRegionEvent;
+import net.alex9849.arm.events.PreBuyEvent;
+import net.alex9849.arm.events.RemoveRegionEvent;
+import net.alex9849.arm.events.RestoreRegionEvent;
+import net.alex9849.arm.events.UnsellRegionEvent;
+import net.alex9849.arm.events.UpdateRegionEvent;
+import net.alex9849.arm.regions.Region;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+
+/**
+ * Keeps EdenCells' region indexes in step with ARM region events
+ */
+public final class RegionSyncListener implements Listener {
+
+    private final EdenCells plugin;
+    private final RegionIndex regionIndex;
+    private final OwnershipIndex ownershipIndex;
+
+    public RegionSyncListener(EdenCells plugin, RegionIndex regionIndex, OwnershipIndex ownershipIndex) {
+        this.plugin = plugin;
+        this.regionIndex = regionIndex;
+        this.ownershipIndex = ownershipIndex;
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onRegionAdd(AddRegionEvent event) {
+        regionIndex.update(event.getRegion());
+        ownershipIndex.refresh(event.getRegion());
+        invalidateDoorAccess(event.getRegion());
+        plugin.debug("Indexed new ARM region: " + describe(event.getRegion()));
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onRegionRemove(RemoveRegionEvent event) {
+        regionIndex.remove(event.getRegion());
+        ownershipIndex.remove(event.getRegion());
+        invalidateDoorAccess(event.getRegion());
+        plugin.debug("Removed ARM region from index: " + describe(event.getRegion()));
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onRegionUpdate(UpdateRegionEvent event) {
+        regionIndex.update(event.getRegion());
+        ownershipIndex.refresh(event.getRegion());
+        invalidateDoorAccess(event.getRegion());
+    }
+
+    // ARM fires these before the owner changes, so re-read the owner a tick later
+    // (unsell also covers rental expiry, restore covers region resets)
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onRegionBuy(PreBuyEvent event) {
+        refreshOwnerLater(event.getRegion());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onRegionUnsell(UnsellRegionEvent event) {
+        refreshOwnerLater(event.getRegion());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onRegionRestore(RestoreRegionEvent event) {
+        refreshOwnerLater(event.getRegion());
+    }
+
+    private void refreshOwnerLater(Region region) {
+        if (region == null) {
+            return;
+        }
+        plugin.getServer().getScheduler().runTask(plugin, () -> {
+            ownershipIndex.refresh(region);
+            invalidateDoorAccess(region);
+        });
+    }
+
+    private void invalidateDoorAccess(Region region) {
+        DoorManager doorManager = plugin.getDoorManager();
+        if (doorManager != null && region != null && region.getRegion() != null) {
+            doorManager.invalidateAccess(region.getRegion().getId());
+        }
+    }
+
+    private String describe(Region region) {
+        return region != null && region.getRegion() != null ? region.getRegion().getId() : "unknown";
+    }
+}
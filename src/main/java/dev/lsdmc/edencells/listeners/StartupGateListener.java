@@ -0,0 +1,50 @@
+package dev.lsdmc.edencells.listeners;
+
+import dev.lsdmc.edencells.EdenCells;
+import org.bukkit.command.CommandSender;
+import org.bukkit.command.PluginCommand;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerCommandPreprocessEvent;
+import org.bukkit.event.server.ServerCommandEvent;
+
+/**
+ * Holds off EdenCells commands while startup data is still loading.
+ * Unregistered as soon as loading finishes.
+ */
+public final class StartupGateListener implements Listener {
+
+    private final EdenCells plugin;
+
+    public StartupGateListener(EdenCells plugin) {
+        this.plugin = plugin;
+    }
+
+    @EventHandler(priority = EventPriority.LOWEST, ignoreCancelled = true)
+    public void onPlayerCommand(PlayerCommandPreprocessEvent event) {
+        if (isOurCommand(event.getMessage()) && plugin.rejectWhileLoading(event.getPlayer())) {
+            event.setCancelled(true);
+        }
+    }
+
+    @EventHandler(priority = EventPriority.LOWEST, ignoreCancelled = true)
+    public void onServerCommand(ServerCommandEvent event) {
+        CommandSender sender = event.getSender();
+        if (isOurCommand(event.getCommand()) && plugin.rejectWhileLoading(sender)) {
+            event.setCancelled(true);
+        }
+    }
+
+    private boolean isOurCommand(String commandLine) {
+        String line = commandLine.startsWith("/") ? commandLine.substring(1) : commandLine;
+        int space = line.indexOf(' ');
+        String label = space >= 0 ? line.substring(0, space) : line;
+        if (label.isEmpty()) {
+            return false;
+        }
+
+        PluginCommand command = plugin.getServer().getPluginCommand(label);
+        return command != null && command.getPlugin() == plugin;
+    }
+}
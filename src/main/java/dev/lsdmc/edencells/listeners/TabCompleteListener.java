@@ -0,0 +1,100 @@
+package dev.lsdmc.edencells.listeners;
+
+import com.destroystokyo.paper.event.server.AsyncTabCompleteEvent;
+import dev.lsdmc.edencells.EdenCells;
+import dev.lsdmc.edencells.managers.CompletionIndex;
+import dev.lsdmc.edencells.models.CellGroup;
+import dev.lsdmc.edencells.models.CellGroupManager;
+import dev.lsdmc.edencells.utils.Constants;
+import dev.lsdmc.edencells.utils.PermissionManager;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.Listener;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Answers region ID and group name completions off the main thread.
+ * Only the argument positions backed by a {@link CompletionIndex} are handled here;
+ * everything else falls through to the commands' own tab completers.
+ */
+public final class TabCompleteListener implements Listener {
+
+    private static final Set<String> GROUP_ARG_SUBCOMMANDS = Set.of(
+        "delete", "add", "bulkadd", "remove", "list", "info", "limit", "cost", "permission", "donor", "debug"
+    );
+
+    private final EdenCells plugin;
+    private final CompletionIndex completionIndex;
+
+    public TabCompleteListener(EdenCells plugin, CompletionIndex completionIndex) {
+        this.plugin = plugin;
+        this.completionIndex = completionIndex;
+    }
+
+    @EventHandler(ignoreCancelled = true)
+    public void onAsyncTabComplete(AsyncTabCompleteEvent event) {
+        if (event.isHandled() || !event.isCommand() || !(event.getSender() instanceof Player player)) {
+            return;
+        }
+
+        String buffer = event.getBuffer();
+        if (buffer.startsWith("/")) {
+            buffer = buffer.substring(1);
+        }
+        String[] parts = buffer.split(" ", -1);
+        if (parts.length < 3) {
+            return; // still typing the command or sub-command
+        }
+
+        String label = parts[0].toLowerCase(Locale.ROOT);
+        if (label.startsWith("edencells:")) {
+            label = label.substring("edencells:".length());
+        }
+
+        List<String> completions = switch (label) {
+            case "cellgroup" -> completeCellGroup(player, parts);
+            case "door" -> completeDoor(player, parts);
+            default -> null;
+        };
+
+        if (completions != null) {
+            event.setCompletions(completions);
+            event.setHandled(true);
+        }
+    }
+
+    private List<String> completeCellGroup(Player player, String[] parts) {
+        if (!PermissionManager.hasPermission(player, Constants.Permissions.ADMIN_GROUPS)) {
+            return null;
+        }
+
+        String subCommand = parts[1].toLowerCase(Locale.ROOT);
+        if (parts.length == 3 && GROUP_ARG_SUBCOMMANDS.contains(subCommand)) {
+            return completionIndex.completeGroupNames(parts[2]);
+        }
+
+        if (parts.length == 4 && (subCommand.equals("add") || subCommand.equals("remove"))) {
+            CellGroupManager groupManager = plugin.getCellGroupManager();
+            CellGroup group = groupManager != null ? groupManager.getGroup(parts[2]) : null;
+            if (group == null) {
+                return null;
+            }
+            return subCommand.equals("remove")
+                ? completionIndex.completeRegionIds(parts[3], group::containsRegion)
+                : completionIndex.completeRegionIds(parts[3]);
+        }
+
+        return null;
+    }
+
+    private List<String> completeDoor(Player player, String[] parts) {
+        if (parts.length != 3 || !parts[1].equalsIgnoreCase("link")
+                || !PermissionManager.hasPermission(player, Constants.Permissions.ADMIN_DOORS)) {
+            return null;
+        }
+        return completionIndex.completeRegionIds(parts[2]);
+    }
+}
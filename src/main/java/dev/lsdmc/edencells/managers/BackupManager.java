@@ -0,0 +1,252 @@
+package dev.lsdmc.edencells.managers;
+
+import dev.lsdmc.edencells.EdenCells;
+import dev.lsdmc.edencells.storage.BackupArchive;
+import dev.lsdmc.edencells.utils.Constants;
+import dev.lsdmc.edencells.utils.MessageUtils;
+import org.bukkit.command.CommandSender;
+import org.bukkit.configuration.file.FileConfiguration;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.io.File;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Scheduled compressed backups of door links, cell groups, teleport NPCs and the audit
+ * trail, and restores from them.
+ * <p>
+ * A backup copies the managers' in-memory state on the main thread, which is cheap and
+ * consistent across all three, then writes the archive on a background thread. It never
+ * re-reads the data files, so a half-written save or a pending write-behind can't leak in.
+ */
+public final class BackupManager {
+    
+    private static final String PREFIX = "edencells-";
+    private static final String SUFFIX = ".zip";
+    private static final DateTimeFormatter NAME_FORMAT = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+    
+    private final EdenCells plugin;
+    
+    // Set while an archive is being written or read, so backups and restores don't overlap
+    private final AtomicBoolean busy = new AtomicBoolean();
+    private BukkitTask task;
+    
+    public BackupManager(EdenCells plugin) {
+        this.plugin = plugin;
+    }
+    
+    /**
+     * Start (or restart) scheduled backups from config
+     */
+    public void start() {
+        stop();
+        
+        FileConfiguration config = plugin.getConfig();
+        if (!config.getBoolean(Constants.Config.BACKUP_ENABLED, false)) {
+            return;
+        }
+        
+        long intervalTicks = Math.max(1, config.getInt(Constants.Config.BACKUP_INTERVAL, 24)) * 60L * 60L * 20L;
+        task = plugin.getServer().getScheduler().runTaskTimer(plugin,
+            () -> createBackup(null, null), intervalTicks, intervalTicks);
+        plugin.debug("Scheduled backups every " + (intervalTicks / 72000L) + " hours");
+    }
+    
+    /**
+     * Stop scheduled backups
+     */
+    public void stop() {
+        if (task != null) {
+            task.cancel();
+            task = null;
+        }
+    }
+    
+    /**
+     * Snapshot all data and write it to a new archive in the background (main thread)
+     * @param label Suffix for the archive name, or null
+     * @param sender Receives the result, or null to only log it
+     * @return false if another backup or restore is still running
+     */
+    public boolean createBackup(String label, CommandSender sender) {
+        if (!busy.compareAndSet(false, true)) {
+            if (sender != null) {
+                MessageUtils.sendError(sender, "A backup or restore is already running, try again in a moment.");
+            } else {
+                plugin.getLogger().warning("Skipping scheduled backup, the previous one is still running");
+            }
+            return false;
+        }
+        
+        File file = newArchiveFile(label);
+        BackupArchive.Contents contents = snapshot();
+        boolean includeAudit = plugin.getConfig().getBoolean(Constants.Config.BACKUP_INCLUDE_AUDIT, true);
+        
+        plugin.getServer().getScheduler().runTaskAsynchronously(plugin, () -> {
+            try {
+                writeArchive(file, contents, includeAudit);
+                plugin.getServer().getScheduler().runTask(plugin, () -> {
+                    if (sender != null) {
+                        MessageUtils.sendSuccess(sender, "Backup written to " + file.getName());
+                    }
+                });
+            } catch (IOException e) {
+                plugin.getLogger().severe("Failed to write backup " + file.getName() + ": " + e.getMessage());
+                plugin.getServer().getScheduler().runTask(plugin, () -> {
+                    if (sender != null) {
+                        MessageUtils.sendError(sender, "Backup failed: " + e.getMessage());
+                    }
+                });
+            } finally {
+                busy.set(false);
+            }
+        });
+        return true;
+    }
+    
+    /**
+     * Restore all data from an archive (main thread). The current state is backed up first;
+     * the archive is read in the background and applied on the main thread, after which the
+     * managers save it through the active storage backend. The audit trail is not restored.
+     * @param name Archive file name, with or without .zip
+     * @param sender Receives progress and the result
+     */
+    public void restore(String name, CommandSender sender) {
+        File archive = findBackup(name);
+        if (archive == null) {
+            MessageUtils.sendError(sender, "No backup named " + name + ". Use /edencells restore to list backups.");
+            return;
+        }
+        if (!busy.compareAndSet(false, true)) {
+            MessageUtils.sendError(sender, "A backup or restore is already running, try again in a moment.");
+            return;
+        }
+        
+        // Keep the state we're about to replace
+        File safety = newArchiveFile("pre-restore");
+        BackupArchive.Contents current = snapshot();
+        boolean includeAudit = plugin.getConfig().getBoolean(Constants.Config.BACKUP_INCLUDE_AUDIT, true);
+        
+        MessageUtils.sendInfo(sender, "Reading " + archive.getName() + " and saving current data to " + safety.getName() + "...");
+        plugin.getServer().getScheduler().runTaskAsynchronously(plugin, () -> {
+            BackupArchive.Contents restored;
+            try {
+                restored = BackupArchive.read(archive, plugin.getLogger());
+                writeArchive(safety, current, includeAudit, archive);
+            } catch (IOException e) {
+                busy.set(false);
+                plugin.getLogger().severe("Restore from " + archive.getName() + " failed: " + e.getMessage());
+                plugin.getServer().getScheduler().runTask(plugin, () ->
+                    MessageUtils.sendError(sender, "Restore failed, nothing was changed: " + e.getMessage()));
+                return;
+            }
+            
+            plugin.getServer().getScheduler().runTask(plugin, () -> {
+                try {
+                    int doorChanges = plugin.getDoorManager().restoreLinks(restored.doors());
+                    plugin.getCellGroupManager().restoreGroups(restored.groups());
+                    plugin.getTeleportNPCManager().restoreNPCs(restored.npcs());
+                    
+                    plugin.getLogger().info("Restored data from " + archive.getName() + " (" + doorChanges +
+                        " door link changes, " + restored.groups().groups().size() + " cell groups, " +
+                        restored.npcs().size() + " teleport NPCs)");
+                    MessageUtils.sendSuccess(sender, "Restored " + archive.getName() + ": " + doorChanges +
+                        " door link changes, " + restored.groups().groups().size() + " cell groups, " +
+                        restored.npcs().size() + " teleport NPCs.");
+                } finally {
+                    busy.set(false);
+                }
+            });
+        });
+    }
+    
+    /**
+     * List backup archives
+     * @return Archives, newest first
+     */
+    public List<File> listBackups() {
+        File[] files = getFolder().listFiles((dir, fileName) -> fileName.startsWith(PREFIX) && fileName.endsWith(SUFFIX));
+        if (files == null) {
+            return List.of();
+        }
+        
+        List<File> backups = new ArrayList<>(Arrays.asList(files));
+        backups.sort(Comparator.comparingLong(File::lastModified).reversed());
+        return backups;
+    }
+    
+    private BackupArchive.Contents snapshot() {
+        return new BackupArchive.Contents(
+            plugin.getDoorManager().snapshotLinks(),
+            plugin.getCellGroupManager().snapshotGroups(),
+            plugin.getTeleportNPCManager().getNPCConfigs());
+    }
+    
+    private void writeArchive(File file, BackupArchive.Contents contents, boolean includeAudit,
+                              File... keep) throws IOException {
+        long started = System.nanoTime();
+        BackupArchive.write(file, contents, includeAudit ? plugin.getStorage().audit() : null);
+        plugin.getLogger().info("Wrote backup " + file.getName() + " (" + (file.length() / 1024) + " KB) in " +
+            TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started) + "ms");
+        
+        List<File> kept = new ArrayList<>(Arrays.asList(keep));
+        kept.add(file);
+        prune(kept);
+    }
+    
+    /**
+     * Delete archives beyond the configured count and age limits
+     * @param keep Archives that are never deleted
+     */
+    private void prune(List<File> keep) {
+        FileConfiguration config = plugin.getConfig();
+        int maxBackups = config.getInt(Constants.Config.BACKUP_MAX, 7);
+        int maxAgeDays = config.getInt(Constants.Config.BACKUP_MAX_AGE_DAYS, 0);
+        long oldest = maxAgeDays > 0 ? System.currentTimeMillis() - TimeUnit.DAYS.toMillis(maxAgeDays) : Long.MIN_VALUE;
+        
+        List<File> backups = listBackups();
+        for (int i = 0; i < backups.size(); i++) {
+            File backup = backups.get(i);
+            if (keep.contains(backup)) {
+                continue;
+            }
+            if ((maxBackups > 0 && i >= maxBackups) || backup.lastModified() < oldest) {
+                if (backup.delete()) {
+                    plugin.debug("Deleted old backup " + backup.getName());
+                } else {
+                    plugin.getLogger().warning("Failed to delete old backup " + backup.getName());
+                }
+            }
+        }
+    }
+    
+    private File findBackup(String name) {
+        if (name == null || name.contains("/") || name.contains("\\") || name.contains("..")) {
+            return null;
+        }
+        
+        File file = new File(getFolder(), name.endsWith(SUFFIX) ? name : name + SUFFIX);
+        return file.isFile() ? file : null;
+    }
+    
+    private File newArchiveFile(String label) {
+        String name = PREFIX + LocalDateTime.now().format(NAME_FORMAT) + (label != null ? "-" + label : "");
+        File file = new File(getFolder(), name + SUFFIX);
+        for (int i = 2; file.exists(); i++) {
+            file = new File(getFolder(), name + "-" + i + SUFFIX);
+        }
+        return file;
+    }
+    
+    private File getFolder() {
+        return new File(plugin.getDataFolder(), plugin.getConfig().getString(Constants.Config.BACKUP_FOLDER, "backups"));
+    }
+}
@@ -63,15 +63,7 @@ public final class CellManager {
         }
         
         try {
-            String trimmedId = cellId.trim();
-            for (Region region : arm.getRegionManager()) {
-                if (region != null && 
-                    region.getRegion() != null && 
-                    region.getRegion().getId().equalsIgnoreCase(trimmedId) &&
-                    region.getRegionworld().equals(world)) {
-                return region;
-            }
-            }
+            return plugin.getRegionIndex().get(world, cellId.trim());
         } catch (Exception e) {
             plugin.getLogger().warning("Error getting cell '" + cellId + "': " + e.getMessage());
         }
@@ -142,7 +134,7 @@ public final class CellManager {
             }
             
             // Check bypass permission
-            if (player.hasPermission(Constants.Permissions.BYPASS)) {
+            if (plugin.getPermissionCache().has(player, Constants.Permissions.BYPASS)) {
             return true;
         }
         
@@ -279,6 +271,7 @@ public final class CellManager {
             // Add member
             cell.getRegion().addMember(target.getUniqueId());
             cell.queueSave();
+            plugin.getDoorManager().invalidateAccess(cell.getRegion().getId());
             
             // Audit log
             security.auditLog(player, "ADD_MEMBER", cell.getRegion().getId(), 
@@ -359,6 +352,7 @@ public final class CellManager {
             // Remove member
             cell.getRegion().removeMember(target.getUniqueId());
             cell.queueSave();
+            plugin.getDoorManager().invalidateAccess(cell.getRegion().getId());
             
             // Audit log
             security.auditLog(player, "REMOVE_MEMBER", cell.getRegion().getId(), 
@@ -533,6 +527,8 @@ public final class CellManager {
             }
             
             if (success) {
+                plugin.getOwnershipIndex().refresh(cell);
+                
                 // Sync door ownership for this region
                 plugin.getDoorManager().syncDoorOwnershipForRegion(cell.getRegion().getId());
                 
@@ -572,7 +568,7 @@ public final class CellManager {
             if (!groupManager.canPlayerAcquireInGroup(player, group)) {
                 // Check specific reason for denial
                 String permission = group.getRequiredPermission();
-                if (permission != null && !player.hasPermission(permission)) {
+                if (permission != null && !plugin.getPermissionCache().has(player, permission)) {
                     MessageUtils.sendError(player, "You don't have permission to acquire cells in this group!");
                     return false;
                 }
@@ -630,6 +626,8 @@ public final class CellManager {
                 String action = cell instanceof RentRegion ? "cancelled rental for" : "sold";
                 MessageUtils.sendSuccess(player, "Successfully %s cell '%s'!", 
                     action, cell.getRegion().getId());
+                
+                plugin.getOwnershipIndex().refresh(cell);
                     
                 // Sync door ownership - player no longer owns the cell
                 plugin.getDoorManager().syncDoorOwnershipForRegion(cell.getRegion().getId());
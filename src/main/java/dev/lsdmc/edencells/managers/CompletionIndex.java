@@ -0,0 +1,107 @@
+package dev.lsdmc.edencells.managers;
+
+import dev.lsdmc.edencells.EdenCells;
+import dev.lsdmc.edencells.models.CellGroup;
+import dev.lsdmc.edencells.models.CellGroupManager;
+import dev.lsdmc.edencells.utils.Constants;
+import dev.lsdmc.edencells.utils.PrefixIndex;
+import net.alex9849.arm.regions.Region;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Predicate;
+
+/**
+ * Prefix indexes for tab completion of region IDs and group names.
+ * Snapshots are immutable and rebuilt lazily when their source changes,
+ * so lookups are safe from Paper's async tab-complete thread.
+ */
+public final class CompletionIndex {
+
+    private final EdenCells plugin;
+
+    private volatile int limit;
+    private volatile Snapshot regions = new Snapshot(-1, PrefixIndex.of(List.of()));
+    private volatile Snapshot groups = new Snapshot(-1, PrefixIndex.of(List.of()));
+
+    public CompletionIndex(EdenCells plugin) {
+        this.plugin = plugin;
+        reload();
+    }
+
+    /**
+     * Re-read the suggestion cap from config
+     */
+    public void reload() {
+        this.limit = Math.max(1, plugin.getConfig().getInt(Constants.Config.TAB_COMPLETE_LIMIT, 50));
+    }
+
+    /**
+     * Complete a region ID
+     * @param prefix Typed prefix
+     * @return Up to the configured number of region IDs
+     */
+    public List<String> completeRegionIds(String prefix) {
+        return completeRegionIds(prefix, null);
+    }
+
+    /**
+     * Complete a region ID with an extra filter
+     * @param prefix Typed prefix
+     * @param filter Filter on region IDs (null for none)
+     * @return Up to the configured number of region IDs
+     */
+    public List<String> completeRegionIds(String prefix, Predicate<String> filter) {
+        return regionIndex().complete(prefix, limit, filter);
+    }
+
+    /**
+     * Complete a cell group name
+     * @param prefix Typed prefix
+     * @return Up to the configured number of group names
+     */
+    public List<String> completeGroupNames(String prefix) {
+        return groupIndex().complete(prefix, limit);
+    }
+
+    private PrefixIndex regionIndex() {
+        RegionIndex source = plugin.getRegionIndex();
+        if (source == null) {
+            return regions.index();
+        }
+
+        Snapshot snapshot = regions;
+        long version = source.getVersion();
+        if (snapshot.version() != version) {
+            List<String> ids = new ArrayList<>(source.size());
+            for (Region region : source.getAll()) {
+                ids.add(region.getRegion().getId());
+            }
+            snapshot = new Snapshot(version, PrefixIndex.of(ids));
+            regions = snapshot;
+        }
+        return snapshot.index();
+    }
+
+    private PrefixIndex groupIndex() {
+        CellGroupManager source = plugin.getCellGroupManager();
+        if (source == null) {
+            return groups.index();
+        }
+
+        Snapshot snapshot = groups;
+        long version = source.getGroupsVersion();
+        if (snapshot.version() != version) {
+            List<String> names = new ArrayList<>();
+            for (CellGroup group : source.getAllGroups().values()) {
+                names.add(group.getName());
+            }
+            snapshot = new Snapshot(version, PrefixIndex.of(names));
+            groups = snapshot;
+        }
+        return snapshot.index();
+    }
+
+    private record Snapshot(long version, PrefixIndex index) {
+    }
+}
@@ -1,10 +1,19 @@
 package dev.lsdmc.edencells.managers;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
 import dev.lsdmc.edencells.EdenCells;
 import dev.lsdmc.edencells.security.SecurityManager;
+import dev.lsdmc.edencells.storage.DoorRepository;
+import dev.lsdmc.edencells.utils.BlockKey;
 import dev.lsdmc.edencells.utils.Constants;
+import dev.lsdmc.edencells.utils.EdenCellsSettings;
+import dev.lsdmc.edencells.utils.LongObjectMap;
+import dev.lsdmc.edencells.utils.WriteBehindSaver;
 import net.alex9849.arm.AdvancedRegionMarket;
 import net.alex9849.arm.regions.Region;
+import org.bukkit.Chunk;
 import org.bukkit.Location;
 import org.bukkit.Material;
 import org.bukkit.Sound;
@@ -16,13 +25,12 @@ import org.bukkit.block.data.BlockData;
 import org.bukkit.block.data.Openable;
 import org.bukkit.block.data.type.Door;
 import org.bukkit.configuration.file.FileConfiguration;
-import org.bukkit.configuration.file.YamlConfiguration;
 import org.bukkit.entity.Player;
 
-import java.io.File;
 import java.io.IOException;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Manages door linking to cells
@@ -33,30 +41,43 @@ public final class DoorManager {
     private final CellManager cellManager;
     private final SecurityManager security;
     
-    // Map of door location -> region ID
-    private final Map<String, String> doorLinks = new ConcurrentHashMap<>();
+    // World name -> chunk key -> doors in that chunk; guarded by itself
+    private final Map<String, LongObjectMap<ChunkDoors>> doorLinks = new HashMap<>();
+    
+    // Region ID -> positions of doors linked to it; guarded by doorLinks
+    private final Map<String, Set<DoorPosition>> doorsByRegion = new HashMap<>();
     private final Set<Material> validDoorMaterials = new HashSet<>();
-    private File doorsFile;
     
-    // Door interaction cooldowns - player UUID -> last interaction time
-    private final Map<UUID, Long> doorCooldowns = new ConcurrentHashMap<>();
+    // Persists link changes; flushes are coalesced into one background write
+    private final DoorRepository repository;
+    private final WriteBehindSaver saver;
+    
+    // Door interaction cooldowns, kept on the plugin's timing wheel
+    public static final String DOOR_COOLDOWN = "door-cooldown";
     private static final long DOOR_COOLDOWN_MS = 500; // 500ms cooldown
     
-    // Sound settings
-    private boolean playSounds;
-    private Sound openSound;
-    private Sound closeSound;
-    private float soundVolume;
-    private float soundPitch;
+    // (player, region, version) -> access decision
+    private final Cache<AccessKey, Boolean> accessCache;
+    // Linked region ID -> access version, bumped when the region's owner or members change.
+    // Entries of older versions are never looked up again and age out of the cache.
+    private final Map<String, Integer> accessVersions = new ConcurrentHashMap<>();
     
     public DoorManager(EdenCells plugin, CellManager cellManager, SecurityManager security) {
         this.plugin = plugin;
         this.cellManager = cellManager;
         this.security = security;
-        this.doorsFile = new File(plugin.getDataFolder(), "doors.yml");
+        this.repository = plugin.getStorage().doors();
+        this.saver = new WriteBehindSaver(plugin, "doors", () -> repository.flush(this::captureLinks));
+        
+        FileConfiguration config = plugin.getConfig();
+        
+        this.accessCache = Caffeine.newBuilder()
+            .maximumSize(config.getLong("doors.access-cache.max-size", 5000))
+            .expireAfterWrite(config.getLong("doors.access-cache.expire-seconds", 30), TimeUnit.SECONDS)
+            .recordStats()
+            .build();
         
         loadConfig();
-        loadDoors();
     }
     
     /**
@@ -65,28 +86,6 @@ public final class DoorManager {
     private void loadConfig() {
         FileConfiguration config = plugin.getConfig();
         
-        // Load sound settings
-        playSounds = config.getBoolean("doors.sounds.enabled", true);
-        String openSoundName = config.getString("doors.sounds.open-sound", "BLOCK_IRON_DOOR_OPEN");
-        String closeSoundName = config.getString("doors.sounds.close-sound", "BLOCK_IRON_DOOR_CLOSE");
-        soundVolume = (float) config.getDouble("doors.sounds.volume", 1.0);
-        soundPitch = (float) config.getDouble("doors.sounds.pitch", 1.0);
-        
-        // Parse sounds
-        try {
-            openSound = Sound.valueOf(openSoundName.toUpperCase().replace(".", "_"));
-        } catch (IllegalArgumentException e) {
-            openSound = Sound.BLOCK_IRON_DOOR_OPEN;
-            plugin.getLogger().warning("Invalid open sound: " + openSoundName + ", using default");
-        }
-        
-        try {
-            closeSound = Sound.valueOf(closeSoundName.toUpperCase().replace(".", "_"));
-        } catch (IllegalArgumentException e) {
-            closeSound = Sound.BLOCK_IRON_DOOR_CLOSE;
-            plugin.getLogger().warning("Invalid close sound: " + closeSoundName + ", using default");
-        }
-        
         // Load valid door materials
         validDoorMaterials.clear();
         List<String> materials = config.getStringList("doors.valid-materials");
@@ -119,10 +118,13 @@ public final class DoorManager {
      * @param regionId The region ID
      */
     public void linkDoor(Location location, String regionId) {
-        String key = locationToKey(location);
-        doorLinks.put(key, regionId);
-        saveDoors();
-        plugin.debug("Linked door at " + key + " to region " + regionId);
+        regionId = canonicalRegionId(regionId);
+        String worldName = location.getWorld().getName();
+        synchronized (doorLinks) {
+            putLink(worldName, location.getBlockX(), location.getBlockY(), location.getBlockZ(), regionId);
+            recordLink(worldName, location.getBlockX(), location.getBlockY(), location.getBlockZ(), regionId);
+        }
+        plugin.debug("Linked door at " + locationToKey(location) + " to region " + regionId);
     }
     
     /**
@@ -130,11 +132,13 @@ public final class DoorManager {
      * @param location The door location
      */
     public void unlinkDoor(Location location) {
-        String key = locationToKey(location);
-        String regionId = doorLinks.remove(key);
+        String regionId;
+        synchronized (doorLinks) {
+            regionId = removeLinkRecorded(location.getWorld().getName(),
+                BlockKey.pack(location.getBlockX(), location.getBlockY(), location.getBlockZ()));
+        }
         if (regionId != null) {
-            saveDoors();
-            plugin.debug("Unlinked door at " + key + " from region " + regionId);
+            plugin.debug("Unlinked door at " + locationToKey(location) + " from region " + regionId);
         }
     }
     
@@ -144,13 +148,26 @@ public final class DoorManager {
      * @return Region ID or null
      */
     public String getLinkedRegion(Location location) {
-        // Check bottom block location
-        Block bottom = getBottomDoorBlock(location.getBlock());
-        if (bottom != null) {
-            String key = locationToKey(bottom.getLocation());
-            return doorLinks.get(key);
+        return getLinkedRegion(location.getBlock());
+    }
+    
+    /**
+     * Get the region ID linked to a door block (either half)
+     * @param block The door block
+     * @return Region ID or null
+     */
+    public String getLinkedRegion(Block block) {
+        if (!isValidDoor(block.getType())) {
+            return null;
         }
-        return null;
+        
+        // Links are stored on the bottom half
+        int y = block.getY();
+        if (block.getBlockData() instanceof Door doorData && doorData.getHalf() == Bisected.Half.TOP) {
+            y--;
+        }
+        
+        return getLink(block.getWorld().getName(), block.getX(), y, block.getZ());
     }
     
     /**
@@ -169,11 +186,77 @@ public final class DoorManager {
      * @return true if the player can access the door
      */
     public boolean canAccessDoor(Player player, Location location) {
-        String regionId = getLinkedRegion(location);
+        return canAccessRegion(player, getLinkedRegion(location));
+    }
+    
+    /**
+     * Check if a player can access doors linked to a region
+     * @param player The player
+     * @param regionId The linked region ID as returned by {@link #getLinkedRegion} (null for unlinked doors)
+     * @return true if the player can access the door
+     */
+    public boolean canAccessRegion(Player player, String regionId) {
         if (regionId == null) {
             return true; // Unlinked doors are accessible to everyone
         }
         
+        AccessKey key = new AccessKey(player.getUniqueId(), regionId, accessVersion(regionId));
+        Boolean cached = accessCache.getIfPresent(key);
+        if (cached != null) {
+            return cached;
+        }
+        
+        boolean allowed = checkAccess(player, regionId);
+        accessCache.put(key, allowed);
+        return allowed;
+    }
+    
+    /**
+     * Drop cached door access decisions for a region
+     * @param regionId The region ID
+     */
+    public void invalidateAccess(String regionId) {
+        if (regionId != null) {
+            accessVersions.merge(canonicalRegionId(regionId), 1, Integer::sum);
+        }
+    }
+    
+    private int accessVersion(String regionId) {
+        // Linked IDs are already canonical, so door clicks don't normalise
+        return accessVersions.getOrDefault(regionId, 0);
+    }
+    
+    /**
+     * Links are stored under lowercase region IDs, matching WorldGuard's own IDs
+     */
+    private static String canonicalRegionId(String regionId) {
+        return regionId.toLowerCase(Locale.ROOT);
+    }
+    
+    /**
+     * Drop all cached door access decisions
+     */
+    public void invalidateAllAccess() {
+        accessCache.invalidateAll();
+    }
+    
+    /**
+     * Get door access cache statistics
+     * @return Hit/miss statistics
+     */
+    public CacheStats getAccessCacheStats() {
+        return accessCache.stats();
+    }
+    
+    /**
+     * Get the number of cached door access decisions
+     * @return Cache size
+     */
+    public long getAccessCacheSize() {
+        return accessCache.estimatedSize();
+    }
+    
+    private boolean checkAccess(Player player, String regionId) {
         // Find the region
         Region region = plugin.findRegionById(regionId);
         if (region == null) {
@@ -192,19 +275,7 @@ public final class DoorManager {
      * @return true if on cooldown
      */
     public boolean isOnDoorCooldown(Player player) {
-        Long lastInteraction = doorCooldowns.get(player.getUniqueId());
-        if (lastInteraction == null) {
-            return false;
-        }
-        
-        long timeSince = System.currentTimeMillis() - lastInteraction;
-        if (timeSince < DOOR_COOLDOWN_MS) {
-            return true;
-        }
-        
-        // Clean up old entry
-        doorCooldowns.remove(player.getUniqueId());
-        return false;
+        return plugin.getTimers().isActive(DOOR_COOLDOWN, player.getUniqueId());
     }
     
     /**
@@ -212,7 +283,7 @@ public final class DoorManager {
      * @param player The player
      */
     private void setDoorCooldown(Player player) {
-        doorCooldowns.put(player.getUniqueId(), System.currentTimeMillis());
+        plugin.getTimers().schedule(DOOR_COOLDOWN, player.getUniqueId(), DOOR_COOLDOWN_MS, null);
     }
     
     /**
@@ -245,9 +316,10 @@ public final class DoorManager {
         }
         
         // Play sound
-        if (playSounds) {
-            Sound sound = wasOpen ? closeSound : openSound;
-            block.getWorld().playSound(block.getLocation(), sound, soundVolume, soundPitch);
+        EdenCellsSettings.DoorSounds sounds = plugin.getSettings().doorSounds();
+        if (sounds.enabled()) {
+            Sound sound = wasOpen ? sounds.close() : sounds.open();
+            block.getWorld().playSound(block.getLocation(), sound, sounds.volume(), sounds.pitch());
         }
         
         plugin.debug("Toggled door at " + locationToKey(block.getLocation()) + " to " + (!wasOpen ? "open" : "closed"));
@@ -357,42 +429,144 @@ public final class DoorManager {
     }
     
     /**
-     * Load door links from file
+     * Load door links from storage, writing unsaved changes first
      */
     public void loadDoors() {
-        if (!doorsFile.exists()) {
-            plugin.getLogger().info("No doors.yml file found, starting fresh");
+        // Changes waiting on the write-behind delay would be lost, and the stale
+        // state written back over them afterwards
+        if ((saver.isDirty() || repository.hasPendingChanges()) && !saver.saveNow()) {
+            plugin.getLogger().severe("Not reloading door links: unsaved changes could not be written");
             return;
         }
         
-        FileConfiguration config = YamlConfiguration.loadConfiguration(doorsFile);
-        doorLinks.clear();
+        synchronized (doorLinks) {
+            doorLinks.clear();
+            doorsByRegion.clear();
+        }
         
-        for (String key : config.getKeys(false)) {
-            String regionId = config.getString(key);
-            if (regionId != null) {
-                doorLinks.put(key, regionId);
+        try {
+            Map<String, LongObjectMap<String>> links = repository.load();
+            synchronized (doorLinks) {
+                for (Map.Entry<String, LongObjectMap<String>> world : links.entrySet()) {
+                    String worldName = world.getKey();
+                    world.getValue().forEach((key, regionId) ->
+                        putLink(worldName, BlockKey.x(key), BlockKey.y(key), BlockKey.z(key), regionId));
+                }
             }
+        } catch (IOException e) {
+            plugin.getLogger().severe("Failed to load door links: " + e.getMessage());
+        }
+        
+        if (repository.hasPendingChanges()) {
+            saver.markDirty(); // fold replayed or converted data into storage
         }
         
-        plugin.getLogger().info("Loaded " + doorLinks.size() + " door links");
+        plugin.getLogger().info("Loaded " + getDoorCount() + " door links");
     }
     
     /**
-     * Save door links to file
+     * Save door links now, on the calling thread
      */
     public void saveDoors() {
-        FileConfiguration config = new YamlConfiguration();
-        
-        for (Map.Entry<String, String> entry : doorLinks.entrySet()) {
-            config.set(entry.getKey(), entry.getValue());
+        saver.saveNow();
+    }
+    
+    /**
+     * Flush pending door link changes and stop the background writer
+     */
+    public void shutdown() {
+        if (repository.hasPendingChanges()) {
+            saver.markDirty();
+        }
+        saver.shutdown();
+    }
+    
+    /**
+     * Copy all door links for a backup
+     * @return World name -> packed block key -> region ID
+     */
+    public Map<String, LongObjectMap<String>> snapshotLinks() {
+        return captureLinks(() -> {});
+    }
+    
+    /**
+     * Replace all door links with a restored set. Only the differences are handed to
+     * storage, so a restore close to the current state stays cheap.
+     * @param links World name -> packed block key -> region ID
+     * @return Number of links added, changed or removed
+     */
+    public int restoreLinks(Map<String, LongObjectMap<String>> links) {
+        int[] changed = new int[1];
+        synchronized (doorLinks) {
+            // Drop links the restored set doesn't have
+            List<DoorPosition> stale = new ArrayList<>();
+            for (Map.Entry<String, LongObjectMap<ChunkDoors>> world : doorLinks.entrySet()) {
+                LongObjectMap<String> restored = links.get(world.getKey());
+                world.getValue().forEach((chunkKey, chunk) -> chunk.doors.forEach((key, regionId) -> {
+                    if (restored == null || !restored.containsKey(key)) {
+                        stale.add(new DoorPosition(world.getKey(), key));
+                    }
+                }));
+            }
+            for (DoorPosition position : stale) {
+                removeLinkRecorded(position.worldName(), position.key());
+                changed[0]++;
+            }
+            
+            for (Map.Entry<String, LongObjectMap<String>> world : links.entrySet()) {
+                String worldName = world.getKey();
+                world.getValue().forEach((key, regionId) -> {
+                    int x = BlockKey.x(key);
+                    int y = BlockKey.y(key);
+                    int z = BlockKey.z(key);
+                    String canonical = canonicalRegionId(regionId);
+                    if (!canonical.equals(getLink(worldName, x, y, z))) {
+                        putLink(worldName, x, y, z, canonical);
+                        recordLink(worldName, x, y, z, canonical);
+                        changed[0]++;
+                    }
+                });
+            }
         }
         
-        try {
-            config.save(doorsFile);
-            plugin.debug("Saved " + doorLinks.size() + " door links");
-        } catch (IOException e) {
-            plugin.getLogger().severe("Failed to save door links: " + e.getMessage());
+        plugin.debug("Restored door links with " + changed[0] + " changes");
+        return changed[0];
+    }
+    
+    /**
+     * Copy all links for a full snapshot
+     * @param whileLocked Run with the links still locked, after copying
+     * @return World name -> packed block key -> region ID
+     */
+    private Map<String, LongObjectMap<String>> captureLinks(Runnable whileLocked) {
+        Map<String, LongObjectMap<String>> links = new HashMap<>();
+        synchronized (doorLinks) {
+            for (Map.Entry<String, LongObjectMap<ChunkDoors>> world : doorLinks.entrySet()) {
+                LongObjectMap<String> worldLinks = new LongObjectMap<>();
+                world.getValue().forEach((chunkKey, chunk) -> chunk.doors.forEach(worldLinks::put));
+                links.put(world.getKey(), worldLinks);
+            }
+            whileLocked.run();
+        }
+        return links;
+    }
+    
+    /**
+     * Hand a new link to storage. Called with the doorLinks lock held so changes
+     * reach the repository in the order they were applied.
+     */
+    private void recordLink(String worldName, int x, int y, int z, String regionId) {
+        if (repository.linked(worldName, BlockKey.pack(x, y, z), regionId)) {
+            saver.markDirty();
+        }
+    }
+    
+    /**
+     * Hand a removed link to storage (see {@link #recordLink})
+     */
+    private void recordUnlink(String worldName, long key) {
+        if (repository.unlinked(worldName, key)) {
+            saver.markDirty();
         }
     }
     
@@ -402,20 +576,129 @@ public final class DoorManager {
      * @return String key
      */
     private String locationToKey(Location location) {
-        return String.format("%s:%d:%d:%d",
-            location.getWorld().getName(),
-            location.getBlockX(),
-            location.getBlockY(),
-            location.getBlockZ()
-        );
+        return toKey(location.getWorld().getName(), location.getBlockX(), location.getBlockY(), location.getBlockZ());
+    }
+    
+    /**
+     * Build the world:x:y:z key used in doors.yml
+     */
+    private static String toKey(String worldName, int x, int y, int z) {
+        return worldName + ":" + x + ":" + y + ":" + z;
+    }
+    
+    private String getLink(String worldName, int x, int y, int z) {
+        synchronized (doorLinks) {
+            LongObjectMap<ChunkDoors> worldLinks = doorLinks.get(worldName);
+            if (worldLinks == null) {
+                return null;
+            }
+            
+            ChunkDoors chunk = worldLinks.get(Chunk.getChunkKey(x >> 4, z >> 4));
+            return chunk != null ? chunk.doors.get(BlockKey.pack(x, y, z)) : null;
+        }
+    }
+    
+    private void putLink(String worldName, int x, int y, int z, String regionId) {
+        regionId = canonicalRegionId(regionId);
+        long key = BlockKey.pack(x, y, z);
+        synchronized (doorLinks) {
+            LongObjectMap<ChunkDoors> worldLinks = doorLinks.computeIfAbsent(worldName, w -> new LongObjectMap<>());
+            long chunkKey = Chunk.getChunkKey(x >> 4, z >> 4);
+            ChunkDoors chunk = worldLinks.get(chunkKey);
+            if (chunk == null) {
+                chunk = new ChunkDoors(x >> 4, z >> 4);
+                worldLinks.put(chunkKey, chunk);
+            }
+            
+            String previous = chunk.doors.put(key, regionId);
+            DoorPosition position = new DoorPosition(worldName, key);
+            if (previous != null) {
+                removeFromRegion(previous, position);
+            }
+            doorsByRegion.computeIfAbsent(regionId, r -> new HashSet<>()).add(position);
+        }
+    }
+    
+    private String removeLink(String worldName, long key) {
+        synchronized (doorLinks) {
+            LongObjectMap<ChunkDoors> worldLinks = doorLinks.get(worldName);
+            if (worldLinks == null) {
+                return null;
+            }
+            
+            long chunkKey = Chunk.getChunkKey(BlockKey.x(key) >> 4, BlockKey.z(key) >> 4);
+            ChunkDoors chunk = worldLinks.get(chunkKey);
+            if (chunk == null) {
+                return null;
+            }
+            
+            String regionId = chunk.doors.remove(key);
+            if (chunk.doors.isEmpty()) {
+                worldLinks.remove(chunkKey);
+                if (worldLinks.isEmpty()) {
+                    doorLinks.remove(worldName);
+                }
+            }
+            if (regionId != null) {
+                removeFromRegion(regionId, new DoorPosition(worldName, key));
+            }
+            return regionId;
+        }
+    }
+    
+    private String removeLinkRecorded(String worldName, long key) {
+        synchronized (doorLinks) {
+            String regionId = removeLink(worldName, key);
+            if (regionId != null) {
+                recordUnlink(worldName, key);
+            }
+            return regionId;
+        }
+    }
+    
+    private void removeFromRegion(String regionId, DoorPosition position) {
+        Set<DoorPosition> positions = doorsByRegion.get(regionId);
+        if (positions != null && positions.remove(position) && positions.isEmpty()) {
+            doorsByRegion.remove(regionId);
+        }
+    }
+    
+    /**
+     * Unlink every door linked to a region
+     * @param regionId The region ID
+     * @return Number of unlinked doors
+     */
+    private int unlinkRegionDoors(String regionId) {
+        int removed = 0;
+        synchronized (doorLinks) {
+            Set<DoorPosition> positions = doorsByRegion.get(canonicalRegionId(regionId));
+            if (positions == null) {
+                return 0;
+            }
+            
+            for (DoorPosition position : new ArrayList<>(positions)) {
+                if (removeLinkRecorded(position.worldName(), position.key()) != null) {
+                    removed++;
+                }
+            }
+        }
+        return removed;
     }
     
     /**
      * Get all door links for debugging
-     * @return Map of door locations to region IDs
+     * @return Map of door locations (world:x:y:z) to region IDs
      */
     public Map<String, String> getAllDoorLinks() {
-        return new HashMap<>(doorLinks);
+        Map<String, String> links = new HashMap<>();
+        synchronized (doorLinks) {
+            for (Map.Entry<String, LongObjectMap<ChunkDoors>> world : doorLinks.entrySet()) {
+                String worldName = world.getKey();
+                world.getValue().forEach((chunkKey, chunk) -> chunk.doors.forEach((key, regionId) ->
+                    links.put(toKey(worldName, BlockKey.x(key), BlockKey.y(key), BlockKey.z(key)), regionId)));
+            }
+        }
+        return links;
     }
     
     /**
@@ -423,7 +706,116 @@ public final class DoorManager {
      * @return Door count
      */
     public int getDoorCount() {
-        return doorLinks.size();
+        synchronized (doorLinks) {
+            int[] count = {0};
+            for (LongObjectMap<ChunkDoors> worldLinks : doorLinks.values()) {
+                worldLinks.forEach((chunkKey, chunk) -> count[0] += chunk.doors.size());
+            }
+            return count[0];
+        }
+    }
+    
+    /**
+     * Queue every linked door for a block check (is there still a door there?).
+     * Doors in loaded chunks are checked on the next tick; the rest are checked
+     * when their chunk loads, so no chunk is ever loaded just for validation.
+     * @return Number of chunks queued
+     */
+    public int queueBlockValidation() {
+        int queued = 0;
+        synchronized (doorLinks) {
+            for (LongObjectMap<ChunkDoors> worldLinks : doorLinks.values()) {
+                int[] worldQueued = {0};
+                worldLinks.forEach((chunkKey, chunk) -> {
+                    chunk.pendingValidation = true;
+                    worldQueued[0]++;
+                });
+                queued += worldQueued[0];
+            }
+        }
+        
+        plugin.getServer().getScheduler().runTask(plugin, this::validateLoadedChunks);
+        return queued;
+    }
+    
+    /**
+     * Run any pending door validation for a chunk that just loaded
+     * @param chunk The chunk
+     */
+    public void onChunkLoad(Chunk chunk) {
+        ChunkDoors doors;
+        synchronized (doorLinks) {
+            LongObjectMap<ChunkDoors> worldLinks = doorLinks.get(chunk.getWorld().getName());
+            doors = worldLinks != null ? worldLinks.get(chunk.getChunkKey()) : null;
+            if (doors == null || !doors.pendingValidation) {
+                return;
+            }
+        }
+        
+        validateChunk(chunk, doors);
+    }
+    
+    /**
+     * Validate pending chunks that are already loaded (main thread)
+     */
+    private void validateLoadedChunks() {
+        List<Chunk> loaded = new ArrayList<>();
+        List<ChunkDoors> pending = new ArrayList<>();
+        
+        synchronized (doorLinks) {
+            for (Map.Entry<String, LongObjectMap<ChunkDoors>> entry : doorLinks.entrySet()) {
+                World world = plugin.getServer().getWorld(entry.getKey());
+                if (world == null) {
+                    continue;
+                }
+                
+                entry.getValue().forEach((chunkKey, chunk) -> {
+                    if (chunk.pendingValidation && world.isChunkLoaded(chunk.chunkX, chunk.chunkZ)) {
+                        loaded.add(world.getChunkAt(chunk.chunkX, chunk.chunkZ));
+                        pending.add(chunk);
+                    }
+                });
+            }
+        }
+        
+        int removed = 0;
+        for (int i = 0; i < loaded.size(); i++) {
+            removed += validateChunk(loaded.get(i), pending.get(i));
+        }
+        
+        plugin.debug("Validated doors in " + loaded.size() + " loaded chunks, removed " + removed + " links");
+    }
+    
+    /**
+     * Unlink doors in a loaded chunk whose block is no longer a door
+     * @return Number of removed links
+     */
+    private int validateChunk(Chunk chunk, ChunkDoors doors) {
+        String worldName = chunk.getWorld().getName();
+        List<Long> invalid = new ArrayList<>();
+        
+        synchronized (doorLinks) {
+            doors.pendingValidation = false;
+            doors.doors.forEach((key, regionId) -> {
+                try {
+                    Block block = chunk.getBlock(BlockKey.x(key) & 15, BlockKey.y(key), BlockKey.z(key) & 15);
+                    if (!isValidDoor(block.getType())) {
+                        invalid.add(key);
+                    }
+                } catch (IllegalArgumentException e) {
+                    invalid.add(key); // Outside the world's height range
+                }
+            });
+        }
+        
+        for (long key : invalid) {
+            String regionId = removeLinkRecorded(worldName, key);
+            if (regionId != null) {
+                plugin.getLogger().info("Removed door link without a door block: " +
+                    toKey(worldName, BlockKey.x(key), BlockKey.y(key), BlockKey.z(key)) + " -> " + regionId);
+            }
+        }
+        return invalid.size();
     }
     
     /**
@@ -432,25 +824,16 @@ public final class DoorManager {
      */
     public int cleanupInvalidLinks() {
         int removed = 0;
-        Iterator<Map.Entry<String, String>> iter = doorLinks.entrySet().iterator();
         
-        while (iter.hasNext()) {
-            Map.Entry<String, String> entry = iter.next();
-            String regionId = entry.getValue();
-            
-            // Check if region still exists
-            Region region = plugin.findRegionById(regionId);
-            if (region == null) {
-                iter.remove();
-                removed++;
-                plugin.getLogger().info("Removed invalid door link to non-existent region: " + regionId);
+        // Check each linked region once rather than once per door
+        for (String regionId : getLinkedRegionIds()) {
+            if (plugin.findRegionById(regionId) == null) {
+                int unlinked = unlinkRegionDoors(regionId);
+                removed += unlinked;
+                plugin.getLogger().info("Removed " + unlinked + " invalid door link(s) to non-existent region: " + regionId);
             }
         }
         
-        if (removed > 0) {
-            saveDoors();
-        }
-        
         return removed;
     }
     
@@ -461,10 +844,13 @@ public final class DoorManager {
     public void syncDoorOwnershipForRegion(String regionId) {
         plugin.debug("Syncing door ownership for region: " + regionId);
         
-        // Find all doors linked to this region
-        List<Location> linkedDoors = findDoorsLinkedToRegion(regionId);
+        // Owner changed - cached access decisions are stale
+        invalidateAccess(regionId);
+        
+        // Count doors linked to this region
+        int linkedDoors = getDoorCountForRegion(regionId);
         
-        if (linkedDoors.isEmpty()) {
+        if (linkedDoors == 0) {
             plugin.debug("No doors linked to region: " + regionId);
             return;
         }
@@ -474,13 +860,11 @@ public final class DoorManager {
         if (region == null) {
             plugin.debug("Region no longer exists, unlinking doors: " + regionId);
             // Region no longer exists, unlink all doors
-            for (Location doorLocation : linkedDoors) {
-                unlinkDoor(doorLocation);
-            }
+            unlinkRegionDoors(regionId);
             return;
         }
         
-        plugin.debug("Found " + linkedDoors.size() + " doors linked to region " + regionId);
+        plugin.debug("Found " + linkedDoors + " doors linked to region " + regionId);
         
         // If region is not sold, doors should remain linked but no one has access
         if (!cellManager.isSold(region)) {
@@ -500,11 +884,17 @@ public final class DoorManager {
     public List<Location> findDoorsLinkedToRegion(String regionId) {
         List<Location> linkedDoors = new ArrayList<>();
         
-        for (Map.Entry<String, String> entry : doorLinks.entrySet()) {
-            if (regionId.equals(entry.getValue())) {
-                Location doorLocation = parseLocationFromKey(entry.getKey());
-                if (doorLocation != null) {
-                    linkedDoors.add(doorLocation);
+        synchronized (doorLinks) {
+            Set<DoorPosition> positions = doorsByRegion.get(canonicalRegionId(regionId));
+            if (positions == null) {
+                return linkedDoors;
+            }
+            
+            for (DoorPosition position : positions) {
+                World world = plugin.getServer().getWorld(position.worldName());
+                if (world != null) {
+                    long key = position.key();
+                    linkedDoors.add(new Location(world, BlockKey.x(key), BlockKey.y(key), BlockKey.z(key)));
                 }
             }
         }
@@ -512,6 +902,28 @@ public final class DoorManager {
         return linkedDoors;
     }
     
+    /**
+     * Get the number of doors linked to a region
+     * @param regionId The region ID
+     * @return Door count
+     */
+    public int getDoorCountForRegion(String regionId) {
+        synchronized (doorLinks) {
+            Set<DoorPosition> positions = doorsByRegion.get(canonicalRegionId(regionId));
+            return positions != null ? positions.size() : 0;
+        }
+    }
+    
+    /**
+     * Get the IDs of all regions with linked doors (snapshot)
+     * @return Region IDs
+     */
+    public Set<String> getLinkedRegionIds() {
+        synchronized (doorLinks) {
+            return new HashSet<>(doorsByRegion.keySet());
+        }
+    }
+    
     /**
      * Sync all door ownerships - used by sync command
      * @return Number of doors synced
@@ -520,53 +932,42 @@ public final class DoorManager {
         plugin.debug("Starting full door ownership sync");
         
         int syncedDoors = 0;
-        Map<String, List<Location>> regionDoors = new HashMap<>();
-        
-        // Group doors by region
-        for (Map.Entry<String, String> entry : doorLinks.entrySet()) {
-            String regionId = entry.getValue();
-            Location doorLocation = parseLocationFromKey(entry.getKey());
-            
-            if (doorLocation != null) {
-                regionDoors.computeIfAbsent(regionId, k -> new ArrayList<>()).add(doorLocation);
-            }
-        }
+        Set<String> regionIds = getLinkedRegionIds();
         
         // Sync each region's doors
-        for (String regionId : regionDoors.keySet()) {
+        for (String regionId : regionIds) {
+            syncedDoors += getDoorCountForRegion(regionId);
             syncDoorOwnershipForRegion(regionId);
-            syncedDoors += regionDoors.get(regionId).size();
         }
         
-        plugin.debug("Synced " + syncedDoors + " doors across " + regionDoors.size() + " regions");
+        plugin.debug("Synced " + syncedDoors + " doors across " + regionIds.size() + " regions");
         return syncedDoors;
     }
     
     /**
-     * Parse location from door key
-     * @param doorKey The door key (world:x:y:z format)
-     * @return The location or null if invalid
+     * Position of a linked door's bottom block
      */
-    private Location parseLocationFromKey(String doorKey) {
-        try {
-            String[] parts = doorKey.split(":");
-            if (parts.length != 4) {
-                return null;
-            }
-            
-            String worldName = parts[0];
-            int x = Integer.parseInt(parts[1]);
-            int y = Integer.parseInt(parts[2]);
-            int z = Integer.parseInt(parts[3]);
-            
-            org.bukkit.World world = plugin.getServer().getWorld(worldName);
-            if (world == null) {
-                return null;
-            }
-            
-            return new Location(world, x, y, z);
-        } catch (NumberFormatException e) {
-            return null;
+    private record DoorPosition(String worldName, long key) {
+    }
+    
+    /**
+     * Cache key for a player's access to a region's doors
+     */
+    private record AccessKey(UUID playerId, String regionId, int version) {
+    }
+    
+    /**
+     * Doors linked inside one chunk
+     */
+    private static final class ChunkDoors {
+        private final int chunkX;
+        private final int chunkZ;
+        private final LongObjectMap<String> doors = new LongObjectMap<>(4);
+        private boolean pendingValidation;
+        
+        ChunkDoors(int chunkX, int chunkZ) {
+            this.chunkX = chunkX;
+            this.chunkZ = chunkZ;
         }
     }
-} 
\ No newline at end of file
+}
\ No newline at end of file
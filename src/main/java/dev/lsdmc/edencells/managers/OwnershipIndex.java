@@ -0,0 +1,215 @@
+package dev.lsdmc.edencells.managers;
+
+import dev.lsdmc.edencells.EdenCells;
+import dev.lsdmc.edencells.models.CellGroup;
+import net.alex9849.arm.regions.Region;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Reverse index from owner UUID to owned cells with per-group counters.
+ * Limit checks read counters here instead of asking ARM for every region a player owns.
+ */
+public final class OwnershipIndex {
+
+    private final EdenCells plugin;
+    private final RegionIndex regionIndex;
+
+    // Region -> current owner (only sold regions are tracked)
+    private final Map<Region, UUID> ownerByRegion = new HashMap<>();
+
+    // Owner -> owned cells and group counters
+    private final Map<UUID, OwnedCells> byOwner = new HashMap<>();
+
+    public OwnershipIndex(EdenCells plugin, RegionIndex regionIndex) {
+        this.plugin = plugin;
+        this.regionIndex = regionIndex;
+
+        if (regionIndex == null) {
+            throw new IllegalArgumentException("RegionIndex cannot be null");
+        }
+    }
+
+    /**
+     * Rebuild the whole index from the region index
+     */
+    public synchronized void rebuild() {
+        ownerByRegion.clear();
+        byOwner.clear();
+
+        try {
+            for (Region region : regionIndex.getAll()) {
+                refresh(region);
+            }
+        } catch (Exception e) {
+            plugin.getLogger().warning("Error building ownership index: " + e.getMessage());
+        }
+
+        plugin.debug("Indexed " + ownerByRegion.size() + " owned cells for " + byOwner.size() + " players");
+    }
+
+    /**
+     * Re-read a region's owner from ARM and move it between owners if it changed
+     * @param region The region
+     */
+    public synchronized void refresh(Region region) {
+        if (region == null || region.getRegion() == null) {
+            return;
+        }
+
+        UUID currentOwner = null;
+        try {
+            currentOwner = region.isSold() ? region.getOwner() : null;
+        } catch (Exception e) {
+            plugin.debug("Could not read owner of region " + region.getRegion().getId() + ": " + e.getMessage());
+        }
+
+        UUID previousOwner = ownerByRegion.get(region);
+        if (previousOwner != null && previousOwner.equals(currentOwner)) {
+            return;
+        }
+
+        if (previousOwner != null) {
+            detach(previousOwner, region);
+        }
+
+        if (currentOwner != null) {
+            ownerByRegion.put(region, currentOwner);
+            byOwner.computeIfAbsent(currentOwner, uuid -> new OwnedCells()).add(region);
+        } else {
+            ownerByRegion.remove(region);
+        }
+    }
+
+    /**
+     * Drop a region from the index (region deleted from ARM)
+     * @param region The region
+     */
+    public synchronized void remove(Region region) {
+        if (region == null) {
+            return;
+        }
+
+        UUID previousOwner = ownerByRegion.remove(region);
+        if (previousOwner != null) {
+            detach(previousOwner, region);
+        }
+    }
+
+    /**
+     * Get the number of cells a player owns
+     * @param playerUuid The player UUID
+     * @return Cell count
+     */
+    public synchronized int getCellCount(UUID playerUuid) {
+        if (playerUuid == null) {
+            return 0;
+        }
+
+        OwnedCells cells = byOwner.get(playerUuid);
+        return cells != null ? cells.regions.size() : 0;
+    }
+
+    /**
+     * Get the number of cells a player owns in a group
+     * @param playerUuid The player UUID
+     * @param group The group
+     * @return Cell count
+     */
+    public synchronized int getCellCount(UUID playerUuid, CellGroup group) {
+        if (playerUuid == null || group == null) {
+            return 0;
+        }
+
+        OwnedCells cells = byOwner.get(playerUuid);
+        return cells != null ? cells.countIn(group) : 0;
+    }
+
+    /**
+     * Get the cells a player owns (snapshot)
+     * @param playerUuid The player UUID
+     * @return List of owned regions
+     */
+    public synchronized List<Region> getCells(UUID playerUuid) {
+        OwnedCells cells = playerUuid != null ? byOwner.get(playerUuid) : null;
+        return cells != null ? new ArrayList<>(cells.regions) : List.of();
+    }
+
+    private void detach(UUID owner, Region region) {
+        OwnedCells cells = byOwner.get(owner);
+        if (cells != null) {
+            cells.remove(region);
+            if (cells.regions.isEmpty()) {
+                byOwner.remove(owner);
+            }
+        }
+    }
+
+    /**
+     * Cells held by one owner. Group counters are adjusted on add/remove and
+     * recounted from the owner's own cells when the group's regions change.
+     */
+    private static final class OwnedCells {
+        private final Set<Region> regions = new LinkedHashSet<>();
+        private final Map<String, GroupCounter> counters = new HashMap<>();
+
+        void add(Region region) {
+            if (!regions.add(region)) {
+                return;
+            }
+            adjustCounters(region.getRegion().getId(), 1);
+        }
+
+        void remove(Region region) {
+            if (!regions.remove(region)) {
+                return;
+            }
+            adjustCounters(region.getRegion().getId(), -1);
+        }
+
+        int countIn(CellGroup group) {
+            GroupCounter counter = counters.get(group.getName());
+            if (counter == null || counter.group != group || counter.revision != group.getRevision()) {
+                counter = recount(group);
+                counters.put(group.getName(), counter);
+            }
+            return counter.count;
+        }
+
+        private void adjustCounters(String regionId, int delta) {
+            for (GroupCounter counter : counters.values()) {
+                // Stale counters are recounted on next read anyway
+                if (counter.revision == counter.group.getRevision() && counter.group.containsRegion(regionId)) {
+                    counter.count += delta;
+                }
+            }
+        }
+
+        private GroupCounter recount(CellGroup group) {
+            GroupCounter counter = new GroupCounter(group, group.getRevision());
+            for (Region region : regions) {
+                if (group.containsRegion(region.getRegion().getId())) {
+                    counter.count++;
+                }
+            }
+            return counter;
+        }
+    }
+
+    private static final class GroupCounter {
+        private final CellGroup group;
+        private final long revision;
+        private int count;
+
+        GroupCounter(CellGroup group, long revision) {
+            this.group = group;
+            this.revision = revision;
+        }
+    }
+}
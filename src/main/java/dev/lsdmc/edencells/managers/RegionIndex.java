@@ -0,0 +1,212 @@
+package dev.lsdmc.edencells.managers;
+
+import dev.lsdmc.edencells.EdenCells;
+import net.alex9849.arm.AdvancedRegionMarket;
+import net.alex9849.arm.regions.Region;
+import org.bukkit.World;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Hash index over ARM regions so lookups by ID don't scan the whole region manager.
+ * Built once on enable and kept current from ARM add/remove/update events.
+ */
+public final class RegionIndex {
+
+    private final EdenCells plugin;
+    private final AdvancedRegionMarket arm;
+
+    // Lower-cased region ID -> region (first match wins, like the old linear scan)
+    private final Map<String, Region> byId = new ConcurrentHashMap<>();
+
+    // World name -> lower-cased region ID -> region
+    private final Map<String, Map<String, Region>> byWorld = new ConcurrentHashMap<>();
+
+    // Region -> key it was indexed under, so stale keys can be dropped on update
+    private final Map<Region, String> indexedKeys = new ConcurrentHashMap<>();
+
+    // Bumped whenever the set of indexed IDs changes
+    private volatile long version;
+
+    public RegionIndex(EdenCells plugin, AdvancedRegionMarket arm) {
+        this.plugin = plugin;
+        this.arm = arm;
+
+        if (arm == null) {
+            throw new IllegalArgumentException("AdvancedRegionMarket cannot be null");
+        }
+    }
+
+    /**
+     * Rebuild the whole index from ARM's region manager
+     */
+    public synchronized void rebuild() {
+        long start = System.currentTimeMillis();
+
+        byId.clear();
+        byWorld.clear();
+        indexedKeys.clear();
+        version++;
+
+        try {
+            for (Region region : arm.getRegionManager()) {
+                index(region);
+            }
+        } catch (Exception e) {
+            plugin.getLogger().warning("Error building region index: " + e.getMessage());
+        }
+
+        plugin.getLogger().info("Indexed " + indexedKeys.size() + " ARM regions in " +
+            (System.currentTimeMillis() - start) + "ms");
+    }
+
+    /**
+     * Add or re-index a region (handles ID changes)
+     * @param region The region
+     */
+    public synchronized void update(Region region) {
+        if (region == null) {
+            return;
+        }
+
+        String previousKey = indexedKeys.get(region);
+        String currentKey = keyOf(region);
+        if (previousKey != null && !previousKey.equals(currentKey)) {
+            unindex(region, previousKey);
+        }
+
+        index(region);
+    }
+
+    /**
+     * Remove a region from the index
+     * @param region The region
+     */
+    public synchronized void remove(Region region) {
+        if (region == null) {
+            return;
+        }
+
+        String key = indexedKeys.get(region);
+        if (key == null) {
+            key = keyOf(region);
+        }
+        if (key != null) {
+            unindex(region, key);
+        }
+    }
+
+    /**
+     * Find a region by ID in any world
+     * @param regionId The region ID (case-insensitive)
+     * @return The region or null
+     */
+    public Region get(String regionId) {
+        if (regionId == null) {
+            return null;
+        }
+
+        return byId.get(normalize(regionId));
+    }
+
+    /**
+     * Find a region by ID in a specific world
+     * @param world The world
+     * @param regionId The region ID (case-insensitive)
+     * @return The region or null
+     */
+    public Region get(World world, String regionId) {
+        if (world == null || regionId == null) {
+            return null;
+        }
+
+        Map<String, Region> worldRegions = byWorld.get(world.getName());
+        return worldRegions != null ? worldRegions.get(normalize(regionId)) : null;
+    }
+
+    /**
+     * Get all indexed regions (snapshot)
+     * @return List of regions
+     */
+    public List<Region> getAll() {
+        return new ArrayList<>(indexedKeys.keySet());
+    }
+
+    /**
+     * Get all indexed region IDs in their lower-cased form
+     * @return Unmodifiable view of IDs
+     */
+    public Collection<String> getIds() {
+        return Collections.unmodifiableSet(byId.keySet());
+    }
+
+    /**
+     * Get the index version, which changes whenever region IDs are added or removed
+     * @return Version number
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * Get the number of indexed regions
+     * @return Region count
+     */
+    public int size() {
+        return indexedKeys.size();
+    }
+
+    private void index(Region region) {
+        String key = keyOf(region);
+        if (key == null) {
+            return;
+        }
+
+        if (!key.equals(indexedKeys.put(region, key))) {
+            version++;
+        }
+        byId.putIfAbsent(key, region);
+
+        World world = region.getRegionworld();
+        if (world != null) {
+            byWorld.computeIfAbsent(world.getName(), w -> new ConcurrentHashMap<>()).put(key, region);
+        }
+    }
+
+    private void unindex(Region region, String key) {
+        indexedKeys.remove(region);
+        version++;
+
+        if (byId.remove(key, region)) {
+            // Another world may hold a region with the same ID - promote it
+            for (Map<String, Region> worldRegions : byWorld.values()) {
+                Region other = worldRegions.get(key);
+                if (other != null && other != region) {
+                    byId.putIfAbsent(key, other);
+                    break;
+                }
+            }
+        }
+
+        for (Map<String, Region> worldRegions : byWorld.values()) {
+            worldRegions.remove(key, region);
+        }
+    }
+
+    private static String keyOf(Region region) {
+        if (region == null || region.getRegion() == null || region.getRegion().getId() == null) {
+            return null;
+        }
+        return normalize(region.getRegion().getId());
+    }
+
+    private static String normalize(String regionId) {
+        return regionId.trim().toLowerCase(Locale.ROOT);
+    }
+}
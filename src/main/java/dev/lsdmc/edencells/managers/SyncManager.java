@@ -6,9 +6,6 @@ import dev.lsdmc.edencells.models.CellGroupManager;
 import dev.lsdmc.edencells.utils.MessageUtils;
 import net.alex9849.arm.AdvancedRegionMarket;
 import net.alex9849.arm.regions.Region;
-import org.bukkit.Bukkit;
-import org.bukkit.Location;
-import org.bukkit.World;
 import org.bukkit.command.CommandSender;
 import org.bukkit.entity.Player;
 
@@ -228,44 +225,34 @@ public final class SyncManager {
         }
         
         int orphanedDoors = 0;
-        Map<String, String> doorLinks = doorManager.getAllDoorLinks();
-        Set<String> doorsToRemove = new HashSet<>();
         
-        for (Map.Entry<String, String> entry : doorLinks.entrySet()) {
-            String doorKey = entry.getKey();
-            String regionId = entry.getValue();
-            
-            // Check if region exists
+        // Check each linked region once
+        for (String regionId : doorManager.getLinkedRegionIds()) {
             Region region = plugin.findRegionById(regionId);
             if (region == null) {
-                orphanedDoors++;
-                doorsToRemove.add(doorKey);
-                errors.add("Orphaned door link: " + doorKey + " -> " + regionId);
-                plugin.debug("Found orphaned door link: " + doorKey + " -> " + regionId);
-                continue;
-            }
-            
-            // Check if door location is valid
-            if (!isValidDoorLocation(doorKey)) {
-                orphanedDoors++;
-                doorsToRemove.add(doorKey);
-                errors.add("Invalid door location: " + doorKey);
-                plugin.debug("Found invalid door location: " + doorKey);
+                int doors = doorManager.getDoorCountForRegion(regionId);
+                orphanedDoors += doors;
+                errors.add("Orphaned door links: " + doors + " -> " + regionId);
+                plugin.debug("Found " + doors + " orphaned door links -> " + regionId);
             }
         }
         
         // Remove orphaned doors
-        for (String doorKey : doorsToRemove) {
-            Location doorLoc = parseLocationFromKey(doorKey);
-            if (doorLoc != null) {
-                doorManager.unlinkDoor(doorLoc);
-            }
+        if (orphanedDoors > 0) {
+            doorManager.cleanupInvalidLinks();
         }
         
         if (orphanedDoors > 0 && sender != null) {
             MessageUtils.send(sender, "  <color:#FF6B6B>Removed " + orphanedDoors + " orphaned door links</color>");
         }
         
+        // Door blocks are checked per chunk as chunks load, never forcing a load
+        int queuedChunks = doorManager.queueBlockValidation();
+        if (queuedChunks > 0 && sender != null) {
+            MessageUtils.send(sender, "  <color:#ADB5BD>Queued door block checks for " + queuedChunks + 
+                            " chunks (run as the chunks load)</color>");
+        }
+        
         return orphanedDoors;
     }
     
@@ -395,49 +382,6 @@ public final class SyncManager {
         return null;
     }
     
-    /**
-     * Check if a door location key is valid
-     */
-    private boolean isValidDoorLocation(String doorKey) {
-        Location location = parseLocationFromKey(doorKey);
-        if (location == null) {
-            return false;
-        }
-        
-        World world = location.getWorld();
-        if (world == null) {
-            return false;
-        }
-        
-        // Check if the location has a valid door
-        return doorManager.isValidDoor(location.getBlock().getType());
-    }
-    
-    /**
-     * Parse location from door key
-     */
-    private Location parseLocationFromKey(String doorKey) {
-        try {
-            String[] parts = doorKey.split(":");
-            if (parts.length != 4) {
-                return null;
-            }
-            
-            World world = Bukkit.getWorld(parts[0]);
-            if (world == null) {
-                return null;
-            }
-            
-            int x = Integer.parseInt(parts[1]);
-            int y = Integer.parseInt(parts[2]);
-            int z = Integer.parseInt(parts[3]);
-            
-            return new Location(world, x, y, z);
-        } catch (Exception e) {
-            return null;
-        }
-    }
-    
     /**
      * Update sync statistics
      */
@@ -2,25 +2,27 @@ package dev.lsdmc.edencells.managers;
 
 import dev.lsdmc.edencells.EdenCells;
 import dev.lsdmc.edencells.models.CellGroup;
+import dev.lsdmc.edencells.security.PermissionCache;
 import dev.lsdmc.edencells.security.SecurityManager;
+import dev.lsdmc.edencells.storage.NPCRepository;
 import dev.lsdmc.edencells.utils.Constants;
+import dev.lsdmc.edencells.utils.EdenCellsSettings;
 import dev.lsdmc.edencells.utils.MessageUtils;
+import dev.lsdmc.edencells.utils.WriteBehindSaver;
 import net.alex9849.arm.regions.Region;
 import net.citizensnpcs.api.CitizensAPI;
 import net.citizensnpcs.api.npc.NPC;
 import net.milkbowl.vault.economy.Economy;
 import org.bukkit.Location;
-import org.bukkit.configuration.file.FileConfiguration;
-import org.bukkit.configuration.file.YamlConfiguration;
 import org.bukkit.entity.EntityType;
 import org.bukkit.entity.Player;
 
-import java.io.File;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 /**
@@ -33,12 +35,12 @@ public final class TeleportNPCManager {
     private final Economy economy;
     private final SecurityManager security;
     
-    // Map of NPC ID to configuration
-    private final Map<Integer, NPCConfig> npcConfigs = new HashMap<>();
+    // Map of NPC ID to configuration; immutable, replaced as a whole on every change
+    // so NPC clicks on any thread read it without locking
+    private volatile Map<Integer, NPCConfig> npcConfigs = Map.of();
     
-    // File storage
-    private File npcsFile;
-    private FileConfiguration npcsConfig;
+    private final NPCRepository repository;
+    private final WriteBehindSaver saver;
     
     public record NPCConfig(
         String name,
@@ -53,93 +55,103 @@ public final class TeleportNPCManager {
         this.cellManager = cellManager;
         this.economy = economy;
         this.security = security;
-        
-        setupNPCStorage();
-        loadNPCs();
+        this.repository = plugin.getStorage().npcs();
+        this.saver = new WriteBehindSaver(plugin, "teleport-npcs", () -> repository.save(npcConfigs));
     }
     
     /**
-     * Setup NPC storage file
+     * Load NPC configurations from storage and attach the teleport trait (main thread)
      */
-    private void setupNPCStorage() {
-        npcsFile = new File(plugin.getDataFolder(), "teleport-npcs.yml");
-        if (!npcsFile.exists()) {
-            try {
-                npcsFile.createNewFile();
-            } catch (IOException e) {
-                plugin.getLogger().severe("Could not create teleport-npcs.yml: " + e.getMessage());
-            }
-        }
-        npcsConfig = YamlConfiguration.loadConfiguration(npcsFile);
+    public void loadNPCs() {
+        readNPCs();
+        attachTraits();
     }
     
     /**
-     * Load NPC configurations from file
+     * Read NPC configurations from storage without touching Citizens (safe off the main thread)
      */
-    public void loadNPCs() {
-        npcConfigs.clear();
+    public void readNPCs() {
+        // Don't lose changes still waiting to be written
+        saver.flush();
         
-        if (!npcsConfig.contains("npcs")) {
+        Map<Integer, NPCConfig> loaded;
+        try {
+            loaded = repository.load();
+        } catch (IOException e) {
+            plugin.getLogger().severe("Failed to load teleport NPCs: " + e.getMessage());
             return;
         }
         
-        for (String npcIdStr : npcsConfig.getConfigurationSection("npcs").getKeys(false)) {
-            try {
-                int npcId = Integer.parseInt(npcIdStr);
-                String path = "npcs." + npcIdStr;
-                
-                String name = npcsConfig.getString(path + ".name", "Unknown");
-                String cellGroupName = npcsConfig.getString(path + ".cell-group", "");
-                String worldName = npcsConfig.getString(path + ".world", "world");
-                boolean requirePayment = npcsConfig.getBoolean(path + ".require-payment", true);
-                double cost = npcsConfig.getDouble(path + ".cost", 50.0);
-                
-                if (!cellGroupName.isEmpty()) {
-                    NPCConfig config = new NPCConfig(name, cellGroupName, worldName, requirePayment, cost);
-                    npcConfigs.put(npcId, config);
-                    
-                    // Ensure the NPC has our trait if it exists
-                    if (CitizensAPI.hasImplementation()) {
-                        NPC npc = CitizensAPI.getNPCRegistry().getById(npcId);
-                        if (npc != null && !npc.hasTrait(dev.lsdmc.edencells.npc.TeleportNPC.class)) {
-                            npc.addTrait(dev.lsdmc.edencells.npc.TeleportNPC.class);
-                        }
-                    }
-                }
-            } catch (NumberFormatException e) {
-                plugin.getLogger().warning("Invalid NPC ID in config: " + npcIdStr);
-            }
-        }
-        
-        plugin.getLogger().info("Loaded " + npcConfigs.size() + " teleport NPCs");
+        npcConfigs = Map.copyOf(loaded);
+        plugin.getLogger().info("Loaded " + loaded.size() + " teleport NPCs");
     }
     
     /**
-     * Save NPC configurations to file
+     * Ensure every configured NPC that exists has our trait (main thread)
      */
-    public void saveNPCs() {
-        // Clear existing data
-        npcsConfig.set("npcs", null);
-        
-        // Save all NPC configs
-        for (Map.Entry<Integer, NPCConfig> entry : npcConfigs.entrySet()) {
-            int npcId = entry.getKey();
-            NPCConfig config = entry.getValue();
-            String path = "npcs." + npcId;
-            
-            npcsConfig.set(path + ".name", config.name());
-            npcsConfig.set(path + ".cell-group", config.cellGroupName());
-            npcsConfig.set(path + ".world", config.worldName());
-            npcsConfig.set(path + ".require-payment", config.requirePayment());
-            npcsConfig.set(path + ".cost", config.cost());
+    public void attachTraits() {
+        if (!CitizensAPI.hasImplementation()) {
+            return;
         }
         
-        try {
-            npcsConfig.save(npcsFile);
-        } catch (IOException e) {
-            plugin.getLogger().severe("Could not save teleport-npcs.yml: " + e.getMessage());
+        for (int npcId : npcConfigs.keySet()) {
+            NPC npc = CitizensAPI.getNPCRegistry().getById(npcId);
+            if (npc != null && !npc.hasTrait(dev.lsdmc.edencells.npc.TeleportNPC.class)) {
+                npc.addTrait(dev.lsdmc.edencells.npc.TeleportNPC.class);
+            }
         }
     }
+    
+    /**
+     * Queue a save of NPC configurations; storage is written on a background thread
+     */
+    public void saveNPCs() {
+        saver.markDirty();
+    }
+    
+    /**
+     * Get all NPC configurations
+     * @return Immutable NPC ID -> configuration
+     */
+    public Map<Integer, NPCConfig> getNPCConfigs() {
+        return npcConfigs;
+    }
+    
+    /**
+     * Replace all NPC configurations with restored ones and queue a save (main thread)
+     * @param configs NPC ID -> configuration
+     */
+    public void restoreNPCs(Map<Integer, NPCConfig> configs) {
+        updateConfigs(updated -> {
+            updated.clear();
+            updated.putAll(configs);
+        });
+        attachTraits();
+    }
+    
+    /**
+     * Save NPC configurations now, on the calling thread
+     */
+    public void saveNPCsNow() {
+        saver.saveNow();
+    }
+    
+    /**
+     * Save pending changes and stop the background writer
+     */
+    public void shutdown() {
+        saver.shutdown();
+    }
+    
+    /**
+     * Apply a change to a copy of the NPC configs, publish it and queue a save
+     */
+    private synchronized void updateConfigs(Consumer<Map<Integer, NPCConfig>> change) {
+        Map<Integer, NPCConfig> updated = new HashMap<>(npcConfigs);
+        change.accept(updated);
+        npcConfigs = Map.copyOf(updated);
+        saver.markDirty();
+    }
 
     /**
      * Create a teleport NPC for a cell group
@@ -168,8 +180,9 @@ public final class TeleportNPCManager {
         npc.addTrait(dev.lsdmc.edencells.npc.TeleportNPC.class);
         
         // Add configuration for the NPC
-        boolean requirePayment = plugin.getConfig().getBoolean(Constants.Config.TELEPORT_REQUIRE_PAYMENT, true);
-        double cost = plugin.getConfig().getDouble(Constants.Config.TELEPORT_BASE_COST, 50.0);
+        EdenCellsSettings.Teleport settings = plugin.getSettings().teleport();
+        boolean requirePayment = settings.requirePayment();
+        double cost = settings.baseCost();
         
         // Check if group has custom teleport cost
         if (cellGroup.getTeleportCost() >= 0) {
@@ -184,8 +197,7 @@ public final class TeleportNPCManager {
             cost
         );
         
-        npcConfigs.put(npc.getId(), config);
-        saveNPCs(); // Save immediately
+        updateConfigs(configs -> configs.put(npc.getId(), config));
         
         return npc;
     }
@@ -218,8 +230,9 @@ public final class TeleportNPCManager {
         }
         
         // Create configuration
-        boolean requirePayment = plugin.getConfig().getBoolean(Constants.Config.TELEPORT_REQUIRE_PAYMENT, true);
-        double cost = plugin.getConfig().getDouble(Constants.Config.TELEPORT_BASE_COST, 50.0);
+        EdenCellsSettings.Teleport settings = plugin.getSettings().teleport();
+        boolean requirePayment = settings.requirePayment();
+        double cost = settings.baseCost();
         
         // Check if group has custom teleport cost
         if (cellGroup.getTeleportCost() >= 0) {
@@ -234,8 +247,7 @@ public final class TeleportNPCManager {
             cost
         );
         
-        npcConfigs.put(npcId, config);
-        saveNPCs(); // Save immediately
+        updateConfigs(configs -> configs.put(npcId, config));
         
         return true;
     }
@@ -253,8 +265,7 @@ public final class TeleportNPCManager {
         NPC npc = CitizensAPI.getNPCRegistry().getById(npcId);
         if (npc != null) {
             npc.destroy();
-            npcConfigs.remove(npcId);
-            saveNPCs(); // Save immediately
+            updateConfigs(configs -> configs.remove(npcId));
             return true;
         }
         
@@ -274,8 +285,7 @@ public final class TeleportNPCManager {
         NPC npc = CitizensAPI.getNPCRegistry().getById(npcId);
         if (npc != null && npc.hasTrait(dev.lsdmc.edencells.npc.TeleportNPC.class)) {
             npc.removeTrait(dev.lsdmc.edencells.npc.TeleportNPC.class);
-            npcConfigs.remove(npcId);
-            saveNPCs(); // Save immediately
+            updateConfigs(configs -> configs.remove(npcId));
             return true;
         }
         
@@ -403,11 +413,11 @@ public final class TeleportNPCManager {
      */
     private double getTeleportCostForGroup(CellGroup cellGroup) {
         if (cellGroup == null) {
-            return plugin.getConfig().getDouble("teleportation.base-cost", 50.0);
+            return plugin.getSettings().teleport().baseCost();
         }
         
         double groupCost = cellGroup.getTeleportCost();
-        return groupCost >= 0 ? groupCost : plugin.getConfig().getDouble("teleportation.base-cost", 50.0);
+        return groupCost >= 0 ? groupCost : plugin.getSettings().teleport().baseCost();
     }
     
     /**
@@ -423,23 +433,24 @@ public final class TeleportNPCManager {
         }
         
         // Check if player has bypass permission
-        if (player.hasPermission(Constants.Permissions.BYPASS_PAYMENT)) {
+        PermissionCache permissions = plugin.getPermissionCache();
+        if (permissions.has(player, Constants.Permissions.BYPASS_PAYMENT)) {
             return false;
         }
         
         // Check configurable free teleportation groups
-        List<String> freeGroups = plugin.getConfig().getStringList("teleportation.free-groups");
-        for (String group : freeGroups) {
+        EdenCellsSettings.Teleport settings = plugin.getSettings().teleport();
+        for (String group : settings.freeGroups()) {
             // Support both "group.groupname" and "edencells.group.groupname" formats
-            if (player.hasPermission("group." + group) || 
-                player.hasPermission("edencells.group." + group) ||
-                player.hasPermission(group)) {
+            if (permissions.has(player, "group." + group) || 
+                permissions.has(player, Constants.Permissions.GROUP_PREFIX + group) ||
+                permissions.has(player, group)) {
                 return false;
             }
         }
         
         // Check if teleportation payment is required globally
-        return plugin.getConfig().getBoolean("teleportation.require-payment", true);
+        return settings.requirePayment();
     }
     
     /**
@@ -465,8 +476,9 @@ public final class TeleportNPCManager {
                 cell.getRegion().getId() + ": " + e.getMessage());
                 
             // Refund if payment was taken
-            double teleportCost = plugin.getConfig().getDouble(Constants.Config.TELEPORT_BASE_COST, 50.0);
-            boolean requirePayment = plugin.getConfig().getBoolean(Constants.Config.TELEPORT_REQUIRE_PAYMENT, true);
+            EdenCellsSettings.Teleport settings = plugin.getSettings().teleport();
+            double teleportCost = settings.baseCost();
+            boolean requirePayment = settings.requirePayment();
             
             if (requirePayment && economy != null) {
                 economy.depositPlayer(player, teleportCost);
@@ -1,11 +1,16 @@
 package dev.lsdmc.edencells.models;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Objects;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.regex.Pattern;
 
 /**
@@ -20,6 +25,9 @@ public final class CellGroup {
     private static final int MAX_DISPLAY_NAME_LENGTH = 64;
     private static final int MAX_REGIONS = 10000; // Prevent memory exhaustion
     
+    // Source of region-set revisions, unique across all groups
+    private static final AtomicLong REVISIONS = new AtomicLong();
+    
     // Immutable core fields
     private final String name;
     private final String displayName;
@@ -31,6 +39,13 @@ public final class CellGroup {
     // Cached computed values for performance
     private volatile int cachedSize = -1;
     private volatile long lastModified = System.currentTimeMillis();
+    private volatile long revision = REVISIONS.incrementAndGet();
+    
+    // Set on any change, cleared when the manager snapshots this group for saving
+    private final AtomicBoolean dirty = new AtomicBoolean(true);
+    
+    // Manager notified of membership changes, set while the group is registered
+    private volatile CellGroupManager manager;
     
     // Default values
     private static final int DEFAULT_CELL_LIMIT = -1; // No limit
@@ -144,6 +159,8 @@ public final class CellGroup {
     private void invalidateCache() {
         cachedSize = -1;
         lastModified = System.currentTimeMillis();
+        dirty.set(true);
+        revision = REVISIONS.incrementAndGet();
     }
     
     /**
@@ -191,10 +208,47 @@ public final class CellGroup {
         boolean added = regions.add(trimmed);
         if (added) {
             invalidateCache();
+            CellGroupManager current = manager;
+            if (current != null) {
+                current.onRegionAdded(this, trimmed);
+            }
         }
         return added;
     }
     
+    /**
+     * Add several regions in one batch
+     * @param regionIds The region IDs
+     * @return Number of regions added (invalid and existing IDs are skipped)
+     * @throws IllegalStateException if the batch would exceed the region limit
+     */
+    public int addRegions(Collection<String> regionIds) {
+        List<String> added = new ArrayList<>();
+        
+        synchronized (regions) {
+            if (regions.size() + regionIds.size() > MAX_REGIONS) {
+                throw new IllegalStateException("Too many regions in group (max " + MAX_REGIONS + ")");
+            }
+            
+            for (String regionId : regionIds) {
+                if (validateRegionId(regionId) && regions.add(regionId.trim())) {
+                    added.add(regionId.trim());
+                }
+            }
+        }
+        
+        if (!added.isEmpty()) {
+            invalidateCache();
+            CellGroupManager current = manager;
+            if (current != null) {
+                for (String regionId : added) {
+                    current.onRegionAdded(this, regionId);
+                }
+            }
+        }
+        return added.size();
+    }
+    
     /**
      * Remove a region from this group
      * @param regionId The region ID
@@ -205,9 +259,14 @@ public final class CellGroup {
             return false;
         }
         
-        boolean removed = regions.remove(regionId.trim());
+        String trimmed = regionId.trim();
+        boolean removed = regions.remove(trimmed);
         if (removed) {
             invalidateCache();
+            CellGroupManager current = manager;
+            if (current != null) {
+                current.onRegionRemoved(this, trimmed);
+            }
         }
         return removed;
     }
@@ -260,6 +319,7 @@ public final class CellGroup {
         
         options.put("cellLimit", limit);
         lastModified = System.currentTimeMillis();
+        dirty.set(true);
     }
     
     /**
@@ -286,6 +346,7 @@ public final class CellGroup {
         
         options.put("teleportCost", cost);
         lastModified = System.currentTimeMillis();
+        dirty.set(true);
     }
     
     /**
@@ -304,6 +365,7 @@ public final class CellGroup {
     public void setDonorGroup(boolean isDonor) {
         options.put("isDonor", isDonor);
         lastModified = System.currentTimeMillis();
+        dirty.set(true);
     }
     
     /**
@@ -331,6 +393,7 @@ public final class CellGroup {
             options.put("permission", trimmed);
         }
         lastModified = System.currentTimeMillis();
+        dirty.set(true);
     }
     
     /**
@@ -372,6 +435,7 @@ public final class CellGroup {
             options.put(trimmedKey, value);
         }
         lastModified = System.currentTimeMillis();
+        dirty.set(true);
     }
     
     /**
@@ -382,6 +446,14 @@ public final class CellGroup {
         return lastModified;
     }
     
+    /**
+     * Get the revision of this group's region set (changes whenever regions are added or removed)
+     * @return Revision number
+     */
+    public long getRevision() {
+        return revision;
+    }
+    
     /**
      * Check if this group is empty (no regions)
      * @return true if empty
@@ -394,8 +466,43 @@ public final class CellGroup {
      * Clear all regions (for admin operations)
      */
     public void clearRegions() {
-        regions.clear();
+        List<String> removed;
+        synchronized (regions) {
+            removed = new ArrayList<>(regions);
+            regions.clear();
+        }
         invalidateCache();
+        
+        CellGroupManager current = manager;
+        if (current != null) {
+            for (String regionId : removed) {
+                current.onRegionRemoved(this, regionId);
+            }
+        }
+    }
+    
+    /**
+     * Clear the unsaved-changes flag
+     * @return true if the group had changed since the last call
+     */
+    boolean clearDirty() {
+        return dirty.getAndSet(false);
+    }
+    
+    /**
+     * Check the unsaved-changes flag without clearing it
+     * @return true if the group changed since the last save
+     */
+    boolean isDirty() {
+        return dirty.get();
+    }
+    
+    /**
+     * Attach this group to a manager for membership notifications (null to detach)
+     * @param manager The manager
+     */
+    void attach(CellGroupManager manager) {
+        this.manager = manager;
     }
     
     @Override
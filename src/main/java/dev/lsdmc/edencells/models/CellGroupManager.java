@@ -1,17 +1,19 @@
 package dev.lsdmc.edencells.models;
 
 import dev.lsdmc.edencells.EdenCells;
-import net.alex9849.arm.AdvancedRegionMarket;
-import net.alex9849.arm.regions.Region;
-import org.bukkit.configuration.ConfigurationSection;
-import org.bukkit.configuration.file.FileConfiguration;
-import org.bukkit.configuration.file.YamlConfiguration;
+import dev.lsdmc.edencells.managers.OwnershipIndex;
+import dev.lsdmc.edencells.security.PermissionCache;
+import dev.lsdmc.edencells.storage.GroupData;
+import dev.lsdmc.edencells.storage.GroupRecord;
+import dev.lsdmc.edencells.storage.GroupRepository;
+import dev.lsdmc.edencells.utils.WriteBehindSaver;
 import org.bukkit.entity.Player;
 
-import java.io.File;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
@@ -19,195 +21,221 @@ import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Collectors;
 
 /**
  * Manages cell groups with limits and configuration
- * Uses separate cell-groups.yml file for better organization
+ * Stored through the configured storage backend (cell-groups.yml by default)
  */
 public final class CellGroupManager {
     
     private final EdenCells plugin;
     private final ConcurrentMap<String, CellGroup> groups = new ConcurrentHashMap<>();
+    
+    // Region ID -> group containing it, kept in sync by CellGroup membership changes
+    private final ConcurrentMap<String, CellGroup> groupByRegion = new ConcurrentHashMap<>();
+    
+    // Bumped whenever groups are created, deleted or reloaded
+    private final AtomicLong groupsVersion = new AtomicLong();
     private int globalCellLimit = -1; // No limit by default
     
-    private File groupsFile;
-    private FileConfiguration groupsConfig;
+    private final GroupRepository repository;
+    
+    // Group name -> last saved state, reused while the group is unchanged
+    private final Map<String, GroupRecord> savedGroups = new HashMap<>();
+    
+    // Names of groups re-copied since the last write; guarded by savedGroups
+    private final Set<String> unsavedGroups = new HashSet<>();
+    private volatile GroupData pendingSave;
+    private final WriteBehindSaver saver;
     
     public CellGroupManager(EdenCells plugin) {
         this.plugin = plugin;
-        initializeGroupsFile();
-        loadGroups();
+        this.repository = plugin.getStorage().groups();
+        this.saver = new WriteBehindSaver(plugin, "cell-groups", this::writeGroups);
     }
     
     /**
-     * Initialize the cell-groups.yml file
-     */
-    private void initializeGroupsFile() {
-        groupsFile = new File(plugin.getDataFolder(), "cell-groups.yml");
-        
-        // Create the file if it doesn't exist
-        if (!groupsFile.exists()) {
-            plugin.saveResource("cell-groups.yml", false);
+     * Load groups from storage
+     */  
+    public void loadGroups() {
+        try {
+            applyGroups(repository.load(), true);
+        } catch (Exception e) {
+            plugin.getLogger().severe("Failed to load cell groups: " + e.getMessage());
+            e.printStackTrace();
         }
-        
-        groupsConfig = YamlConfiguration.loadConfiguration(groupsFile);
-        
-        // Migrate from config.yml if needed
-        migrateFromMainConfig();
     }
     
     /**
-     * Migrate cell groups from main config.yml to cell-groups.yml if they exist there
+     * Replace all groups with restored data and queue a save of every group
+     * @param data The restored groups
      */
-    private void migrateFromMainConfig() {
-        ConfigurationSection mainConfigGroups = plugin.getConfig().getConfigurationSection("cell-groups");
-        
-        if (mainConfigGroups != null && !mainConfigGroups.getKeys(false).isEmpty()) {
-            plugin.getLogger().info("Migrating cell groups from config.yml to cell-groups.yml...");
-            
-            // Copy the entire cell-groups section
-            groupsConfig.set("groups", mainConfigGroups);
-            
-            // Copy global limits
-            int globalLimit = plugin.getConfig().getInt("cell-limits.global", -1);
-            groupsConfig.set("limits.global", globalLimit);
-            
-            // Set version
-            groupsConfig.set("version", 1);
-            
-            // Save the new file
-            saveGroups();
-            
-            // Remove from main config
-            plugin.getConfig().set("cell-groups", null);
-            plugin.getConfig().set("cell-limits", null);
-            plugin.saveConfig();
-            
-            plugin.getLogger().info("Migration completed! Cell groups moved to cell-groups.yml");
+    public void restoreGroups(GroupData data) {
+        applyGroups(data, false);
+        saveGroups();
+    }
+    
+    /**
+     * Copy all groups for a backup without touching save state
+     * @return The groups
+     */
+    public GroupData snapshotGroups() {
+        synchronized (savedGroups) {
+            Map<String, GroupRecord> snapshot = new LinkedHashMap<>();
+            for (CellGroup group : groups.values()) {
+                GroupRecord saved = savedGroups.get(group.getName());
+                snapshot.put(group.getName(), saved != null && !group.isDirty() ? saved : toRecord(group));
+            }
+            return new GroupData(globalCellLimit, snapshot);
         }
     }
     
     /**
-     * Load groups from cell-groups.yml
-     */  
-    public void loadGroups() {
+     * Replace all groups
+     * @param data The groups
+     * @param stored true if the data came from storage, so unchanged groups needn't be saved again
+     */
+    private void applyGroups(GroupData data, boolean stored) {
+        for (CellGroup group : groups.values()) {
+            group.attach(null);
+        }
         groups.clear();
+        groupByRegion.clear();
+        groupsVersion.incrementAndGet();
+        synchronized (savedGroups) {
+            savedGroups.clear();
+            unsavedGroups.clear();
+        }
         
-        try {
-            // Reload configuration
-            groupsConfig = YamlConfiguration.loadConfiguration(groupsFile);
-            
-            // Load global cell limit
-            globalCellLimit = groupsConfig.getInt("limits.global", -1);
-            
-            ConfigurationSection groupsSection = groupsConfig.getConfigurationSection("groups");
-            
-            if (groupsSection != null) {
-                for (String groupName : groupsSection.getKeys(false)) {
-                    try {
-                        ConfigurationSection groupSection = groupsSection.getConfigurationSection(groupName);
-                        if (groupSection == null) continue;
-                        
-                        // Get display name
-                        String displayName = groupSection.getString("display-name", groupName);
-                        
-                        // Get regions as Set
-                        List<String> regionsList = groupSection.getStringList("regions");
-                        Set<String> regions = new LinkedHashSet<>(regionsList);
-                        
-                        // Get options
-                        ConcurrentMap<String, Object> options = new ConcurrentHashMap<>();
-                        
-                        // Cell limit
-                        if (groupSection.contains("cell-limit")) {
-                            options.put("cellLimit", groupSection.getInt("cell-limit", -1));
-                        }
-                        
-                        // Teleport cost
-                        if (groupSection.contains("teleport-cost")) {
-                            options.put("teleportCost", groupSection.getDouble("teleport-cost", -1));
-                        }
-                        
-                        // Is donor group
-                        if (groupSection.contains("is-donor")) {
-                            options.put("isDonor", groupSection.getBoolean("is-donor", false));
-                        }
-                        
-                        // Required permission  
-                        if (groupSection.contains("permission")) {
-                            options.put("permission", groupSection.getString("permission"));
-                        }
-                        
-                        // Create group using package-private constructor
-                        CellGroup group = new CellGroup(groupName, displayName, regions, options);
-                        groups.put(groupName, group);
-                        
-                    } catch (Exception e) {
-                        plugin.getLogger().warning("Failed to load cell group '" + groupName + "': " + e.getMessage());
+        // Load global cell limit
+        globalCellLimit = data.globalLimit();
+        int conflicts = 0;
+        
+        for (Map.Entry<String, GroupRecord> entry : data.groups().entrySet()) {
+            String groupName = entry.getKey();
+            GroupRecord saved = entry.getValue();
+            try {
+                // Get options
+                ConcurrentMap<String, Object> options = new ConcurrentHashMap<>();
+                if (saved.cellLimit() != -1) {
+                    options.put("cellLimit", saved.cellLimit());
+                }
+                if (saved.teleportCost() != -1) {
+                    options.put("teleportCost", saved.teleportCost());
+                }
+                if (saved.donor()) {
+                    options.put("isDonor", true);
+                }
+                if (saved.permission() != null) {
+                    options.put("permission", saved.permission());
+                }
+                
+                // Create group using package-private constructor
+                CellGroup group = new CellGroup(groupName, saved.displayName(),
+                    new LinkedHashSet<>(saved.regions()), options);
+                groups.put(groupName, group);
+                conflicts += indexGroup(group);
+                
+                if (stored) {
+                    // Storage already matches, so the first save can skip this group
+                    group.clearDirty();
+                    synchronized (savedGroups) {
+                        savedGroups.put(groupName, toRecord(group));
                     }
                 }
+                
+            } catch (Exception e) {
+                plugin.getLogger().warning("Failed to load cell group '" + groupName + "': " + e.getMessage());
             }
-            
-            plugin.getLogger().info("Loaded " + groups.size() + " cell groups from cell-groups.yml");
-            
-        } catch (Exception e) {
-            plugin.getLogger().severe("Failed to load cell groups: " + e.getMessage());
-            e.printStackTrace();
+        }
+        
+        groupsVersion.incrementAndGet();
+        plugin.getLogger().info("Loaded " + groups.size() + " cell groups");
+        
+        if (conflicts > 0) {
+            plugin.getLogger().warning(conflicts + " region(s) belong to more than one cell group; " +
+                "each resolves to the group listed first");
         }
     }
     
     /**
-     * Save groups to cell-groups.yml
+     * Queue a save of all groups. Only groups changed since the last save are
+     * re-copied and handed to storage as changed; the write happens on a background
+     * thread and saves made within the save delay collapse into one write.
      */
-    public synchronized void saveGroups() {
-        try {
-            // Save global limit
-            groupsConfig.set("limits.global", globalCellLimit);
-            
-            // Clear existing groups section
-            groupsConfig.set("groups", null);
+    public void saveGroups() {
+        captureSnapshot();
+        saver.markDirty();
+    }
+    
+    /**
+     * Save groups now, on the calling thread
+     */
+    public void saveGroupsNow() {
+        captureSnapshot();
+        saver.saveNow();
+    }
+    
+    /**
+     * Save pending changes and stop the background writer
+     */
+    public void shutdown() {
+        captureSnapshot();
+        saver.markDirty();
+        saver.shutdown();
+    }
+    
+    /**
+     * Take an immutable copy of all groups for the writer thread
+     */
+    private void captureSnapshot() {
+        synchronized (savedGroups) {
+            savedGroups.keySet().retainAll(groups.keySet());
             
-            // Save all groups
-            for (Map.Entry<String, CellGroup> entry : groups.entrySet()) {
-                String groupName = entry.getKey();
-                CellGroup group = entry.getValue();
-                
-                String path = "groups." + groupName;
-                groupsConfig.set(path + ".display-name", group.getDisplayName());
-                
-                // Convert Set back to List for YAML
-                groupsConfig.set(path + ".regions", group.getRegions().stream().collect(Collectors.toList()));
-                
-                // Save options only if they differ from defaults
-                if (group.getCellLimit() != -1) {
-                    groupsConfig.set(path + ".cell-limit", group.getCellLimit());
-                }
-                if (group.getTeleportCost() != -1) {
-                    groupsConfig.set(path + ".teleport-cost", group.getTeleportCost());
-                }
-                if (group.isDonorGroup()) {
-                    groupsConfig.set(path + ".is-donor", true);
-                }
-                if (group.getRequiredPermission() != null) {
-                    groupsConfig.set(path + ".permission", group.getRequiredPermission());
+            Map<String, GroupRecord> snapshot = new LinkedHashMap<>();
+            for (CellGroup group : groups.values()) {
+                GroupRecord saved = savedGroups.get(group.getName());
+                if (group.clearDirty() || saved == null) {
+                    saved = toRecord(group);
+                    savedGroups.put(group.getName(), saved);
+                    unsavedGroups.add(group.getName());
                 }
+                snapshot.put(group.getName(), saved);
             }
             
-            // Set file version
-            groupsConfig.set("version", 1);
-            
-            // Save to file
-            groupsConfig.save(groupsFile);
-            
-            plugin.debug("Saved " + groups.size() + " cell groups to cell-groups.yml");
-            
+            pendingSave = new GroupData(globalCellLimit, snapshot);
+        }
+    }
+    
+    private void writeGroups() throws IOException {
+        GroupData snapshot;
+        Set<String> changed;
+        synchronized (savedGroups) {
+            snapshot = pendingSave;
+            if (snapshot == null) {
+                return;
+            }
+            changed = new HashSet<>(unsavedGroups);
+            unsavedGroups.clear();
+        }
+        
+        try {
+            repository.save(snapshot, changed);
         } catch (IOException e) {
-            plugin.getLogger().severe("Failed to save cell groups: " + e.getMessage());
-            e.printStackTrace();
+            synchronized (savedGroups) {
+                unsavedGroups.addAll(changed);
+            }
+            throw e;
         }
     }
     
+    private static GroupRecord toRecord(CellGroup group) {
+        return new GroupRecord(group.getDisplayName(), List.copyOf(group.getRegions()),
+            group.getCellLimit(), group.getTeleportCost(), group.isDonorGroup(), group.getRequiredPermission());
+    }
+    
     /**
      * Reload groups from file
      */
@@ -232,13 +260,67 @@ public final class CellGroupManager {
     public CellGroup getGroupByRegion(String regionId) {
         if (regionId == null) return null;
         
-        String trimmed = regionId.trim();
-        for (CellGroup group : groups.values()) {
-            if (group.containsRegion(trimmed)) {
-                return group;
+        return groupByRegion.get(regionId.trim());
+    }
+    
+    /**
+     * Register a freshly loaded group's regions in the region index
+     * @param group The group
+     * @return Number of regions already claimed by another group
+     */
+    private int indexGroup(CellGroup group) {
+        group.attach(this);
+        
+        int conflicts = 0;
+        for (String regionId : group.getRegions()) {
+            CellGroup existing = groupByRegion.putIfAbsent(regionId, group);
+            if (existing != null && existing != group) {
+                conflicts++;
+                plugin.getLogger().warning("Region '" + regionId + "' is in both '" + existing.getName() +
+                    "' and '" + group.getName() + "'; using '" + existing.getName() + "'");
+            }
+        }
+        return conflicts;
+    }
+    
+    /**
+     * Called by a registered group after a region was added to it
+     * @param group The group
+     * @param regionId The region ID
+     */
+    void onRegionAdded(CellGroup group, String regionId) {
+        CellGroup existing = groupByRegion.putIfAbsent(regionId, group);
+        if (existing != null && existing != group) {
+            plugin.debug("Region '" + regionId + "' added to '" + group.getName() +
+                "' but already resolves to group '" + existing.getName() + "'");
+        }
+    }
+    
+    /**
+     * Called by a registered group after a region was removed from it
+     * @param group The group
+     * @param regionId The region ID
+     */
+    void onRegionRemoved(CellGroup group, String regionId) {
+        if (!groupByRegion.remove(regionId, group)) {
+            return;
+        }
+        
+        // Hand the region to another group that still lists it
+        for (CellGroup other : groups.values()) {
+            if (other != group && other.containsRegion(regionId)) {
+                groupByRegion.putIfAbsent(regionId, other);
+                break;
             }
         }
-        return null;
+    }
+    
+    /**
+     * Get the groups version, which changes whenever groups are created, deleted or reloaded
+     * @return Version number
+     */
+    public long getGroupsVersion() {
+        return groupsVersion.get();
     }
     
     /**
@@ -268,6 +350,8 @@ public final class CellGroupManager {
         try {
             CellGroup group = new CellGroup(trimmed);
             groups.put(trimmed, group);
+            group.attach(this);
+            groupsVersion.incrementAndGet();
             return group;
         } catch (IllegalArgumentException e) {
             throw e; // Re-throw validation errors
@@ -283,7 +367,16 @@ public final class CellGroupManager {
         if (name == null) return false;
         
         CellGroup removed = groups.remove(name.trim());
-        return removed != null;
+        if (removed == null) {
+            return false;
+        }
+        
+        removed.attach(null);
+        groupsVersion.incrementAndGet();
+        for (String regionId : removed.getRegions()) {
+            onRegionRemoved(removed, regionId);
+        }
+        return true;
     }
     
     /**
@@ -299,7 +392,7 @@ public final class CellGroupManager {
         
         // Check permission
         String permission = group.getRequiredPermission();
-        if (permission != null && !player.hasPermission(permission)) {
+        if (permission != null && !plugin.getPermissionCache().has(player, permission)) {
             return false;
         }
         
@@ -334,13 +427,10 @@ public final class CellGroupManager {
             return 0;
         }
         
-        AdvancedRegionMarket arm = AdvancedRegionMarket.getInstance();
-        if (arm == null) return 0;
+        OwnershipIndex ownershipIndex = plugin.getOwnershipIndex();
+        if (ownershipIndex == null) return 0;
         
-        return (int) arm.getRegionManager().getRegionsByOwner(playerUuid)
-            .stream()
-            .filter(region -> group.containsRegion(region.getRegion().getId()))
-            .count();
+        return ownershipIndex.getCellCount(playerUuid, group);
     }
     
     /**
@@ -351,10 +441,10 @@ public final class CellGroupManager {
     public int getPlayerTotalCellCount(UUID playerUuid) {
         if (playerUuid == null) return 0;
         
-        AdvancedRegionMarket arm = AdvancedRegionMarket.getInstance();
-        if (arm == null) return 0;
+        OwnershipIndex ownershipIndex = plugin.getOwnershipIndex();
+        if (ownershipIndex == null) return 0;
         
-        return arm.getRegionManager().getRegionsByOwner(playerUuid).size();
+        return ownershipIndex.getCellCount(playerUuid);
     }
     
     /**
@@ -367,10 +457,11 @@ public final class CellGroupManager {
             return List.of();
         }
         
+        PermissionCache permissions = plugin.getPermissionCache();
         return groups.values().stream()
             .filter(group -> {
                 String permission = group.getRequiredPermission();
-                return permission == null || player.hasPermission(permission);
+                return permission == null || permissions.has(player, permission);
             })
             .collect(Collectors.toList());
     }
@@ -440,22 +531,6 @@ public final class CellGroupManager {
         return info;
     }
     
-    /**
-     * Get the cell-groups.yml file
-     * @return The file
-     */
-    public File getGroupsFile() {
-        return groupsFile;
-    }
-    
-    /**
-     * Get the groups configuration
-     * @return The configuration
-     */
-    public FileConfiguration getGroupsConfig() {
-        return groupsConfig;
-    }
-    
     /**
      * Check if a group name is valid
      * @param name The name to check
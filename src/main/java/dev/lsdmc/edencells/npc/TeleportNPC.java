@@ -34,6 +34,10 @@ public class TeleportNPC extends Trait {
         var player = event.getClicker();
         var npcId = event.getNPC().getId();
         
+        if (plugin != null && plugin.rejectWhileLoading(player)) {
+            return;
+        }
+        
         // Delegate to manager - right-click for normal teleportation
         if (plugin != null && plugin.getTeleportNPCManager() != null) {
             plugin.getTeleportNPCManager().handleTeleport(player, npcId, false);
@@ -49,6 +53,10 @@ public class TeleportNPC extends Trait {
         var player = event.getClicker();
         var npcId = event.getNPC().getId();
         
+        if (plugin != null && plugin.rejectWhileLoading(player)) {
+            return;
+        }
+        
         // Delegate to manager - left-click for donor cell access
         if (plugin != null && plugin.getTeleportNPCManager() != null) {
             plugin.getTeleportNPCManager().handleTeleport(player, npcId, true);
@@ -0,0 +1,215 @@
+package dev.lsdmc.edencells.security;
+
+import dev.lsdmc.edencells.EdenCells;
+import dev.lsdmc.edencells.storage.AuditRecord;
+import dev.lsdmc.edencells.utils.Constants;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Single-writer pipeline for the audit trail.
+ * <p>
+ * {@link #submit(AuditRecord)} only puts the record on a bounded queue, so it is safe to
+ * call from the main thread for every event. One daemon thread drains the queue and hands
+ * the storage backend a batch once {@code batch-size} records are waiting or
+ * {@code flush-interval-ms} has passed since the first one arrived. When the queue is full
+ * the overflow policy either drops the record or blocks the caller for up to
+ * {@code block-timeout-ms} before dropping it.
+ */
+public final class AuditWriter {
+
+    /**
+     * What to do with a record when the queue is full
+     */
+    public enum OverflowPolicy {
+        DROP,
+        BLOCK
+    }
+
+    // Don't repeat the dropped-records warning more often than this
+    private static final long DROP_WARNING_INTERVAL_MILLIS = 60_000L;
+
+    private final EdenCells plugin;
+    private final BlockingQueue<AuditRecord> queue;
+    private final int batchSize;
+    private final long flushIntervalMillis;
+    private final OverflowPolicy policy;
+    private final long blockTimeoutMillis;
+    private final Thread thread;
+
+    private final AtomicLong dropped = new AtomicLong();
+    private final AtomicLong written = new AtomicLong();
+    private long reportedDrops;     // writer thread only
+    private long lastDropWarning;   // writer thread only
+    private volatile boolean running = true;
+
+    /**
+     * Create the writer and start its thread
+     * @param plugin Plugin instance
+     */
+    public AuditWriter(EdenCells plugin) {
+        this.plugin = plugin;
+        this.queue = new ArrayBlockingQueue<>(Math.max(16,
+            plugin.getConfig().getInt(Constants.Config.AUDIT_QUEUE_CAPACITY, 10_000)));
+        this.batchSize = Math.max(1, plugin.getConfig().getInt(Constants.Config.AUDIT_BATCH_SIZE, 256));
+        this.flushIntervalMillis = Math.max(10L, plugin.getConfig().getLong(Constants.Config.AUDIT_FLUSH_INTERVAL_MS, 1000L));
+        this.policy = parsePolicy(plugin.getConfig().getString(Constants.Config.AUDIT_OVERFLOW_POLICY, "drop"));
+        this.blockTimeoutMillis = Math.max(0L, plugin.getConfig().getLong(Constants.Config.AUDIT_BLOCK_TIMEOUT_MS, 250L));
+
+        this.thread = new Thread(this::run, "EdenCells-audit-writer");
+        this.thread.setDaemon(true);
+        this.thread.start();
+    }
+
+    /**
+     * Queue a record for writing
+     * @param record The record
+     * @return false if the record was dropped because the queue is full or the writer stopped
+     */
+    public boolean submit(AuditRecord record) {
+        if (!running) {
+            dropped.incrementAndGet();
+            return false;
+        }
+
+        boolean accepted = queue.offer(record);
+        if (!accepted && policy == OverflowPolicy.BLOCK && blockTimeoutMillis > 0) {
+            try {
+                accepted = queue.offer(record, blockTimeoutMillis, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        if (!accepted) {
+            dropped.incrementAndGet();
+        }
+        return accepted;
+    }
+
+    /**
+     * Get the number of records waiting to be written
+     * @return Queue size
+     */
+    public int getPending() {
+        return queue.size();
+    }
+
+    /**
+     * Get the number of records dropped since startup
+     * @return Dropped count
+     */
+    public long getDropped() {
+        return dropped.get();
+    }
+
+    /**
+     * Get the number of records written since startup
+     * @return Written count
+     */
+    public long getWritten() {
+        return written.get();
+    }
+
+    /**
+     * Stop accepting records, write everything still queued and stop the thread
+     */
+    public void shutdown() {
+        // No interrupt: it would close the file channel mid-write. Every poll is bounded
+        // by the flush interval, so the thread notices within one interval.
+        running = false;
+        try {
+            thread.join(flushIntervalMillis + TimeUnit.SECONDS.toMillis(5));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        if (thread.isAlive()) {
+            plugin.getLogger().warning("Audit writer did not stop in time, " + queue.size() + " entries were not written");
+        }
+    }
+
+    private void run() {
+        List<AuditRecord> batch = new ArrayList<>(batchSize);
+
+        while (running) {
+            try {
+                AuditRecord first = queue.poll(flushIntervalMillis, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+
+                // Give the batch until the flush deadline to fill up
+                long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(flushIntervalMillis);
+                while (batch.size() < batchSize) {
+                    if (queue.drainTo(batch, batchSize - batch.size()) > 0) {
+                        continue;
+                    }
+                    long remaining = deadline - System.nanoTime();
+                    AuditRecord next = remaining > 0 ? queue.poll(remaining, TimeUnit.NANOSECONDS) : null;
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+            } catch (InterruptedException e) {
+                // Not expected; write what we have and keep going until shut down
+            }
+
+            write(batch);
+        }
+
+        // Final drain once no more records are accepted
+        while (queue.drainTo(batch, batchSize) > 0) {
+            write(batch);
+        }
+        write(batch);
+    }
+
+    private void write(List<AuditRecord> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        try {
+            plugin.getStorage().audit().append(batch);
+            written.addAndGet(batch.size());
+        } catch (IOException e) {
+            plugin.getLogger().warning("Failed to write audit log: " + e.getMessage());
+        } catch (Exception e) {
+            plugin.getLogger().severe("Unexpected error in audit logging: " + e.getMessage());
+        } finally {
+            batch.clear();
+        }
+
+        reportDrops();
+    }
+
+    private void reportDrops() {
+        long total = dropped.get();
+        long now = System.currentTimeMillis();
+        if (total > reportedDrops && now - lastDropWarning >= DROP_WARNING_INTERVAL_MILLIS) {
+            plugin.getLogger().warning("Audit queue was full, dropped " + (total - reportedDrops)
+                + " entries (raise security.audit.queue.capacity or use the block policy)");
+            reportedDrops = total;
+            lastDropWarning = now;
+        }
+    }
+
+    private OverflowPolicy parsePolicy(String value) {
+        try {
+            return OverflowPolicy.valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException | NullPointerException e) {
+            plugin.getLogger().warning("Unknown security.audit.queue.overflow-policy '" + value + "', using drop");
+            return OverflowPolicy.DROP;
+        }
+    }
+}
@@ -0,0 +1,207 @@
+package dev.lsdmc.edencells.security;
+
+import dev.lsdmc.edencells.EdenCells;
+import dev.lsdmc.edencells.models.CellGroup;
+import dev.lsdmc.edencells.models.CellGroupManager;
+import dev.lsdmc.edencells.utils.Constants;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.HandlerList;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerChangedWorldEvent;
+import org.bukkit.event.player.PlayerJoinEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Per-player snapshot of the EdenCells permission nodes checked on hot paths.
+ * <p>
+ * Permission plugins resolve every {@code hasPermission} call against their own data, so a
+ * single click that checks several bypass nodes pays for several lookups. Here each online
+ * player gets a snapshot of the bypass, free-teleport and group nodes when they join; other
+ * nodes are looked up once and remembered. Snapshots are rebuilt on world change, on reload
+ * and every {@code refresh-seconds}, since permission plugins don't tell Bukkit when a
+ * player's permissions change.
+ */
+public final class PermissionCache implements Listener {
+
+    // Nodes every snapshot starts with; free-teleport and group nodes are added from config
+    private static final Set<String> BASE_NODES = Set.of(
+        Constants.Permissions.BYPASS,
+        Constants.Permissions.BYPASS_COOLDOWN,
+        Constants.Permissions.BYPASS_PAYMENT,
+        Constants.Permissions.BYPASS_RATE_LIMIT,
+        Constants.Permissions.BYPASS_RATE_LIMIT_PURCHASE,
+        Constants.Permissions.BYPASS_RATE_LIMIT_MEMBER,
+        Constants.Permissions.BYPASS_RATE_LIMIT_DOOR,
+        Constants.Permissions.BYPASS_RATE_LIMIT_GUI,
+        Constants.Permissions.BYPASS_RATE_LIMIT_NPC);
+
+    private final EdenCells plugin;
+    private final Map<UUID, Snapshot> snapshots = new ConcurrentHashMap<>();
+    private volatile Set<String> trackedNodes = BASE_NODES;
+    private BukkitTask refreshTask;
+
+    public PermissionCache(EdenCells plugin) {
+        this.plugin = plugin;
+    }
+
+    /**
+     * Snapshot online players and start the periodic refresh (main thread)
+     */
+    public void start() {
+        stop();
+        plugin.getServer().getPluginManager().registerEvents(this, plugin);
+        refreshAll();
+
+        long intervalTicks = Math.max(0, plugin.getConfig().getInt(Constants.Config.PERMISSION_CACHE_REFRESH, 30)) * 20L;
+        if (intervalTicks > 0) {
+            refreshTask = plugin.getServer().getScheduler().runTaskTimer(plugin, this::refreshAll, intervalTicks, intervalTicks);
+        }
+    }
+
+    /**
+     * Stop the periodic refresh and drop all snapshots
+     */
+    public void stop() {
+        HandlerList.unregisterAll(this);
+        if (refreshTask != null) {
+            refreshTask.cancel();
+            refreshTask = null;
+        }
+        snapshots.clear();
+    }
+
+    /**
+     * Check a permission against the player's snapshot
+     * @param player The player
+     * @param node The permission node
+     * @return true if the player had the permission when last refreshed
+     */
+    public boolean has(Player player, String node) {
+        if (player == null || node == null) {
+            return false;
+        }
+
+        Snapshot snapshot = snapshots.get(player.getUniqueId());
+        if (snapshot == null) {
+            // Checked before the join handler ran, or after quit
+            return player.hasPermission(node);
+        }
+        return snapshot.has(player, node);
+    }
+
+    /**
+     * Check if the player has any of the given permissions
+     * @param player The player
+     * @param nodes The permission nodes
+     * @return true if the player has at least one
+     */
+    public boolean hasAny(Player player, String... nodes) {
+        for (String node : nodes) {
+            if (has(player, node)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Rebuild one player's snapshot
+     * @param player The player
+     */
+    public void refresh(Player player) {
+        Snapshot previous = snapshots.get(player.getUniqueId());
+        Set<String> nodes = trackedNodes;
+        if (previous != null) {
+            // Keep nodes the player was checked for since, so they stay warm
+            nodes = new LinkedHashSet<>(nodes);
+            nodes.addAll(previous.nodes.keySet());
+        }
+        snapshots.put(player.getUniqueId(), new Snapshot(player, nodes));
+    }
+
+    /**
+     * Re-read tracked nodes from config and rebuild every online player's snapshot (main thread)
+     */
+    public void refreshAll() {
+        trackedNodes = collectNodes();
+        snapshots.keySet().removeIf(id -> plugin.getServer().getPlayer(id) == null);
+        for (Player player : plugin.getServer().getOnlinePlayers()) {
+            refresh(player);
+        }
+    }
+
+    /**
+     * Get the number of players with a snapshot
+     * @return Snapshot count
+     */
+    public int size() {
+        return snapshots.size();
+    }
+
+    @EventHandler(priority = EventPriority.LOWEST)
+    public void onJoin(PlayerJoinEvent event) {
+        refresh(event.getPlayer());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onWorldChange(PlayerChangedWorldEvent event) {
+        // Permission plugins may grant different nodes per world
+        refresh(event.getPlayer());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onQuit(PlayerQuitEvent event) {
+        snapshots.remove(event.getPlayer().getUniqueId());
+    }
+
+    private Set<String> collectNodes() {
+        Set<String> nodes = new LinkedHashSet<>(BASE_NODES);
+
+        for (String group : plugin.getSettings().teleport().freeGroups()) {
+            nodes.add("group." + group);
+            nodes.add(Constants.Permissions.GROUP_PREFIX + group);
+            nodes.add(group);
+        }
+
+        CellGroupManager groupManager = plugin.getCellGroupManager();
+        if (groupManager != null) {
+            for (CellGroup group : groupManager.getAllGroups().values()) {
+                if (group.getRequiredPermission() != null) {
+                    nodes.add(group.getRequiredPermission());
+                }
+            }
+        }
+        return Set.copyOf(nodes);
+    }
+
+    /**
+     * Resolved permission nodes of one player
+     */
+    private static final class Snapshot {
+        private final Map<String, Boolean> nodes = new ConcurrentHashMap<>();
+
+        Snapshot(Player player, Set<String> tracked) {
+            for (String node : tracked) {
+                nodes.put(node, player.hasPermission(node));
+            }
+        }
+
+        boolean has(Player player, String node) {
+            Boolean granted = nodes.get(node);
+            if (granted == null) {
+                granted = player.hasPermission(node);
+                nodes.put(node, granted);
+            }
+            return granted;
+        }
+    }
+}
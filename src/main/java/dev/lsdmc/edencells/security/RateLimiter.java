@@ -0,0 +1,183 @@
+package dev.lsdmc.edencells.security;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free per-player rate limiter with one token bucket per action.
+ * <p>
+ * A bucket holding {@code n} tokens that refills at {@code n} per minute is stored as a single
+ * "theoretical arrival time" (the generic cell rate algorithm): each call pushes it forward by
+ * one refill interval and is denied if that would put it more than a full bucket ahead of now.
+ * Each player has one slot per action in an {@link AtomicLongArray}, updated with CAS, so a
+ * check takes no lock and allocates nothing once the player's slots exist.
+ */
+public final class RateLimiter {
+
+    /**
+     * Counters for one action since startup
+     * @param action Action name
+     * @param perMinute Current limit per minute
+     * @param allowed Calls let through
+     * @param denied Calls rejected
+     */
+    public record Stats(String action, int perMinute, long allowed, long denied) {
+    }
+
+    // Sweep idle players when the slot map grows past this many entries
+    private static final int SWEEP_THRESHOLD = 1024;
+    private static final long MINUTE_NANOS = TimeUnit.MINUTES.toNanos(1);
+
+    private final String[] actions;
+    private final Map<String, Integer> indexes = new HashMap<>();
+    private final LongAdder[] allowed;
+    private final LongAdder[] denied;
+    private final Map<UUID, AtomicLongArray> slots = new ConcurrentHashMap<>();
+    private final long origin = System.nanoTime();
+    private volatile int sweepAt = SWEEP_THRESHOLD;
+
+    // Per action: limit per minute, refill interval and burst allowance (nanos); swapped on reload
+    private volatile int[] limits;
+    private volatile long[] intervals;
+    private volatile long[] bursts;
+
+    /**
+     * Create a limiter for a fixed set of actions
+     * @param perMinute Action name -> calls allowed per minute
+     */
+    public RateLimiter(Map<String, Integer> perMinute) {
+        this.actions = perMinute.keySet().toArray(new String[0]);
+        this.allowed = new LongAdder[actions.length];
+        this.denied = new LongAdder[actions.length];
+        for (int i = 0; i < actions.length; i++) {
+            indexes.put(actions[i], i);
+            allowed[i] = new LongAdder();
+            denied[i] = new LongAdder();
+        }
+        configure(perMinute);
+    }
+
+    /**
+     * Change the limits; actions not in the map keep theirs
+     * @param perMinute Action name -> calls allowed per minute (0 or less blocks the action)
+     */
+    public synchronized void configure(Map<String, Integer> perMinute) {
+        int[] newLimits = limits == null ? new int[actions.length] : limits.clone();
+        long[] newIntervals = new long[actions.length];
+        long[] newBursts = new long[actions.length];
+
+        for (int i = 0; i < actions.length; i++) {
+            Integer limit = perMinute.get(actions[i]);
+            if (limit != null) {
+                newLimits[i] = limit;
+            }
+            if (newLimits[i] > 0) {
+                newIntervals[i] = MINUTE_NANOS / newLimits[i];
+                newBursts[i] = newIntervals[i] * (newLimits[i] - 1);
+            }
+        }
+
+        this.intervals = newIntervals;
+        this.bursts = newBursts;
+        this.limits = newLimits;
+    }
+
+    /**
+     * Take a token for an action if one is available
+     * @param playerId The player
+     * @param action The action
+     * @return true if allowed; actions without a limit are always allowed
+     */
+    public boolean tryAcquire(UUID playerId, String action) {
+        Integer index = indexes.get(action);
+        if (index == null) {
+            return true;
+        }
+        int i = index;
+
+        long interval = intervals[i];
+        if (interval == 0) {
+            denied[i].increment();
+            return false;
+        }
+        long burst = bursts[i];
+
+        AtomicLongArray slot = slot(playerId);
+        long now = now();
+        while (true) {
+            long arrival = slot.get(i);
+            long start = Math.max(arrival, now);
+            if (start - now > burst) {
+                denied[i].increment();
+                return false;
+            }
+            if (slot.compareAndSet(i, arrival, start + interval)) {
+                allowed[i].increment();
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Refill every bucket of a player
+     * @param playerId The player
+     */
+    public void reset(UUID playerId) {
+        slots.remove(playerId);
+    }
+
+    /**
+     * Drop players whose buckets are all full again
+     */
+    public void cleanup() {
+        long now = now();
+        slots.values().removeIf(slot -> isIdle(slot, now));
+        sweepAt = Math.max(SWEEP_THRESHOLD, slots.size() * 2);
+    }
+
+    /**
+     * Get the counters of every action
+     * @return Stats in configuration order
+     */
+    public List<Stats> getStats() {
+        int[] current = limits;
+        List<Stats> stats = new ArrayList<>(actions.length);
+        for (int i = 0; i < actions.length; i++) {
+            stats.add(new Stats(actions[i], current[i], allowed[i].sum(), denied[i].sum()));
+        }
+        return stats;
+    }
+
+    private AtomicLongArray slot(UUID playerId) {
+        AtomicLongArray slot = slots.get(playerId);
+        if (slot != null) {
+            return slot;
+        }
+
+        if (slots.size() >= sweepAt) {
+            cleanup();
+        }
+        return slots.computeIfAbsent(playerId, id -> new AtomicLongArray(actions.length));
+    }
+
+    private static boolean isIdle(AtomicLongArray slot, long now) {
+        for (int i = 0; i < slot.length(); i++) {
+            if (slot.get(i) > now) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private long now() {
+        // Relative to creation so a zeroed slot always reads as a full bucket
+        return System.nanoTime() - origin + MINUTE_NANOS;
+    }
+}
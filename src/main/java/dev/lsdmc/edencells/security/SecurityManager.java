@@ -1,25 +1,15 @@
 package dev.lsdmc.edencells.security;
 
-import com.github.benmanes.caffeine.cache.Cache;
-import com.github.benmanes.caffeine.cache.Caffeine;
 import dev.lsdmc.edencells.EdenCells;
+import dev.lsdmc.edencells.storage.AuditRecord;
 import dev.lsdmc.edencells.utils.Constants;
 import org.bukkit.entity.Player;
 import org.bukkit.permissions.Permissible;
 
-import java.io.File;
 import java.io.FileWriter;
-import java.io.IOException;
-import java.nio.file.Files;
 import java.nio.file.Path;
-import java.nio.file.StandardOpenOption;
-import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
 import java.util.List;
-import java.util.Map;
 import java.util.UUID;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.TimeUnit;
 import java.util.regex.Pattern;
 
 /**
@@ -30,49 +20,29 @@ public final class SecurityManager {
     
     private final EdenCells plugin;
     private final Pattern regionIdPattern = Pattern.compile(Constants.Validation.REGION_ID_PATTERN);
-    private final DateTimeFormatter dateFormat = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
     
-    // Thread-safe rate limiters with auto-cleanup
-    private final Map<String, Cache<UUID, Integer>> rateLimiters = new ConcurrentHashMap<>();
+    // Lock-free token buckets per player and action
+    private final RateLimiter rateLimiter;
     
-    // Teleport cooldowns with auto-expiry
-    private final Cache<UUID, Long> teleportCooldowns;
+    // Teleport cooldowns, kept on the plugin's timing wheel
+    private static final String TELEPORT_COOLDOWN = "teleport-cooldown";
+    
+    // Batches audit records onto one writer thread
+    private final AuditWriter auditWriter;
     
     public SecurityManager(EdenCells plugin) {
         this.plugin = plugin;
+        this.auditWriter = new AuditWriter(plugin);
         
         // Initialize rate limiters for different actions using config values
-        rateLimiters.put("purchase", createRateLimiter(
-            plugin.getConfig().getInt("security.rate-limits.cell-purchase", Constants.RateLimits.PURCHASE_PER_MINUTE)));
-        rateLimiters.put("member_add", createRateLimiter(
-            plugin.getConfig().getInt("security.rate-limits.member-add", Constants.RateLimits.MEMBER_ADD_PER_MINUTE)));
-        rateLimiters.put("member_remove", createRateLimiter(
-            plugin.getConfig().getInt("security.rate-limits.member-remove", 5)));
-        rateLimiters.put("door_interact", createRateLimiter(
-            plugin.getConfig().getInt("security.rate-limits.door-interact", Constants.RateLimits.DOOR_INTERACT_PER_MINUTE)));
-        rateLimiters.put("gui_open", createRateLimiter(
-            plugin.getConfig().getInt("security.rate-limits.gui-open", Constants.RateLimits.GUI_OPEN_PER_MINUTE)));
-        rateLimiters.put("npc_interact", createRateLimiter(
-            plugin.getConfig().getInt("security.rate-limits.npc-interact", 10)));
-        rateLimiters.put("bulk_add", createRateLimiter(
-            plugin.getConfig().getInt("security.rate-limits.bulk-add", Constants.RateLimits.BULK_ADD_PER_MINUTE)));
-        
-        // Initialize teleport cooldowns with config value
-        int cooldownSeconds = plugin.getConfig().getInt("teleportation.cooldown", Constants.RateLimits.NPC_TELEPORT_COOLDOWN_SECONDS);
-        this.teleportCooldowns = Caffeine.newBuilder()
-            .expireAfterWrite(cooldownSeconds, TimeUnit.SECONDS)
-            .maximumSize(1000)
-            .build();
+        this.rateLimiter = new RateLimiter(plugin.getSettings().rateLimits());
     }
     
     /**
-     * Creates a rate limiter cache with proper auto-cleanup
+     * Applies the rate limits of the current settings, keeping players' current buckets
      */
-    private Cache<UUID, Integer> createRateLimiter(int maxPerMinute) {
-        return Caffeine.newBuilder()
-            .expireAfterWrite(1, TimeUnit.MINUTES)
-            .maximumSize(1000) // Prevent memory leaks
-            .build();
+    public void reloadRateLimits() {
+        rateLimiter.configure(plugin.getSettings().rateLimits());
     }
     
     /**
@@ -139,33 +109,20 @@ public final class SecurityManager {
         }
         
         // Check for general bypass permission
-        if (player.hasPermission(Constants.Permissions.BYPASS) || 
-            player.hasPermission(Constants.Permissions.BYPASS_RATE_LIMIT)) {
+        PermissionCache permissions = plugin.getPermissionCache();
+        if (permissions.has(player, Constants.Permissions.BYPASS) || 
+            permissions.has(player, Constants.Permissions.BYPASS_RATE_LIMIT)) {
             return false;
         }
         
         // Check for specific action bypass permissions
         String specificBypass = getBypassPermissionForAction(action);
-        if (specificBypass != null && player.hasPermission(specificBypass)) {
+        if (specificBypass != null && permissions.has(player, specificBypass)) {
             return false;
         }
         
-        Cache<UUID, Integer> limiter = rateLimiters.get(action);
-        if (limiter == null) {
-            return false; // No rate limit configured for this action
-        }
-        
-        UUID playerId = player.getUniqueId();
-        int currentCount = limiter.get(playerId, key -> 0);
-        int maxAllowed = getMaxForAction(action);
-        
-        if (currentCount >= maxAllowed) {
-            return true;
-        }
-        
-        // Increment counter
-        limiter.put(playerId, currentCount + 1);
-        return false;
+        // Actions without a configured limit are always allowed
+        return !rateLimiter.tryAcquire(player.getUniqueId(), action);
     }
     
     /**
@@ -182,22 +139,6 @@ public final class SecurityManager {
         };
     }
     
-    /**
-     * Gets the maximum allowed actions per minute for an action type
-     */
-    private int getMaxForAction(String action) {
-        return switch (action) {
-            case "purchase" -> plugin.getConfig().getInt("security.rate-limits.cell-purchase", Constants.RateLimits.PURCHASE_PER_MINUTE);
-            case "member_add" -> plugin.getConfig().getInt("security.rate-limits.member-add", Constants.RateLimits.MEMBER_ADD_PER_MINUTE);
-            case "member_remove" -> plugin.getConfig().getInt("security.rate-limits.member-remove", 5);
-            case "door_interact" -> plugin.getConfig().getInt("security.rate-limits.door-interact", Constants.RateLimits.DOOR_INTERACT_PER_MINUTE);
-            case "gui_open" -> plugin.getConfig().getInt("security.rate-limits.gui-open", Constants.RateLimits.GUI_OPEN_PER_MINUTE);
-            case "npc_interact" -> plugin.getConfig().getInt("security.rate-limits.npc-interact", 10);
-            case "bulk_add" -> plugin.getConfig().getInt("security.rate-limits.bulk-add", Constants.RateLimits.BULK_ADD_PER_MINUTE);
-            default -> 10; // Default fallback
-        };
-    }
-    
     /**
      * Checks if a player is on teleport cooldown
      * @param player The player to check
@@ -207,12 +148,11 @@ public final class SecurityManager {
         if (player == null) return true;
         
         // Check bypass permissions
-        if (player.hasPermission(Constants.Permissions.BYPASS) || 
-            player.hasPermission(Constants.Permissions.BYPASS_COOLDOWN)) {
+        if (plugin.getPermissionCache().hasAny(player, Constants.Permissions.BYPASS, Constants.Permissions.BYPASS_COOLDOWN)) {
             return false;
         }
         
-        return teleportCooldowns.getIfPresent(player.getUniqueId()) != null;
+        return plugin.getTimers().isActive(TELEPORT_COOLDOWN, player.getUniqueId());
     }
     
     /**
@@ -222,7 +162,8 @@ public final class SecurityManager {
     public void setTeleportCooldown(Player player) {
         if (player == null) return;
         
-        teleportCooldowns.put(player.getUniqueId(), System.currentTimeMillis());
+        long cooldownMillis = plugin.getSettings().teleport().cooldownSeconds() * 1000L;
+        plugin.getTimers().schedule(TELEPORT_COOLDOWN, player.getUniqueId(), cooldownMillis, null);
     }
     
     /**
@@ -233,16 +174,9 @@ public final class SecurityManager {
     public int getRemainingTeleportCooldown(Player player) {
         if (player == null) return 0;
         
-        Long cooldownTime = teleportCooldowns.getIfPresent(player.getUniqueId());
-        if (cooldownTime == null) {
-            return 0;
-        }
-        
-        long elapsed = System.currentTimeMillis() - cooldownTime;
-        int cooldownSeconds = plugin.getConfig().getInt("teleportation.cooldown", Constants.RateLimits.NPC_TELEPORT_COOLDOWN_SECONDS);
-        long remaining = (cooldownSeconds * 1000L) - elapsed;
-        
-        return Math.max(0, (int) (remaining / 1000));
+        // Round up so a cooldown never reads as 0 seconds while it is still running
+        long remaining = plugin.getTimers().getRemainingMillis(TELEPORT_COOLDOWN, player.getUniqueId());
+        return (int) ((remaining + 999L) / 1000L);
     }
     
     /**
@@ -257,47 +191,33 @@ public final class SecurityManager {
             return;
         }
         
-        // Check if audit logging is enabled
-        if (!plugin.getConfig().getBoolean("security.audit.enabled", true)) {
+        // Check if audit logging is enabled for this action
+        if (!plugin.getSettings().isAudited(action)) {
             return;
         }
         
-        // Check if this action should be logged
-        List<String> logActions = plugin.getConfig().getStringList("security.audit.log-actions");
-        if (!logActions.isEmpty() && !logActions.contains(action.toLowerCase())) {
-            return;
-        }
+        AuditRecord record = new AuditRecord(System.currentTimeMillis(), player.getUniqueId(),
+            sanitizeInput(player.getName()), sanitizeInput(action),
+            target != null ? sanitizeInput(target) : "N/A",
+            details != null ? sanitizeInput(details) : "N/A");
         
-        // Run audit logging async to prevent blocking
-        plugin.getServer().getScheduler().runTaskAsynchronously(plugin, () -> {
-            try {
-                String logFileName = plugin.getConfig().getString("security.audit.log-file", Constants.Storage.AUDIT_LOG_FILE);
-                File auditFile = new File(plugin.getDataFolder(), logFileName);
-                
-                // Ensure parent directory exists
-                if (!auditFile.getParentFile().exists()) {
-                    auditFile.getParentFile().mkdirs();
-                }
-                
-                String timestamp = LocalDateTime.now().format(dateFormat);
-                String playerName = sanitizeInput(player.getName());
-                String actionSafe = sanitizeInput(action);
-                String targetSafe = target != null ? sanitizeInput(target) : "N/A";
-                String detailsSafe = details != null ? sanitizeInput(details) : "N/A";
-                
-                String logEntry = String.format("[%s] Player: %s | Action: %s | Target: %s | Details: %s%n",
-                    timestamp, playerName, actionSafe, targetSafe, detailsSafe);
-                
-                
-                Files.write(auditFile.toPath(), logEntry.getBytes(), 
-                    StandardOpenOption.CREATE, StandardOpenOption.APPEND);
-                
-            } catch (IOException e) {
-                plugin.getLogger().warning("Failed to write audit log: " + e.getMessage());
-            } catch (Exception e) {
-                plugin.getLogger().severe("Unexpected error in audit logging: " + e.getMessage());
-            }
-        });
+        // Written in batches by the audit writer thread
+        auditWriter.submit(record);
+    }
+    
+    /**
+     * Gets the audit writer
+     * @return The audit writer
+     */
+    public AuditWriter getAuditWriter() {
+        return auditWriter;
+    }
+    
+    /**
+     * Writes any queued audit records and stops the audit writer
+     */
+    public void shutdown() {
+        auditWriter.shutdown();
     }
     
     /**
@@ -332,12 +252,11 @@ public final class SecurityManager {
     
     /**
      * Cleans up rate limiters - called periodically
-     * This is already handled by Caffeine's auto-expiry, but can be called manually
+     * Idle buckets are also swept as the limiter grows, but this can be called manually
      */
     public void cleanupRateLimits() {
-        // Caffeine handles cleanup automatically, but we can force cleanup
-        rateLimiters.values().forEach(cache -> cache.cleanUp());
-        teleportCooldowns.cleanUp();
+        // Players whose buckets have refilled are dropped; the limiter also does this as it grows
+        rateLimiter.cleanup();
     }
     
     /**
@@ -349,13 +268,19 @@ public final class SecurityManager {
         
         UUID playerId = player.getUniqueId();
         
-        // Clear from all rate limiters
-        for (Cache<UUID, Integer> limiter : rateLimiters.values()) {
-            limiter.invalidate(playerId);
-        }
+        // Refill all of the player's buckets
+        rateLimiter.reset(playerId);
         
         // Clear teleport cooldown
-        teleportCooldowns.invalidate(playerId);
+        plugin.getTimers().cancel(TELEPORT_COOLDOWN, playerId);
+    }
+    
+    /**
+     * Gets the per-action rate limit counters
+     * @return Counters in display order
+     */
+    public List<RateLimiter.Stats> getRateLimitCounters() {
+        return rateLimiter.getStats();
     }
     
     /**
@@ -366,13 +291,13 @@ public final class SecurityManager {
         StringBuilder stats = new StringBuilder();
         stats.append("Rate Limiter Statistics:\n");
         
-        for (var entry : rateLimiters.entrySet()) {
-            long size = entry.getValue().estimatedSize();
-            stats.append(String.format("- %s: %d active entries\n", entry.getKey(), size));
+        for (RateLimiter.Stats entry : rateLimiter.getStats()) {
+            stats.append(String.format("- %s: %d/min, %d allowed, %d denied\n",
+                entry.action(), entry.perMinute(), entry.allowed(), entry.denied()));
         }
         
         stats.append(String.format("- teleport_cooldowns: %d active entries\n", 
-            teleportCooldowns.estimatedSize()));
+            plugin.getTimers().count(TELEPORT_COOLDOWN)));
         
         return stats.toString();
     }
@@ -0,0 +1,399 @@
+package dev.lsdmc.edencells.storage;
+
+import dev.lsdmc.edencells.utils.AtomicFiles;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Sidecar index over one text audit log segment.
+ * <p>
+ * Keeps the byte offset and time of every entry plus posting lists of entry numbers per
+ * player, action and target, so a lookup only reads the lines it returns. Offsets are into
+ * the uncompressed text, so the index stays valid when the segment is gzipped. On disk every
+ * number is delta-encoded as a varint, which keeps the file to a few bytes per entry.
+ */
+final class AuditIndex {
+
+    private static final int MAGIC = 0x45434149; // "ECAI"
+    private static final int VERSION = 1;
+
+    private static final char PLAYER_KEY = 'p';
+    private static final char ACTION_KEY = 'a';
+    private static final char TARGET_KEY = 't';
+
+    private long[] offsets = new long[64];
+    private long[] times = new long[64];
+    private int size;
+    private long minTime = Long.MAX_VALUE;
+    private long maxTime = Long.MIN_VALUE;
+    private final Map<String, Postings> postings = new HashMap<>();
+
+    /**
+     * Add an entry; entries must be added in file order
+     * @param offset Byte offset of the line
+     * @param record The entry
+     */
+    void add(long offset, AuditRecord record) {
+        if (size == offsets.length) {
+            offsets = Arrays.copyOf(offsets, size * 2);
+            times = Arrays.copyOf(times, size * 2);
+        }
+        offsets[size] = offset;
+        times[size] = record.time();
+        minTime = Math.min(minTime, record.time());
+        maxTime = Math.max(maxTime, record.time());
+
+        addPosting(key(PLAYER_KEY, record.playerName()), size);
+        addPosting(key(ACTION_KEY, record.action()), size);
+        addPosting(key(TARGET_KEY, record.target()), size);
+        size++;
+    }
+
+    /**
+     * Count entries matching a query
+     * @param query The query (page is ignored)
+     * @return Match count
+     */
+    int count(AuditQuery query) {
+        return scan(query, 0, 0, null);
+    }
+
+    /**
+     * Get offsets of matching entries, newest first
+     * @param query The query (page is ignored)
+     * @param skip Matches to skip
+     * @param limit Maximum offsets to return
+     * @return Line offsets
+     */
+    long[] select(AuditQuery query, int skip, int limit) {
+        long[] result = new long[limit];
+        int found = scan(query, skip, limit, result);
+        return found == limit ? result : Arrays.copyOf(result, found);
+    }
+
+    /**
+     * Copy the index, so the copy can be read while this one keeps growing
+     * @return An independent index with the same entries
+     */
+    AuditIndex copy() {
+        AuditIndex copy = new AuditIndex();
+        copy.offsets = Arrays.copyOf(offsets, Math.max(size, 1));
+        copy.times = Arrays.copyOf(times, Math.max(size, 1));
+        copy.size = size;
+        copy.minTime = minTime;
+        copy.maxTime = maxTime;
+        for (Map.Entry<String, Postings> entry : postings.entrySet()) {
+            copy.postings.put(entry.getKey(), entry.getValue().copy());
+        }
+        return copy;
+    }
+
+    /**
+     * Write the index to a sidecar file
+     * @param file The sidecar file
+     * @throws IOException if writing fails
+     */
+    void write(File file) throws IOException {
+        AtomicFiles.write(file, stream -> {
+            DataOutputStream out = new DataOutputStream(stream);
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            writeVarLong(out, size);
+
+            long previousOffset = 0;
+            long previousTime = 0;
+            for (int i = 0; i < size; i++) {
+                writeVarLong(out, offsets[i] - previousOffset);
+                writeVarLong(out, zigZag(times[i] - previousTime));
+                previousOffset = offsets[i];
+                previousTime = times[i];
+            }
+
+            writeVarLong(out, postings.size());
+            for (Map.Entry<String, Postings> entry : postings.entrySet()) {
+                Postings list = entry.getValue();
+                out.writeUTF(entry.getKey());
+                writeVarLong(out, list.size);
+                int previous = 0;
+                for (int i = 0; i < list.size; i++) {
+                    writeVarLong(out, list.entries[i] - previous);
+                    previous = list.entries[i];
+                }
+            }
+            out.flush();
+        });
+    }
+
+    /**
+     * Read a sidecar file
+     * @param file The sidecar file
+     * @return The index
+     * @throws IOException if the file is missing, unreadable or not an index
+     */
+    static AuditIndex read(File file) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file.toPath())))) {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+                throw new IOException("Not an audit index: " + file.getName());
+            }
+
+            AuditIndex index = new AuditIndex();
+            int count = (int) readVarLong(in);
+            index.offsets = new long[Math.max(count, 1)];
+            index.times = new long[Math.max(count, 1)];
+            long offset = 0;
+            long time = 0;
+            for (int i = 0; i < count; i++) {
+                offset += readVarLong(in);
+                time += unZigZag(readVarLong(in));
+                index.offsets[i] = offset;
+                index.times[i] = time;
+                index.minTime = Math.min(index.minTime, time);
+                index.maxTime = Math.max(index.maxTime, time);
+            }
+            index.size = count;
+
+            int keys = (int) readVarLong(in);
+            for (int k = 0; k < keys; k++) {
+                String key = in.readUTF();
+                int length = (int) readVarLong(in);
+                Postings list = new Postings(Math.max(length, 1));
+                int entry = 0;
+                for (int i = 0; i < length; i++) {
+                    entry += (int) readVarLong(in);
+                    if (entry < 0 || entry >= count) {
+                        throw new IOException("Corrupt audit index: " + file.getName());
+                    }
+                    list.add(entry);
+                }
+                index.postings.put(key, list);
+            }
+            return index;
+        }
+    }
+
+    /**
+     * Build an index by reading a whole log segment
+     * @param in The plain log text (not closed)
+     * @return The index
+     * @throws IOException if reading fails
+     */
+    static AuditIndex build(InputStream in) throws IOException {
+        AuditIndex index = new AuditIndex();
+        LineReader reader = new LineReader(in);
+        long offset = reader.position();
+        String line;
+        while ((line = reader.next()) != null) {
+            AuditRecord record = AuditRecord.parse(line);
+            if (record != null) {
+                index.add(offset, record);
+            }
+            offset = reader.position();
+        }
+        return index;
+    }
+
+    private int scan(AuditQuery query, int skip, int limit, long[] result) {
+        if (size == 0 || maxTime < query.from() || minTime >= query.to()) {
+            return 0;
+        }
+
+        // Walk the shortest posting list and probe the others
+        List<String> keys = filterKeys(query);
+        Postings[] lists = new Postings[keys.size()];
+        int listCount = 0;
+        for (String key : keys) {
+            Postings list = postings.get(key);
+            if (list == null) {
+                return 0;
+            }
+            lists[listCount++] = list;
+        }
+        Arrays.sort(lists, 0, listCount, (a, b) -> Integer.compare(a.size, b.size));
+
+        int matched = 0;
+        int returned = 0;
+        int remaining = listCount == 0 ? size : lists[0].size;
+        while (remaining-- > 0) {
+            int entry = listCount == 0 ? remaining : lists[0].entries[remaining];
+            if (!query.matchesTime(times[entry]) || !containedInAll(lists, listCount, entry)) {
+                continue;
+            }
+
+            if (result != null && matched >= skip) {
+                result[returned++] = offsets[entry];
+                if (returned == limit) {
+                    return returned;
+                }
+            }
+            matched++;
+        }
+        return result != null ? returned : matched;
+    }
+
+    private static List<String> filterKeys(AuditQuery query) {
+        List<String> keys = new ArrayList<>(3);
+        if (query.playerName() != null) {
+            keys.add(key(PLAYER_KEY, query.playerName()));
+        }
+        if (query.action() != null) {
+            keys.add(key(ACTION_KEY, query.action()));
+        }
+        if (query.target() != null) {
+            keys.add(key(TARGET_KEY, query.target()));
+        }
+        return keys;
+    }
+
+    private static boolean containedInAll(Postings[] lists, int listCount, int entry) {
+        for (int i = 1; i < listCount; i++) {
+            if (Arrays.binarySearch(lists[i].entries, 0, lists[i].size, entry) < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void addPosting(String key, int entry) {
+        postings.computeIfAbsent(key, k -> new Postings(4)).add(entry);
+    }
+
+    private static String key(char type, String value) {
+        return type + ":" + (value == null ? "" : value.toLowerCase(Locale.ROOT));
+    }
+
+    private static void writeVarLong(DataOutputStream out, long value) throws IOException {
+        while ((value & ~0x7FL) != 0) {
+            out.writeByte((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.writeByte((int) value);
+    }
+
+    private static long readVarLong(DataInputStream in) throws IOException {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            int b = in.readUnsignedByte();
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("Malformed varint in audit index");
+    }
+
+    private static long zigZag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    private static long unZigZag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    /**
+     * Growable sorted list of entry numbers
+     */
+    private static final class Postings {
+        private int[] entries;
+        private int size;
+
+        Postings(int capacity) {
+            this.entries = new int[capacity];
+        }
+
+        void add(int entry) {
+            if (size == entries.length) {
+                entries = Arrays.copyOf(entries, size * 2);
+            }
+            entries[size++] = entry;
+        }
+
+        Postings copy() {
+            Postings copy = new Postings(1);
+            copy.entries = Arrays.copyOf(entries, Math.max(size, 1));
+            copy.size = size;
+            return copy;
+        }
+    }
+
+    /**
+     * Reads UTF-8 lines from a byte stream while tracking the byte position
+     */
+    static final class LineReader {
+        private final InputStream in;
+        private final ByteArrayOutputStream line = new ByteArrayOutputStream(256);
+        private long position;
+
+        LineReader(InputStream in) {
+            this.in = in instanceof BufferedInputStream ? in : new BufferedInputStream(in, 64 * 1024);
+        }
+
+        /**
+         * Get the byte position of the next line
+         * @return Bytes consumed so far
+         */
+        long position() {
+            return position;
+        }
+
+        /**
+         * Skip ahead to a byte position
+         * @param target Position to skip to; must not be behind the current one
+         * @throws IOException if the stream ends first
+         */
+        void skipTo(long target) throws IOException {
+            while (position < target) {
+                long skipped = in.skip(target - position);
+                if (skipped <= 0) {
+                    if (in.read() < 0) {
+                        throw new EOFException("Audit log is shorter than its index");
+                    }
+                    skipped = 1;
+                }
+                position += skipped;
+            }
+        }
+
+        /**
+         * Read the next line
+         * @return The line without its separator, or null at the end of the stream
+         * @throws IOException if reading fails
+         */
+        String next() throws IOException {
+            line.reset();
+            int b;
+            while ((b = in.read()) >= 0) {
+                position++;
+                if (b == '\n') {
+                    return decode();
+                }
+                line.write(b);
+            }
+            // A trailing line without a separator is still being written
+            return null;
+        }
+
+        private String decode() {
+            int length = line.size();
+            byte[] bytes = line.toByteArray();
+            if (length > 0 && bytes[length - 1] == '\r') {
+                length--;
+            }
+            return new String(bytes, 0, length, StandardCharsets.UTF_8);
+        }
+    }
+}
@@ -0,0 +1,289 @@
+package dev.lsdmc.edencells.storage;
+
+import dev.lsdmc.edencells.EdenCells;
+import dev.lsdmc.edencells.utils.AtomicFiles;
+import dev.lsdmc.edencells.utils.EdenCellsSettings;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Rotation and retention for the text audit log.
+ * <p>
+ * Rotated segments sit next to the active log as {@code <name>-<yyyy-MM-dd>.<n>.log}, where the
+ * date is the day of the last entry in the segment. Compression to {@code .log.gz} and pruning
+ * by {@code max-files} / {@code max-total-size-mb} run on a separate archiver thread so the
+ * audit writer only pays for a rename. Archiver work holds this object's monitor, so callers
+ * that read segments can lock it to keep files from being compressed or deleted underneath them.
+ */
+final class AuditLogRotator {
+
+    private final EdenCells plugin;
+    private final ExecutorService archiver = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "EdenCells-audit-archiver");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    AuditLogRotator(EdenCells plugin) {
+        this.plugin = plugin;
+    }
+
+    /**
+     * Get the size at which the active log is rotated
+     * @return Size in bytes, or 0 for no size limit
+     */
+    long getMaxBytes() {
+        return plugin.getSettings().auditLog().rotateMaxBytes();
+    }
+
+    /**
+     * Check if the active log is rotated when the day changes
+     * @return true for daily rotation
+     */
+    boolean isDaily() {
+        return plugin.getSettings().auditLog().rotateDaily();
+    }
+
+    /**
+     * Move the active log aside as a rotated segment and archive it in the background
+     * @param active The active log file
+     * @param day Day of the last entry in it
+     * @param index Index of the active log, saved as the segment's sidecar
+     * @throws IOException if the rename fails
+     */
+    void rotate(File active, LocalDate day, AuditIndex index) throws IOException {
+        // Not synchronized: the archiver never creates segment names, and waiting for it
+        // to finish compressing would stall the audit writer
+        File segment = nextSegment(active, day);
+        Files.move(active.toPath(), segment.toPath(), StandardCopyOption.ATOMIC_MOVE);
+        plugin.debug("Rotated audit log to " + segment.getName());
+
+        try {
+            archiver.execute(() -> {
+                writeIndex(segment, index);
+                archive(active);
+            });
+        } catch (RejectedExecutionException e) {
+            // Shutting down; the sidecar is rebuilt by the first query that needs it
+        }
+    }
+
+    /**
+     * Compress leftover segments and apply retention in the background
+     * @param active The active log file
+     */
+    void schedule(File active) {
+        try {
+            archiver.execute(() -> archive(active));
+        } catch (RejectedExecutionException e) {
+            // Shutting down; leftovers are picked up on the next start
+        }
+    }
+
+    /**
+     * Get the rotated segments of a log, oldest first
+     * @param active The active log file
+     * @return Segment files, compressed or not
+     */
+    List<File> segments(File active) {
+        File folder = active.getAbsoluteFile().getParentFile();
+        File[] files = folder.listFiles();
+        if (files == null) {
+            return List.of();
+        }
+
+        Pattern pattern = segmentPattern(active);
+        List<Segment> found = new ArrayList<>();
+        for (File file : files) {
+            Matcher matcher = pattern.matcher(file.getName());
+            if (matcher.matches()) {
+                found.add(new Segment(file, matcher.group(1), Integer.parseInt(matcher.group(2))));
+            }
+        }
+        found.sort(Comparator.comparing(Segment::day).thenComparingInt(Segment::index));
+
+        List<File> result = new ArrayList<>(found.size());
+        for (Segment segment : found) {
+            result.add(segment.file());
+        }
+        return result;
+    }
+
+    /**
+     * Get the sidecar index file of a segment; shared by its plain and gzipped forms
+     * @param segment The segment file
+     * @return The index file
+     */
+    File indexFile(File segment) {
+        String name = segment.getName();
+        if (name.endsWith(".gz")) {
+            name = name.substring(0, name.length() - 3);
+        }
+        if (name.endsWith(".log")) {
+            name = name.substring(0, name.length() - 4);
+        }
+        return new File(segment.getParentFile(), name + ".idx");
+    }
+
+    /**
+     * Get the end of the day a segment's last entry was written on
+     * @param active The active log file
+     * @param segment The segment file
+     * @return Epoch millis of the following midnight, or {@link Long#MAX_VALUE} if unknown
+     */
+    long endOfDay(File active, File segment) {
+        Matcher matcher = segmentPattern(active).matcher(segment.getName());
+        if (!matcher.matches()) {
+            return Long.MAX_VALUE;
+        }
+        try {
+            LocalDate day = LocalDate.parse(matcher.group(1));
+            return day.plusDays(1).atStartOfDay(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        } catch (DateTimeParseException e) {
+            return Long.MAX_VALUE;
+        }
+    }
+
+    /**
+     * Open a segment for reading, decompressing it if needed
+     * @param segment The segment file
+     * @return Stream of the plain log text
+     * @throws IOException if the file cannot be opened
+     */
+    static InputStream open(File segment) throws IOException {
+        InputStream in = Files.newInputStream(segment.toPath());
+        if (!segment.getName().endsWith(".gz")) {
+            return in;
+        }
+        try {
+            return new GZIPInputStream(in, 64 * 1024);
+        } catch (IOException e) {
+            in.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Finish pending archiving and stop the archiver thread
+     */
+    void close() {
+        archiver.shutdown();
+        try {
+            if (!archiver.awaitTermination(30, TimeUnit.SECONDS)) {
+                archiver.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            archiver.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private synchronized void archive(File active) {
+        if (plugin.getSettings().auditLog().compress()) {
+            for (File segment : segments(active)) {
+                if (!segment.getName().endsWith(".gz")) {
+                    compress(segment);
+                }
+            }
+        }
+        prune(active);
+    }
+
+    private synchronized void writeIndex(File segment, AuditIndex index) {
+        try {
+            index.write(indexFile(segment));
+        } catch (IOException e) {
+            plugin.getLogger().warning("Failed to write audit index for " + segment.getName() + ": " + e.getMessage());
+        }
+    }
+
+    private void compress(File segment) {
+        File compressed = new File(segment.getParentFile(), segment.getName() + ".gz");
+        try {
+            AtomicFiles.write(compressed, out -> {
+                GZIPOutputStream gzip = new GZIPOutputStream(out, 64 * 1024);
+                Files.copy(segment.toPath(), gzip);
+                gzip.finish(); // AtomicFiles owns the underlying stream
+            });
+            Files.delete(segment.toPath());
+        } catch (NoSuchFileException e) {
+            // Already archived or removed
+        } catch (IOException e) {
+            plugin.getLogger().warning("Failed to compress audit log " + segment.getName() + ": " + e.getMessage());
+        }
+    }
+
+    private void prune(File active) {
+        EdenCellsSettings.AuditLog settings = plugin.getSettings().auditLog();
+        int maxFiles = settings.maxFiles();
+        long maxTotal = settings.maxTotalBytes();
+
+        List<File> segments = segments(active);
+        // The active log counts towards the cap but is never deleted; sidecar indexes count too
+        long total = active.length();
+        for (File segment : segments) {
+            total += segment.length() + indexFile(segment).length();
+        }
+
+        int index = 0;
+        while (index < segments.size()
+            && ((maxFiles > 0 && segments.size() - index > maxFiles) || (maxTotal > 0 && total > maxTotal))) {
+            File oldest = segments.get(index++);
+            File sidecar = indexFile(oldest);
+            long size = oldest.length() + sidecar.length();
+            if (oldest.delete()) {
+                total -= size;
+                sidecar.delete();
+                plugin.debug("Deleted old audit log " + oldest.getName());
+            } else {
+                plugin.getLogger().warning("Failed to delete old audit log " + oldest.getName());
+            }
+        }
+    }
+
+    private File nextSegment(File active, LocalDate day) {
+        String stem = stem(active);
+        String date = day.toString();
+        Pattern pattern = segmentPattern(active);
+        int index = 1;
+        for (File segment : segments(active)) {
+            Matcher matcher = pattern.matcher(segment.getName());
+            if (matcher.matches() && matcher.group(1).equals(date)) {
+                index = Math.max(index, Integer.parseInt(matcher.group(2)) + 1);
+            }
+        }
+        return new File(active.getAbsoluteFile().getParentFile(), stem + "-" + date + "." + index + ".log");
+    }
+
+    private static Pattern segmentPattern(File active) {
+        return Pattern.compile(Pattern.quote(stem(active)) + "-(\\d{4}-\\d{2}-\\d{2})\\.(\\d{1,9})\\.log(?:\\.gz)?");
+    }
+
+    private static String stem(File active) {
+        String name = active.getName();
+        int dot = name.lastIndexOf('.');
+        return dot > 0 ? name.substring(0, dot) : name;
+    }
+
+    private record Segment(File file, String day, int index) {
+    }
+}
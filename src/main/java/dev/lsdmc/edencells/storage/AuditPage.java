@@ -0,0 +1,21 @@
+package dev.lsdmc.edencells.storage;
+
+import java.util.List;
+
+/**
+ * One page of audit trail lookup results
+ * @param records Matching records on this page, newest first
+ * @param total Number of matching records on all pages
+ * @param page Zero-based page number
+ * @param pageSize Records per page
+ */
+public record AuditPage(List<AuditRecord> records, int total, int page, int pageSize) {
+
+    /**
+     * Get the number of pages
+     * @return Page count, at least 1
+     */
+    public int getPageCount() {
+        return Math.max(1, (total + pageSize - 1) / pageSize);
+    }
+}
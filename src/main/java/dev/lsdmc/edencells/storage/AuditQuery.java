@@ -0,0 +1,46 @@
+package dev.lsdmc.edencells.storage;
+
+import java.util.Locale;
+
+/**
+ * Filter and page for an audit trail lookup. Null filters match anything.
+ * @param playerName Acting player's name (case-insensitive)
+ * @param action Action name (case-insensitive)
+ * @param target Target, usually a region ID (case-insensitive)
+ * @param from Earliest time in epoch millis, inclusive (0 for no limit)
+ * @param to Latest time in epoch millis, exclusive ({@link Long#MAX_VALUE} for no limit)
+ * @param page Zero-based page number
+ * @param pageSize Records per page
+ */
+public record AuditQuery(String playerName, String action, String target, long from, long to,
+                         int page, int pageSize) {
+
+    public AuditQuery {
+        playerName = normalize(playerName);
+        action = normalize(action);
+        target = normalize(target);
+        page = Math.max(0, page);
+        pageSize = Math.max(1, pageSize);
+    }
+
+    /**
+     * Get the number of matching records before this page
+     * @return Records to skip
+     */
+    public int offset() {
+        return (int) Math.min(Integer.MAX_VALUE, (long) page * pageSize);
+    }
+
+    /**
+     * Check if a time falls within the range
+     * @param time Epoch millis
+     * @return true if within [from, to)
+     */
+    public boolean matchesTime(long time) {
+        return time >= from && time < to;
+    }
+
+    private static String normalize(String value) {
+        return value == null || value.isBlank() ? null : value.trim().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,69 @@
+package dev.lsdmc.edencells.storage;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.UUID;
+
+/**
+ * One audit trail entry. Text fields are already sanitized.
+ * @param time Epoch millis
+ * @param playerId Acting player (null when read back from the text log)
+ * @param playerName Acting player's name at the time
+ * @param action Action name
+ * @param target Target, or "N/A"
+ * @param details Details, or "N/A"
+ */
+public record AuditRecord(long time, UUID playerId, String playerName, String action,
+                          String target, String details) {
+
+    private static final DateTimeFormatter DATE_FORMAT =
+        DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss").withZone(ZoneId.systemDefault());
+
+    private static final String PLAYER = "] Player: ";
+    private static final String ACTION = " | Action: ";
+    private static final String TARGET = " | Target: ";
+    private static final String DETAILS = " | Details: ";
+
+    /**
+     * Parse a line of the text audit log. The log has no player UUID and only second precision.
+     * @param line The line, without its line separator
+     * @return The record, or null if the line is not an audit entry
+     */
+    public static AuditRecord parse(String line) {
+        if (line == null || !line.startsWith("[")) {
+            return null;
+        }
+
+        int player = line.indexOf(PLAYER);
+        int action = player < 0 ? -1 : line.indexOf(ACTION, player + PLAYER.length());
+        int target = action < 0 ? -1 : line.indexOf(TARGET, action + ACTION.length());
+        int details = target < 0 ? -1 : line.indexOf(DETAILS, target + TARGET.length());
+        if (details < 0) {
+            return null;
+        }
+
+        long time;
+        try {
+            time = Instant.from(DATE_FORMAT.parse(line.substring(1, player))).toEpochMilli();
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+
+        return new AuditRecord(time, null,
+            line.substring(player + PLAYER.length(), action),
+            line.substring(action + ACTION.length(), target),
+            line.substring(target + TARGET.length(), details),
+            line.substring(details + DETAILS.length()));
+    }
+
+    /**
+     * Format as a line of the text audit log
+     * @return The line, with a trailing line separator
+     */
+    public String toLogLine() {
+        return String.format("[%s] Player: %s | Action: %s | Target: %s | Details: %s%n",
+            DATE_FORMAT.format(Instant.ofEpochMilli(time)), playerName, action, target, details);
+    }
+}
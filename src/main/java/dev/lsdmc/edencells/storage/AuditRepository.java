@@ -0,0 +1,34 @@
+package dev.lsdmc.edencells.storage;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+
+/**
+ * Append-only store for the security audit trail
+ */
+public interface AuditRepository {
+
+    /**
+     * Append records in order
+     * @param records The records
+     * @throws IOException if writing fails
+     */
+    void append(List<AuditRecord> records) throws IOException;
+
+    /**
+     * Write the whole trail as text log lines, oldest first
+     * @param out Destination (not closed)
+     * @return false if there is nothing stored yet
+     * @throws IOException if reading or writing fails
+     */
+    boolean copyTo(OutputStream out) throws IOException;
+
+    /**
+     * Find records matching a query, newest first. Called off the main thread.
+     * @param query Filters and page
+     * @return The requested page
+     * @throws IOException if reading fails
+     */
+    AuditPage query(AuditQuery query) throws IOException;
+}
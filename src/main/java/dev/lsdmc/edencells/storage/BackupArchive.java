@@ -0,0 +1,105 @@
+package dev.lsdmc.edencells.storage;
+
+import dev.lsdmc.edencells.managers.TeleportNPCManager.NPCConfig;
+import dev.lsdmc.edencells.utils.AtomicFiles;
+import dev.lsdmc.edencells.utils.LongObjectMap;
+import org.bukkit.configuration.InvalidConfigurationException;
+import org.bukkit.configuration.file.YamlConfiguration;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.logging.Logger;
+import java.util.zip.Deflater;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Zip archive of EdenCells data: doors.yml, cell-groups.yml and teleport-npcs.yml in their
+ * YAML layouts, plus a copy of the audit trail as audit.log. The layout is the same whatever
+ * storage backend produced it, so an archive can be restored into any backend.
+ */
+public final class BackupArchive {
+
+    private static final String DOORS_ENTRY = "doors.yml";
+    private static final String GROUPS_ENTRY = "cell-groups.yml";
+    private static final String NPCS_ENTRY = "teleport-npcs.yml";
+    private static final String AUDIT_ENTRY = "audit.log";
+
+    /**
+     * Data held by an archive
+     * @param doors World name -> packed block key -> region ID
+     * @param groups Cell groups
+     * @param npcs NPC ID -> configuration
+     */
+    public record Contents(Map<String, LongObjectMap<String>> doors, GroupData groups,
+                           Map<Integer, NPCConfig> npcs) {
+    }
+
+    private BackupArchive() {} // Utility class
+
+    /**
+     * Atomically write an archive
+     * @param file Target file
+     * @param contents Snapshot to store
+     * @param audit Audit trail to copy, or null to leave it out
+     * @throws IOException if writing fails
+     */
+    public static void write(File file, Contents contents, AuditRepository audit) throws IOException {
+        AtomicFiles.write(file, out -> {
+            ZipOutputStream zip = new ZipOutputStream(out, StandardCharsets.UTF_8);
+            zip.setLevel(Deflater.BEST_COMPRESSION);
+
+            writeEntry(zip, DOORS_ENTRY, YamlDoorRepository.toYaml(contents.doors()));
+            writeEntry(zip, GROUPS_ENTRY, YamlGroupRepository.toYaml(contents.groups()));
+            writeEntry(zip, NPCS_ENTRY, YamlNPCRepository.toYaml(contents.npcs()));
+
+            if (audit != null) {
+                zip.putNextEntry(new ZipEntry(AUDIT_ENTRY));
+                audit.copyTo(zip);
+                zip.closeEntry();
+            }
+            zip.finish(); // AtomicFiles owns the underlying stream
+        });
+    }
+
+    /**
+     * Read an archive
+     * @param file The archive
+     * @param logger Receives warnings about entries that can't be fully parsed
+     * @return The stored data
+     * @throws IOException if the file isn't a readable EdenCells archive
+     */
+    public static Contents read(File file, Logger logger) throws IOException {
+        try (ZipFile zip = new ZipFile(file, StandardCharsets.UTF_8)) {
+            return new Contents(
+                YamlDoorRepository.fromYaml(readEntry(zip, DOORS_ENTRY), logger),
+                YamlGroupRepository.fromYaml(readEntry(zip, GROUPS_ENTRY), logger),
+                YamlNPCRepository.fromYaml(readEntry(zip, NPCS_ENTRY), logger));
+        }
+    }
+
+    private static void writeEntry(ZipOutputStream zip, String name, YamlConfiguration config) throws IOException {
+        zip.putNextEntry(new ZipEntry(name));
+        zip.write(config.saveToString().getBytes(StandardCharsets.UTF_8));
+        zip.closeEntry();
+    }
+
+    private static YamlConfiguration readEntry(ZipFile zip, String name) throws IOException {
+        ZipEntry entry = zip.getEntry(name);
+        if (entry == null) {
+            throw new IOException(name + " is missing from " + zip.getName());
+        }
+
+        YamlConfiguration config = new YamlConfiguration();
+        try (InputStream in = zip.getInputStream(entry)) {
+            config.loadFromString(new String(in.readAllBytes(), StandardCharsets.UTF_8));
+        } catch (InvalidConfigurationException e) {
+            throw new IOException(name + " in " + zip.getName() + " is not valid YAML: " + e.getMessage(), e);
+        }
+        return config;
+    }
+}
@@ -0,0 +1,233 @@
+package dev.lsdmc.edencells.storage;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Append-only log of door link changes made since the last doors.yml snapshot.
+ * <p>
+ * One record per line, tab separated: {@code L world x y z region} for a link and
+ * {@code U world x y z} for an unlink. Records are idempotent, so replaying a record the
+ * snapshot already contains is harmless. A record cut short by a crash has no trailing
+ * newline and is dropped on replay.
+ * <p>
+ * Compaction rotates the live journal to {@code <name>.compacting}, writes a fresh snapshot,
+ * then deletes the rotated file. If the server dies in between, startup replays both.
+ */
+public final class DoorJournal {
+
+    /**
+     * Receives replayed records
+     */
+    public interface Handler {
+        void link(String worldName, int x, int y, int z, String regionId);
+
+        void unlink(String worldName, int x, int y, int z);
+    }
+
+    private final File file;
+    private final File compactingFile;
+    private FileChannel channel;
+
+    public DoorJournal(File file) throws IOException {
+        this.file = file;
+        this.compactingFile = compactingFile(file);
+        open();
+    }
+
+    /**
+     * Check for journal files on disk without opening them
+     * @param file The live journal file
+     * @return true if the live or rotated journal exists
+     */
+    public static boolean exists(File file) {
+        return file.exists() || compactingFile(file).exists();
+    }
+
+    /**
+     * Replay journal files without opening them, for when journaling has been turned off
+     * @param file The live journal file
+     * @param handler Record handler
+     * @return Number of records replayed
+     * @throws IOException if a journal can't be read
+     */
+    public static int replayLeftover(File file, Handler handler) throws IOException {
+        return replay(compactingFile(file), handler) + replay(file, handler);
+    }
+
+    /**
+     * Delete journal files once their records are in a snapshot
+     * @param file The live journal file
+     * @throws IOException if a journal can't be deleted
+     */
+    public static void deleteLeftover(File file) throws IOException {
+        Files.deleteIfExists(compactingFile(file).toPath());
+        Files.deleteIfExists(file.toPath());
+    }
+
+    /**
+     * Append a link record
+     */
+    public synchronized void appendLink(String worldName, int x, int y, int z, String regionId) throws IOException {
+        append("L\t" + worldName + "\t" + x + "\t" + y + "\t" + z + "\t" + regionId + "\n");
+    }
+
+    /**
+     * Append an unlink record
+     */
+    public synchronized void appendUnlink(String worldName, int x, int y, int z) throws IOException {
+        append("U\t" + worldName + "\t" + x + "\t" + y + "\t" + z + "\n");
+    }
+
+    /**
+     * Get the number of bytes written since the last compaction
+     * @return Journal size in bytes
+     */
+    public synchronized long size() {
+        try {
+            return channel != null ? channel.size() : 0L;
+        } catch (IOException e) {
+            return 0L;
+        }
+    }
+
+    /**
+     * Check whether a previous compaction was interrupted
+     * @return true if a rotated journal is still on disk
+     */
+    public boolean hasPendingCompaction() {
+        return compactingFile.exists();
+    }
+
+    /**
+     * Replay the rotated journal (if any) and then the live journal
+     * @param handler Record handler
+     * @return Number of records replayed; malformed records are skipped
+     * @throws IOException if a journal can't be read
+     */
+    public synchronized int replay(Handler handler) throws IOException {
+        return replay(compactingFile, handler) + replay(file, handler);
+    }
+
+    /**
+     * Start compaction: move the live journal aside and begin a new one.
+     * Call while no link changes can be applied, right after taking the snapshot.
+     * @throws IOException if the journal can't be rotated
+     */
+    public synchronized void rotate() throws IOException {
+        close();
+        if (compactingFile.exists()) {
+            // An earlier snapshot write failed; keep its records ahead of ours
+            Files.write(compactingFile.toPath(), Files.readAllBytes(file.toPath()), StandardOpenOption.APPEND);
+            Files.delete(file.toPath());
+        } else if (file.exists()) {
+            Files.move(file.toPath(), compactingFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        }
+        open();
+    }
+
+    /**
+     * Finish compaction once the snapshot is safely on disk
+     * @throws IOException if the rotated journal can't be deleted
+     */
+    public synchronized void completeCompaction() throws IOException {
+        Files.deleteIfExists(compactingFile.toPath());
+    }
+
+    /**
+     * Close the journal file
+     */
+    public synchronized void close() {
+        if (channel == null) {
+            return;
+        }
+        try {
+            channel.close();
+        } catch (IOException ignored) {
+        }
+        channel = null;
+    }
+
+    private void open() throws IOException {
+        channel = FileChannel.open(file.toPath(), StandardOpenOption.CREATE,
+            StandardOpenOption.READ, StandardOpenOption.WRITE);
+        dropTornRecord();
+        channel.position(channel.size());
+    }
+
+    /**
+     * Cut a partial record left by a crash so new records start on a fresh line
+     */
+    private void dropTornRecord() throws IOException {
+        long size = channel.size();
+        if (size == 0) {
+            return;
+        }
+
+        ByteBuffer one = ByteBuffer.allocate(1);
+        long end = size;
+        while (end > 0) {
+            one.clear();
+            channel.read(one, end - 1);
+            if (one.get(0) == '\n') {
+                break;
+            }
+            end--;
+        }
+        if (end < size) {
+            channel.truncate(end);
+        }
+    }
+
+    private void append(String record) throws IOException {
+        if (channel == null) {
+            open();
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(record.getBytes(StandardCharsets.UTF_8));
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    private static File compactingFile(File file) {
+        return new File(file.getParentFile(), file.getName() + ".compacting");
+    }
+
+    private static int replay(File source, Handler handler) throws IOException {
+        if (!source.exists()) {
+            return 0;
+        }
+
+        String content = Files.readString(source.toPath(), StandardCharsets.UTF_8);
+        int end = content.lastIndexOf('\n'); // anything after the last newline is a torn write
+        int replayed = 0;
+        int start = 0;
+
+        while (start <= end) {
+            int lineEnd = content.indexOf('\n', start);
+            String[] parts = content.substring(start, lineEnd).split("\t");
+            start = lineEnd + 1;
+
+            try {
+                if (parts.length == 6 && parts[0].equals("L")) {
+                    handler.link(parts[1], Integer.parseInt(parts[2]), Integer.parseInt(parts[3]),
+                        Integer.parseInt(parts[4]), parts[5]);
+                    replayed++;
+                } else if (parts.length == 5 && parts[0].equals("U")) {
+                    handler.unlink(parts[1], Integer.parseInt(parts[2]), Integer.parseInt(parts[3]),
+                        Integer.parseInt(parts[4]));
+                    replayed++;
+                }
+            } catch (NumberFormatException ignored) {
+                // Skip a corrupt record rather than losing the rest of the journal
+            }
+        }
+        return replayed;
+    }
+}
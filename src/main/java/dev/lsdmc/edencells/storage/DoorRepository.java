@@ -0,0 +1,67 @@
+package dev.lsdmc.edencells.storage;
+
+import dev.lsdmc.edencells.utils.LongObjectMap;
+
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * Stores door links as world name -> packed block key -> region ID.
+ * <p>
+ * {@link #linked} and {@link #unlinked} are called by the door manager with its link map
+ * locked, in the order changes were applied. They only record the change; it is made
+ * durable by the next {@link #flush}, which runs on the manager's write-behind thread.
+ */
+public interface DoorRepository {
+
+    /**
+     * Supplies a copy of the current links for backends that write full snapshots
+     */
+    interface SnapshotSource {
+        /**
+         * Copy the current links
+         * @param whileLocked Run while the links are locked, after copying
+         * @return World name -> packed block key -> region ID
+         */
+        Map<String, LongObjectMap<String>> capture(Runnable whileLocked);
+    }
+
+    /**
+     * Load all stored links
+     * @return World name -> packed block key -> region ID
+     * @throws IOException if the data can't be read
+     */
+    Map<String, LongObjectMap<String>> load() throws IOException;
+
+    /**
+     * Record a new or changed link
+     * @return true if a flush should be scheduled
+     */
+    boolean linked(String worldName, long key, String regionId);
+
+    /**
+     * Record a removed link
+     * @return true if a flush should be scheduled
+     */
+    boolean unlinked(String worldName, long key);
+
+    /**
+     * Check if recorded changes still need a flush
+     * @return true if there is something to flush
+     */
+    boolean hasPendingChanges();
+
+    /**
+     * Make recorded changes durable
+     * @param source Current links, for backends that rewrite everything
+     * @throws IOException if writing fails; the changes stay pending
+     */
+    void flush(SnapshotSource source) throws IOException;
+
+    /**
+     * Replace everything stored with the given links (used by migration)
+     * @param links World name -> packed block key -> region ID
+     * @throws IOException if writing fails
+     */
+    void replaceAll(Map<String, LongObjectMap<String>> links) throws IOException;
+}
@@ -0,0 +1,178 @@
+package dev.lsdmc.edencells.storage;
+
+import dev.lsdmc.edencells.utils.AtomicFiles;
+import dev.lsdmc.edencells.utils.BlockKey;
+import dev.lsdmc.edencells.utils.LongObjectMap;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+/**
+ * Binary door link snapshot (doors.bin).
+ * <p>
+ * Layout, big-endian:
+ * <pre>
+ * int magic 'EDCD', int version
+ * int worldCount,  worldCount  x (short length, UTF-8 bytes)
+ * int regionCount, regionCount x (short length, UTF-8 bytes)
+ * int sectionCount, per section: int world, int doorCount, doorCount x (int x, int y, int z, int region)
+ * int CRC32 of everything before it
+ * </pre>
+ * Each world name and region ID is stored once and referenced by index, and loading
+ * hands out the shared table strings, so heap use doesn't grow with one string per door.
+ */
+public final class DoorSnapshotFile {
+
+    private static final int MAGIC = 0x45444344; // "EDCD"
+    private static final int VERSION = 1;
+
+    /**
+     * Receives loaded links
+     */
+    @FunctionalInterface
+    public interface LinkSink {
+        void link(String worldName, int x, int y, int z, String regionId);
+    }
+
+    private DoorSnapshotFile() {} // Utility class
+
+    /**
+     * Atomically write a snapshot
+     * @param file Target file
+     * @param links World name -> packed block key -> region ID
+     * @throws IOException if writing fails
+     */
+    public static void write(File file, Map<String, LongObjectMap<String>> links) throws IOException {
+        List<String> worlds = new ArrayList<>(links.keySet());
+        List<String> regions = new ArrayList<>();
+        Map<String, Integer> regionHandles = new HashMap<>();
+        int doorCount = 0;
+        for (LongObjectMap<String> worldLinks : links.values()) {
+            doorCount += worldLinks.size();
+            worldLinks.forEach((key, regionId) -> regionHandles.computeIfAbsent(regionId, r -> {
+                regions.add(r);
+                return regions.size() - 1;
+            }));
+        }
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(64 + doorCount * 16);
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeInt(MAGIC);
+        out.writeInt(VERSION);
+        writeTable(out, worlds);
+        writeTable(out, regions);
+
+        out.writeInt(worlds.size());
+        for (int w = 0; w < worlds.size(); w++) {
+            LongObjectMap<String> worldLinks = links.get(worlds.get(w));
+            int[] records = new int[worldLinks.size() * 4];
+            int[] next = {0};
+            worldLinks.forEach((key, regionId) -> {
+                int i = next[0];
+                records[i] = BlockKey.x(key);
+                records[i + 1] = BlockKey.y(key);
+                records[i + 2] = BlockKey.z(key);
+                records[i + 3] = regionHandles.get(regionId);
+                next[0] = i + 4;
+            });
+
+            out.writeInt(w);
+            out.writeInt(worldLinks.size());
+            for (int value : records) {
+                out.writeInt(value);
+            }
+        }
+
+        CRC32 crc = new CRC32();
+        crc.update(bytes.toByteArray(), 0, bytes.size());
+        out.writeInt((int) crc.getValue());
+        out.flush();
+
+        AtomicFiles.write(file, bytes.toByteArray());
+    }
+
+    /**
+     * Load a snapshot through a memory-mapped read
+     * @param file Snapshot file
+     * @param sink Receives each link
+     * @return Number of links loaded
+     * @throws IOException if the file is unreadable, corrupt, or from a newer version
+     */
+    public static int read(File file, LinkSink sink) throws IOException {
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < 16 || size > Integer.MAX_VALUE) {
+                throw new IOException("Invalid door snapshot size: " + size);
+            }
+
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            int bodyLength = (int) size - 4;
+
+            CRC32 crc = new CRC32();
+            crc.update(buffer.slice(0, bodyLength));
+            if ((int) crc.getValue() != buffer.getInt(bodyLength)) {
+                throw new IOException("Door snapshot checksum mismatch");
+            }
+
+            if (buffer.getInt() != MAGIC) {
+                throw new IOException("Not a door snapshot");
+            }
+            int version = buffer.getInt();
+            if (version != VERSION) {
+                throw new IOException("Unsupported door snapshot version: " + version);
+            }
+
+            String[] worlds = readTable(buffer);
+            String[] regions = readTable(buffer);
+
+            int loaded = 0;
+            int sections = buffer.getInt();
+            for (int s = 0; s < sections; s++) {
+                String world = worlds[buffer.getInt()];
+                int count = buffer.getInt();
+                for (int i = 0; i < count; i++) {
+                    int x = buffer.getInt();
+                    int y = buffer.getInt();
+                    int z = buffer.getInt();
+                    sink.link(world, x, y, z, regions[buffer.getInt()]);
+                    loaded++;
+                }
+            }
+            return loaded;
+        } catch (IndexOutOfBoundsException | BufferUnderflowException e) {
+            throw new IOException("Truncated or corrupt door snapshot", e);
+        }
+    }
+
+    private static void writeTable(DataOutputStream out, List<String> entries) throws IOException {
+        out.writeInt(entries.size());
+        for (String entry : entries) {
+            byte[] data = entry.getBytes(StandardCharsets.UTF_8);
+            out.writeShort(data.length);
+            out.write(data);
+        }
+    }
+
+    private static String[] readTable(ByteBuffer buffer) {
+        String[] entries = new String[buffer.getInt()];
+        for (int i = 0; i < entries.length; i++) {
+            byte[] data = new byte[buffer.getShort() & 0xFFFF];
+            buffer.get(data);
+            entries[i] = new String(data, StandardCharsets.UTF_8);
+        }
+        return entries;
+    }
+}
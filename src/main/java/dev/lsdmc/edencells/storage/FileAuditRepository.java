@@ -0,0 +1,369 @@
+package dev.lsdmc.edencells.storage;
+
+import dev.lsdmc.edencells.EdenCells;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Audit trail as a plain text log, one line per record.
+ * The log file stays open between appends; each batch is encoded into a reusable
+ * direct buffer and written to the channel in as few writes as possible.
+ * The active file is rotated by size and by day; see {@link AuditLogRotator}.
+ * Every segment has an {@link AuditIndex}: the active one is kept in memory as lines are
+ * written, rotated ones are saved as sidecar files and cached while queries use them.
+ */
+final class FileAuditRepository implements AuditRepository {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final int CACHED_INDEXES = 8;
+
+    private final EdenCells plugin;
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+    private final CharsetEncoder encoder = StandardCharsets.UTF_8.newEncoder();
+
+    private final AuditLogRotator rotator;
+
+    // Open log file, guarded by this
+    private FileChannel channel;
+    private File channelFile;
+    private long channelSize;
+    private LocalDate segmentDay;   // day of the last entry in the open file
+    private File archivedFile;      // log file whose old segments were already checked
+    private AuditIndex activeIndex; // index of the open file
+
+    // Segment name -> index of a rotated segment, guarded by the rotator
+    private final Map<String, AuditIndex> segmentIndexes = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, AuditIndex> eldest) {
+            return size() > CACHED_INDEXES;
+        }
+    };
+
+    FileAuditRepository(EdenCells plugin) {
+        this.plugin = plugin;
+        this.rotator = new AuditLogRotator(plugin);
+    }
+
+    @Override
+    public synchronized void append(List<AuditRecord> records) throws IOException {
+        if (records.isEmpty()) {
+            return;
+        }
+
+        FileChannel out = openChannel();
+        try {
+            buffer.clear();
+            for (AuditRecord record : records) {
+                activeIndex.add(channelSize + buffer.position(), record);
+                CharBuffer line = CharBuffer.wrap(record.toLogLine());
+                while (encoder.encode(line, buffer, true).isOverflow()) {
+                    drain(out);
+                }
+                encoder.reset();
+            }
+            drain(out);
+            segmentDay = LocalDate.now();
+        } catch (IOException e) {
+            // Reopen (and re-index) on the next append in case the file was moved or the handle went bad
+            closeChannel();
+            throw e;
+        }
+    }
+
+    /*
+     * Readers hold the rotator's monitor throughout, so the archiver can't compress or delete
+     * segments under them, and this object's monitor only while capturing the active file.
+     * The writer never waits on the rotator, so a long export or query doesn't stall appends.
+     * Rotation happens under this object's monitor, so the segment list and active file
+     * captured together never share lines.
+     */
+
+    @Override
+    public boolean copyTo(OutputStream out) throws IOException {
+        synchronized (rotator) {
+            List<File> segments;
+            FileChannel active = null;
+            long activeLength = 0;
+            synchronized (this) {
+                File auditFile = getFile();
+                segments = rotator.segments(auditFile);
+                if (auditFile.exists()) {
+                    active = FileChannel.open(auditFile.toPath(), StandardOpenOption.READ);
+                    activeLength = auditFile.equals(channelFile) ? channelSize : active.size();
+                }
+            }
+
+            try {
+                boolean copied = false;
+                for (File segment : segments) {
+                    try (InputStream in = AuditLogRotator.open(segment)) {
+                        in.transferTo(out);
+                        copied = true;
+                    } catch (NoSuchFileException e) {
+                        // Deleted by hand since listing
+                    }
+                }
+
+                if (active != null) {
+                    WritableByteChannel target = Channels.newChannel(out);
+                    long position = 0;
+                    while (position < activeLength) {
+                        long sent = active.transferTo(position, activeLength - position, target);
+                        if (sent <= 0) {
+                            break; // truncated by hand
+                        }
+                        position += sent;
+                    }
+                    copied = true;
+                }
+                return copied;
+            } finally {
+                if (active != null) {
+                    active.close();
+                }
+            }
+        }
+    }
+
+    @Override
+    public AuditPage query(AuditQuery query) throws IOException {
+        synchronized (rotator) {
+            File auditFile;
+            List<File> segments;
+            AuditIndex index;
+            FileChannel active;
+            synchronized (this) {
+                auditFile = getFile();
+                openChannel();
+                segments = rotator.segments(auditFile);
+                index = activeIndex.copy();
+                // Opened now so a rotation afterwards still leaves the lines the copy points at
+                active = FileChannel.open(auditFile.toPath(), StandardOpenOption.READ);
+            }
+
+            List<AuditRecord> records = new ArrayList<>(query.pageSize());
+            Cursor cursor = new Cursor(query.offset());
+            try (active) {
+                collect(() -> Channels.newInputStream(active), index, query, cursor, records);
+            }
+
+            // Rotated segments, newest first
+            for (int i = segments.size() - 1; i >= 0; i--) {
+                File segment = segments.get(i);
+                if (rotator.endOfDay(auditFile, segment) <= query.from()) {
+                    break; // this and all older segments end before the range starts
+                }
+                collect(() -> AuditLogRotator.open(segment), segmentIndex(segment), query, cursor, records);
+            }
+
+            return new AuditPage(records, cursor.total, query.page(), query.pageSize());
+        }
+    }
+
+    /**
+     * Close the log file and finish pending archiving; the next append reopens it
+     */
+    void close() {
+        synchronized (this) {
+            closeChannel();
+        }
+        // Not under this object's monitor: a reader holding the rotator may be waiting for it
+        rotator.close();
+    }
+
+    private void collect(SegmentSource source, AuditIndex index, AuditQuery query, Cursor cursor,
+                         List<AuditRecord> records) throws IOException {
+        int matches = index.count(query);
+        cursor.total += matches;
+        if (matches == 0) {
+            return;
+        }
+        if (cursor.skip >= matches) {
+            cursor.skip -= matches;
+            return;
+        }
+
+        int wanted = query.pageSize() - records.size();
+        if (wanted <= 0) {
+            return;
+        }
+        long[] offsets = index.select(query, cursor.skip, wanted);
+        cursor.skip = 0;
+        records.addAll(readEntries(source, offsets));
+    }
+
+    private List<AuditRecord> readEntries(SegmentSource source, long[] offsets) throws IOException {
+        // Read in file order, return in the order asked for
+        long[] sorted = offsets.clone();
+        Arrays.sort(sorted);
+        Map<Long, AuditRecord> found = new LinkedHashMap<>();
+        try (InputStream in = source.open()) {
+            AuditIndex.LineReader reader = new AuditIndex.LineReader(in);
+            for (long offset : sorted) {
+                reader.skipTo(offset);
+                AuditRecord record = AuditRecord.parse(reader.next());
+                if (record != null) {
+                    found.put(offset, record);
+                }
+            }
+        }
+
+        List<AuditRecord> result = new ArrayList<>(offsets.length);
+        for (long offset : offsets) {
+            AuditRecord record = found.get(offset);
+            if (record != null) {
+                result.add(record);
+            }
+        }
+        return result;
+    }
+
+    private AuditIndex segmentIndex(File segment) throws IOException {
+        File sidecar = rotator.indexFile(segment);
+        AuditIndex index = segmentIndexes.get(sidecar.getName());
+        if (index != null) {
+            return index;
+        }
+
+        if (sidecar.exists()) {
+            try {
+                index = AuditIndex.read(sidecar);
+            } catch (IOException e) {
+                plugin.getLogger().warning("Rebuilding audit index " + sidecar.getName() + ": " + e.getMessage());
+            }
+        }
+        if (index == null) {
+            try (InputStream in = AuditLogRotator.open(segment)) {
+                index = AuditIndex.build(in);
+            }
+            index.write(sidecar);
+        }
+
+        segmentIndexes.put(sidecar.getName(), index);
+        return index;
+    }
+
+    private void drain(FileChannel out) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channelSize += out.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    private FileChannel openChannel() throws IOException {
+        // The log file setting can change on reload
+        File auditFile = getFile();
+        if (channel == null || !channel.isOpen() || !auditFile.equals(channelFile)) {
+            closeChannel();
+            open(auditFile);
+        }
+
+        if (needsRotation()) {
+            AuditIndex rotatedIndex = activeIndex;
+            closeChannel();
+            try {
+                rotator.rotate(auditFile, segmentDay, rotatedIndex);
+            } catch (IOException e) {
+                plugin.getLogger().warning("Failed to rotate audit log: " + e.getMessage());
+            }
+            open(auditFile);
+        }
+        return channel;
+    }
+
+    private void open(File auditFile) throws IOException {
+        // Ensure parent directory exists
+        if (!auditFile.getParentFile().exists()) {
+            auditFile.getParentFile().mkdirs();
+        }
+
+        channel = FileChannel.open(auditFile.toPath(),
+            StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        channelFile = auditFile;
+        channelSize = channel.size();
+        activeIndex = new AuditIndex();
+        if (channelSize > 0) {
+            try (InputStream in = Files.newInputStream(auditFile.toPath())) {
+                activeIndex = AuditIndex.build(in);
+            }
+        }
+        segmentDay = channelSize > 0
+            ? LocalDate.ofInstant(Instant.ofEpochMilli(auditFile.lastModified()), ZoneId.systemDefault())
+            : LocalDate.now();
+
+        // Compress segments left over from a crash and apply retention once per file
+        if (!auditFile.equals(archivedFile)) {
+            archivedFile = auditFile;
+            rotator.schedule(auditFile);
+        }
+    }
+
+    private boolean needsRotation() {
+        if (channelSize == 0) {
+            return false;
+        }
+        long maxBytes = rotator.getMaxBytes();
+        return (maxBytes > 0 && channelSize >= maxBytes)
+            || (rotator.isDaily() && !LocalDate.now().equals(segmentDay));
+    }
+
+    private void closeChannel() {
+        if (channel == null) {
+            return;
+        }
+        try {
+            channel.close();
+        } catch (IOException e) {
+            plugin.getLogger().warning("Failed to close audit log: " + e.getMessage());
+        }
+        channel = null;
+        channelFile = null;
+        activeIndex = null;
+    }
+
+    private File getFile() {
+        return new File(plugin.getDataFolder(), plugin.getSettings().auditLog().file());
+    }
+
+    /**
+     * Opens the plain text of a segment
+     */
+    @FunctionalInterface
+    private interface SegmentSource {
+        InputStream open() throws IOException;
+    }
+
+    /**
+     * Position of a query across segments
+     */
+    private static final class Cursor {
+        private int skip;   // matches before the requested page not yet passed
+        private int total;  // matches seen so far
+
+        private Cursor(int skip) {
+            this.skip = skip;
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package dev.lsdmc.edencells.storage;
+
+import java.util.Map;
+
+/**
+ * All stored cell group data
+ * @param globalLimit Global cell limit (-1 for none)
+ * @param groups Group name -> group, in file order
+ */
+public record GroupData(int globalLimit, Map<String, GroupRecord> groups) {
+}
@@ -0,0 +1,10 @@
+package dev.lsdmc.edencells.storage;
+
+import java.util.List;
+
+/**
+ * Stored state of one cell group. Unset options use -1, false and null.
+ */
+public record GroupRecord(String displayName, List<String> regions, int cellLimit,
+                          double teleportCost, boolean donor, String permission) {
+}
@@ -0,0 +1,26 @@
+package dev.lsdmc.edencells.storage;
+
+import java.io.IOException;
+import java.util.Set;
+
+/**
+ * Stores cell groups and the global cell limit
+ */
+public interface GroupRepository {
+
+    /**
+     * Load all groups
+     * @return The stored data
+     * @throws IOException if the data can't be read
+     */
+    GroupData load() throws IOException;
+
+    /**
+     * Store the groups. Groups missing from the data are removed.
+     * @param data All groups
+     * @param changed Names of groups changed since the last save; backends that rewrite
+     *                everything may ignore it
+     * @throws IOException if writing fails
+     */
+    void save(GroupData data, Set<String> changed) throws IOException;
+}
@@ -0,0 +1,26 @@
+package dev.lsdmc.edencells.storage;
+
+import dev.lsdmc.edencells.managers.TeleportNPCManager.NPCConfig;
+
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * Stores teleport NPC configurations by Citizens NPC ID
+ */
+public interface NPCRepository {
+
+    /**
+     * Load all NPC configurations
+     * @return NPC ID -> configuration
+     * @throws IOException if the data can't be read
+     */
+    Map<Integer, NPCConfig> load() throws IOException;
+
+    /**
+     * Store the NPC configurations. NPCs missing from the map are removed.
+     * @param configs NPC ID -> configuration
+     * @throws IOException if writing fails
+     */
+    void save(Map<Integer, NPCConfig> configs) throws IOException;
+}
@@ -0,0 +1,614 @@
+package dev.lsdmc.edencells.storage;
+
+import dev.lsdmc.edencells.EdenCells;
+import dev.lsdmc.edencells.managers.TeleportNPCManager.NPCConfig;
+import dev.lsdmc.edencells.utils.BlockKey;
+import dev.lsdmc.edencells.utils.LongObjectMap;
+
+import java.io.File;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Embedded SQLite database (edencells.db) using the driver bundled with the server.
+ * <p>
+ * Changes are written as row-level updates: door link changes are queued and applied in
+ * one batched transaction per flush, and only changed cell groups and NPCs are rewritten.
+ * All access goes through one connection, serialized on this backend.
+ */
+final class SqliteStorageBackend implements StorageBackend {
+
+    private static final String[] SCHEMA = {
+        "CREATE TABLE IF NOT EXISTS door_links (world TEXT NOT NULL, x INTEGER NOT NULL, y INTEGER NOT NULL, "
+            + "z INTEGER NOT NULL, region_id TEXT NOT NULL, PRIMARY KEY (world, x, y, z)) WITHOUT ROWID",
+        "CREATE INDEX IF NOT EXISTS door_links_region ON door_links (region_id)",
+        "CREATE TABLE IF NOT EXISTS cell_groups (name TEXT PRIMARY KEY, display_name TEXT NOT NULL, "
+            + "cell_limit INTEGER NOT NULL, teleport_cost REAL NOT NULL, donor INTEGER NOT NULL, permission TEXT)",
+        "CREATE TABLE IF NOT EXISTS cell_group_regions (group_name TEXT NOT NULL, position INTEGER NOT NULL, "
+            + "region_id TEXT NOT NULL, PRIMARY KEY (group_name, position)) WITHOUT ROWID",
+        "CREATE INDEX IF NOT EXISTS cell_group_regions_region ON cell_group_regions (region_id)",
+        "CREATE TABLE IF NOT EXISTS settings (name TEXT PRIMARY KEY, value TEXT)",
+        "CREATE TABLE IF NOT EXISTS teleport_npcs (npc_id INTEGER PRIMARY KEY, name TEXT NOT NULL, "
+            + "cell_group TEXT NOT NULL, world TEXT NOT NULL, require_payment INTEGER NOT NULL, cost REAL NOT NULL)",
+        "CREATE TABLE IF NOT EXISTS audit_log (id INTEGER PRIMARY KEY AUTOINCREMENT, time INTEGER NOT NULL, "
+            + "player_uuid TEXT, player_name TEXT, action TEXT NOT NULL, target TEXT, details TEXT)",
+        "CREATE INDEX IF NOT EXISTS audit_log_player ON audit_log (player_uuid, time)",
+        "CREATE INDEX IF NOT EXISTS audit_log_action ON audit_log (action, time)",
+        "CREATE INDEX IF NOT EXISTS audit_log_player_name ON audit_log (player_name COLLATE NOCASE, time)",
+        "CREATE INDEX IF NOT EXISTS audit_log_target ON audit_log (target COLLATE NOCASE, time)"
+    };
+
+    private static final String UPSERT_DOOR =
+        "INSERT INTO door_links (world, x, y, z, region_id) VALUES (?, ?, ?, ?, ?) "
+            + "ON CONFLICT (world, x, y, z) DO UPDATE SET region_id = excluded.region_id";
+    private static final String DELETE_DOOR = "DELETE FROM door_links WHERE world = ? AND x = ? AND y = ? AND z = ?";
+
+    private final EdenCells plugin;
+    private final File file;
+    private final Connection connection;
+
+    private final Doors doors = new Doors();
+    private final Groups groups = new Groups();
+    private final NPCs npcs = new NPCs();
+    private final Audit audit = new Audit();
+
+    SqliteStorageBackend(EdenCells plugin, File file) throws IOException {
+        this.plugin = plugin;
+        this.file = file;
+
+        try {
+            Class.forName("org.sqlite.JDBC");
+        } catch (ClassNotFoundException e) {
+            throw new IOException("SQLite driver is not available on this server");
+        }
+
+        try {
+            this.connection = DriverManager.getConnection("jdbc:sqlite:" + file.getAbsolutePath());
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("PRAGMA journal_mode=WAL");
+                statement.execute("PRAGMA synchronous=NORMAL");
+                for (String sql : SCHEMA) {
+                    statement.execute(sql);
+                }
+            }
+        } catch (SQLException e) {
+            throw new IOException("Failed to open " + file.getName() + ": " + e.getMessage(), e);
+        }
+        plugin.debug("Opened SQLite storage at " + file.getName());
+    }
+
+    @Override
+    public String getName() {
+        return StorageBackends.SQLITE;
+    }
+
+    @Override
+    public DoorRepository doors() {
+        return doors;
+    }
+
+    @Override
+    public GroupRepository groups() {
+        return groups;
+    }
+
+    @Override
+    public NPCRepository npcs() {
+        return npcs;
+    }
+
+    @Override
+    public AuditRepository audit() {
+        return audit;
+    }
+
+    @Override
+    public synchronized void close() {
+        try {
+            connection.close();
+        } catch (SQLException e) {
+            plugin.getLogger().warning("Failed to close " + file.getName() + ": " + e.getMessage());
+        }
+    }
+
+    private interface SqlWork<T> {
+        T run(Connection connection) throws SQLException;
+    }
+
+    /**
+     * Run work in one transaction, rolling back if it fails
+     */
+    private synchronized <T> T transaction(SqlWork<T> work) throws IOException {
+        try {
+            connection.setAutoCommit(false);
+            try {
+                T result = work.run(connection);
+                connection.commit();
+                return result;
+            } catch (SQLException | RuntimeException e) {
+                connection.rollback();
+                throw e;
+            } finally {
+                connection.setAutoCommit(true);
+            }
+        } catch (SQLException e) {
+            throw new IOException(file.getName() + ": " + e.getMessage(), e);
+        }
+    }
+
+    private static void bindDoor(PreparedStatement statement, String worldName, long key) throws SQLException {
+        statement.setString(1, worldName);
+        statement.setInt(2, BlockKey.x(key));
+        statement.setInt(3, BlockKey.y(key));
+        statement.setInt(4, BlockKey.z(key));
+    }
+
+    private record DoorKey(String worldName, long key) {
+    }
+
+    private final class Doors implements DoorRepository {
+
+        // Changes waiting for the next flush; a null region means unlinked. Guarded by itself.
+        private final Map<DoorKey, String> pending = new HashMap<>();
+        // Batch being written by a flush, until it commits. Guarded by pending.
+        private Map<DoorKey, String> inFlight = Map.of();
+
+        @Override
+        public Map<String, LongObjectMap<String>> load() throws IOException {
+            Map<String, LongObjectMap<String>> links = readLinks();
+
+            // Unflushed changes are newer than the rows; they are still written by the next flush
+            synchronized (pending) {
+                applyChanges(links, inFlight);
+                applyChanges(links, pending);
+            }
+            return links;
+        }
+
+        private void applyChanges(Map<String, LongObjectMap<String>> links, Map<DoorKey, String> changes) {
+            for (Map.Entry<DoorKey, String> change : changes.entrySet()) {
+                DoorKey door = change.getKey();
+                if (change.getValue() != null) {
+                    links.computeIfAbsent(door.worldName(), w -> new LongObjectMap<>()).put(door.key(), change.getValue());
+                } else {
+                    LongObjectMap<String> worldLinks = links.get(door.worldName());
+                    if (worldLinks != null) {
+                        worldLinks.remove(door.key());
+                    }
+                }
+            }
+        }
+
+        private Map<String, LongObjectMap<String>> readLinks() throws IOException {
+            return transaction(connection -> {
+                Map<String, LongObjectMap<String>> links = new HashMap<>();
+                Map<String, String> regionIds = new HashMap<>();
+                try (Statement statement = connection.createStatement();
+                     ResultSet rows = statement.executeQuery("SELECT world, x, y, z, region_id FROM door_links")) {
+                    while (rows.next()) {
+                        String regionId = regionIds.computeIfAbsent(rows.getString(5), r -> r);
+                        links.computeIfAbsent(rows.getString(1), w -> new LongObjectMap<>())
+                            .put(BlockKey.pack(rows.getInt(2), rows.getInt(3), rows.getInt(4)), regionId);
+                    }
+                }
+                return links;
+            });
+        }
+
+        @Override
+        public boolean linked(String worldName, long key, String regionId) {
+            synchronized (pending) {
+                pending.put(new DoorKey(worldName, key), regionId);
+            }
+            return true;
+        }
+
+        @Override
+        public boolean unlinked(String worldName, long key) {
+            synchronized (pending) {
+                pending.put(new DoorKey(worldName, key), null);
+            }
+            return true;
+        }
+
+        @Override
+        public boolean hasPendingChanges() {
+            synchronized (pending) {
+                return !pending.isEmpty();
+            }
+        }
+
+        @Override
+        public void flush(SnapshotSource source) throws IOException {
+            Map<DoorKey, String> batch;
+            synchronized (pending) {
+                if (pending.isEmpty()) {
+                    return;
+                }
+                batch = new HashMap<>(pending);
+                pending.clear();
+                inFlight = batch;
+            }
+
+            try {
+                transaction(connection -> {
+                    try (PreparedStatement upsert = connection.prepareStatement(UPSERT_DOOR);
+                         PreparedStatement delete = connection.prepareStatement(DELETE_DOOR)) {
+                        for (Map.Entry<DoorKey, String> change : batch.entrySet()) {
+                            DoorKey door = change.getKey();
+                            if (change.getValue() != null) {
+                                bindDoor(upsert, door.worldName(), door.key());
+                                upsert.setString(5, change.getValue());
+                                upsert.addBatch();
+                            } else {
+                                bindDoor(delete, door.worldName(), door.key());
+                                delete.addBatch();
+                            }
+                        }
+                        upsert.executeBatch();
+                        delete.executeBatch();
+                    }
+                    return null;
+                });
+            } catch (IOException e) {
+                // Put the batch back unless the same door changed again meanwhile
+                synchronized (pending) {
+                    for (Map.Entry<DoorKey, String> change : batch.entrySet()) {
+                        if (!pending.containsKey(change.getKey())) {
+                            pending.put(change.getKey(), change.getValue());
+                        }
+                    }
+                    inFlight = Map.of();
+                }
+                throw e;
+            }
+            synchronized (pending) {
+                inFlight = Map.of();
+            }
+            plugin.debug("Wrote " + batch.size() + " door link changes");
+        }
+
+        @Override
+        public void replaceAll(Map<String, LongObjectMap<String>> links) throws IOException {
+            transaction(connection -> {
+                try (Statement clear = connection.createStatement();
+                     PreparedStatement insert = connection.prepareStatement(UPSERT_DOOR)) {
+                    clear.executeUpdate("DELETE FROM door_links");
+                    for (Map.Entry<String, LongObjectMap<String>> world : links.entrySet()) {
+                        SQLException[] failure = new SQLException[1];
+                        world.getValue().forEach((key, regionId) -> {
+                            if (failure[0] != null) {
+                                return;
+                            }
+                            try {
+                                bindDoor(insert, world.getKey(), key);
+                                insert.setString(5, regionId);
+                                insert.addBatch();
+                            } catch (SQLException e) {
+                                failure[0] = e;
+                            }
+                        });
+                        if (failure[0] != null) {
+                            throw failure[0];
+                        }
+                    }
+                    insert.executeBatch();
+                }
+                return null;
+            });
+            synchronized (pending) {
+                pending.clear();
+            }
+        }
+    }
+
+    private final class Groups implements GroupRepository {
+
+        @Override
+        public GroupData load() throws IOException {
+            return transaction(connection -> {
+                int globalLimit = -1;
+                try (PreparedStatement statement = connection.prepareStatement("SELECT value FROM settings WHERE name = ?")) {
+                    statement.setString(1, "global-cell-limit");
+                    try (ResultSet rows = statement.executeQuery()) {
+                        if (rows.next()) {
+                            globalLimit = Integer.parseInt(rows.getString(1));
+                        }
+                    }
+                } catch (NumberFormatException e) {
+                    plugin.getLogger().warning("Invalid global cell limit in " + file.getName());
+                }
+
+                Map<String, List<String>> regions = new HashMap<>();
+                try (Statement statement = connection.createStatement();
+                     ResultSet rows = statement.executeQuery(
+                         "SELECT group_name, region_id FROM cell_group_regions ORDER BY group_name, position")) {
+                    while (rows.next()) {
+                        regions.computeIfAbsent(rows.getString(1), g -> new ArrayList<>()).add(rows.getString(2));
+                    }
+                }
+
+                // Insertion order, so region conflicts resolve the same way after a reload
+                Map<String, GroupRecord> groups = new LinkedHashMap<>();
+                try (Statement statement = connection.createStatement();
+                     ResultSet rows = statement.executeQuery("SELECT name, display_name, cell_limit, teleport_cost, "
+                         + "donor, permission FROM cell_groups ORDER BY rowid")) {
+                    while (rows.next()) {
+                        String name = rows.getString(1);
+                        groups.put(name, new GroupRecord(rows.getString(2), regions.getOrDefault(name, List.of()),
+                            rows.getInt(3), rows.getDouble(4), rows.getInt(5) != 0, rows.getString(6)));
+                    }
+                }
+                return new GroupData(globalLimit, groups);
+            });
+        }
+
+        @Override
+        public void save(GroupData data, Set<String> changed) throws IOException {
+            int written = transaction(connection -> {
+                try (PreparedStatement statement = connection.prepareStatement(
+                        "INSERT INTO settings (name, value) VALUES (?, ?) ON CONFLICT (name) DO UPDATE SET value = excluded.value")) {
+                    statement.setString(1, "global-cell-limit");
+                    statement.setString(2, Integer.toString(data.globalLimit()));
+                    statement.executeUpdate();
+                }
+
+                Set<String> stored = new HashSet<>();
+                try (Statement statement = connection.createStatement();
+                     ResultSet rows = statement.executeQuery("SELECT name FROM cell_groups")) {
+                    while (rows.next()) {
+                        stored.add(rows.getString(1));
+                    }
+                }
+
+                int count = 0;
+                try (PreparedStatement deleteGroup = connection.prepareStatement("DELETE FROM cell_groups WHERE name = ?");
+                     PreparedStatement deleteRegions = connection.prepareStatement(
+                         "DELETE FROM cell_group_regions WHERE group_name = ?");
+                     PreparedStatement upsertGroup = connection.prepareStatement(
+                         "INSERT INTO cell_groups (name, display_name, cell_limit, teleport_cost, donor, permission) "
+                             + "VALUES (?, ?, ?, ?, ?, ?) ON CONFLICT (name) DO UPDATE SET "
+                             + "display_name = excluded.display_name, cell_limit = excluded.cell_limit, "
+                             + "teleport_cost = excluded.teleport_cost, donor = excluded.donor, "
+                             + "permission = excluded.permission");
+                     PreparedStatement insertRegion = connection.prepareStatement(
+                         "INSERT INTO cell_group_regions (group_name, position, region_id) VALUES (?, ?, ?)")) {
+
+                    for (String name : stored) {
+                        if (!data.groups().containsKey(name)) {
+                            deleteGroup.setString(1, name);
+                            deleteGroup.addBatch();
+                            deleteRegions.setString(1, name);
+                            deleteRegions.addBatch();
+                        }
+                    }
+
+                    for (Map.Entry<String, GroupRecord> entry : data.groups().entrySet()) {
+                        String name = entry.getKey();
+                        if (stored.contains(name) && !changed.contains(name)) {
+                            continue;
+                        }
+                        GroupRecord group = entry.getValue();
+                        upsertGroup.setString(1, name);
+                        upsertGroup.setString(2, group.displayName());
+                        upsertGroup.setInt(3, group.cellLimit());
+                        upsertGroup.setDouble(4, group.teleportCost());
+                        upsertGroup.setInt(5, group.donor() ? 1 : 0);
+                        upsertGroup.setString(6, group.permission());
+                        upsertGroup.addBatch();
+
+                        deleteRegions.setString(1, name);
+                        deleteRegions.addBatch();
+                        int position = 0;
+                        for (String regionId : group.regions()) {
+                            insertRegion.setString(1, name);
+                            insertRegion.setInt(2, position++);
+                            insertRegion.setString(3, regionId);
+                            insertRegion.addBatch();
+                        }
+                        count++;
+                    }
+
+                    deleteGroup.executeBatch();
+                    deleteRegions.executeBatch();
+                    upsertGroup.executeBatch();
+                    insertRegion.executeBatch();
+                }
+                return count;
+            });
+            plugin.debug("Wrote " + written + " changed cell groups");
+        }
+    }
+
+    private final class NPCs implements NPCRepository {
+
+        // Last loaded or saved state, so saves only touch changed rows; null when unknown
+        private Map<Integer, NPCConfig> stored;
+
+        @Override
+        public Map<Integer, NPCConfig> load() throws IOException {
+            Map<Integer, NPCConfig> loaded = transaction(connection -> {
+                Map<Integer, NPCConfig> configs = new HashMap<>();
+                try (Statement statement = connection.createStatement();
+                     ResultSet rows = statement.executeQuery(
+                         "SELECT npc_id, name, cell_group, world, require_payment, cost FROM teleport_npcs")) {
+                    while (rows.next()) {
+                        configs.put(rows.getInt(1), new NPCConfig(rows.getString(2), rows.getString(3),
+                            rows.getString(4), rows.getInt(5) != 0, rows.getDouble(6)));
+                    }
+                }
+                return configs;
+            });
+            synchronized (this) {
+                stored = Map.copyOf(loaded);
+            }
+            return loaded;
+        }
+
+        @Override
+        public synchronized void save(Map<Integer, NPCConfig> configs) throws IOException {
+            Map<Integer, NPCConfig> previous = stored;
+            transaction(connection -> {
+                try (Statement clear = connection.createStatement();
+                     PreparedStatement delete = connection.prepareStatement("DELETE FROM teleport_npcs WHERE npc_id = ?");
+                     PreparedStatement upsert = connection.prepareStatement(
+                         "INSERT INTO teleport_npcs (npc_id, name, cell_group, world, require_payment, cost) "
+                             + "VALUES (?, ?, ?, ?, ?, ?) ON CONFLICT (npc_id) DO UPDATE SET name = excluded.name, "
+                             + "cell_group = excluded.cell_group, world = excluded.world, "
+                             + "require_payment = excluded.require_payment, cost = excluded.cost")) {
+
+                    if (previous == null) {
+                        clear.executeUpdate("DELETE FROM teleport_npcs");
+                    } else {
+                        for (Integer npcId : previous.keySet()) {
+                            if (!configs.containsKey(npcId)) {
+                                delete.setInt(1, npcId);
+                                delete.addBatch();
+                            }
+                        }
+                    }
+
+                    for (Map.Entry<Integer, NPCConfig> entry : configs.entrySet()) {
+                        NPCConfig npc = entry.getValue();
+                        if (previous != null && Objects.equals(previous.get(entry.getKey()), npc)) {
+                            continue;
+                        }
+                        upsert.setInt(1, entry.getKey());
+                        upsert.setString(2, npc.name());
+                        upsert.setString(3, npc.cellGroupName());
+                        upsert.setString(4, npc.worldName());
+                        upsert.setInt(5, npc.requirePayment() ? 1 : 0);
+                        upsert.setDouble(6, npc.cost());
+                        upsert.addBatch();
+                    }
+
+                    delete.executeBatch();
+                    upsert.executeBatch();
+                }
+                return null;
+            });
+            stored = Map.copyOf(configs);
+        }
+    }
+
+    private final class Audit implements AuditRepository {
+
+        @Override
+        public void append(List<AuditRecord> records) throws IOException {
+            transaction(connection -> {
+                try (PreparedStatement insert = connection.prepareStatement(
+                        "INSERT INTO audit_log (time, player_uuid, player_name, action, target, details) "
+                            + "VALUES (?, ?, ?, ?, ?, ?)")) {
+                    for (AuditRecord record : records) {
+                        insert.setLong(1, record.time());
+                        insert.setString(2, record.playerId() != null ? record.playerId().toString() : null);
+                        insert.setString(3, record.playerName());
+                        insert.setString(4, record.action());
+                        insert.setString(5, record.target());
+                        insert.setString(6, record.details());
+                        insert.addBatch();
+                    }
+                    insert.executeBatch();
+                }
+                return null;
+            });
+        }
+
+        @Override
+        public boolean copyTo(OutputStream out) throws IOException {
+            Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+            int count = transaction(connection -> {
+                int rows = 0;
+                try (Statement statement = connection.createStatement();
+                     ResultSet result = statement.executeQuery("SELECT time, player_uuid, player_name, action, "
+                         + "target, details FROM audit_log ORDER BY id")) {
+                    while (result.next()) {
+                        String playerId = result.getString(2);
+                        AuditRecord record = new AuditRecord(result.getLong(1),
+                            playerId != null ? UUID.fromString(playerId) : null, result.getString(3),
+                            result.getString(4), result.getString(5), result.getString(6));
+                        writer.write(record.toLogLine());
+                        rows++;
+                    }
+                } catch (IOException e) {
+                    throw new SQLException("Failed to write audit export", e);
+                }
+                return rows;
+            });
+            writer.flush();
+            return count > 0;
+        }
+
+        @Override
+        public AuditPage query(AuditQuery query) throws IOException {
+            StringBuilder where = new StringBuilder(" WHERE time >= ? AND time < ?");
+            List<Object> params = new ArrayList<>(List.of(query.from(), query.to()));
+            if (query.playerName() != null) {
+                where.append(" AND player_name = ? COLLATE NOCASE");
+                params.add(query.playerName());
+            }
+            if (query.action() != null) {
+                // Actions are logged as upper-case constants; comparing exactly keeps the index usable
+                where.append(" AND action = ?");
+                params.add(query.action().toUpperCase(Locale.ROOT));
+            }
+            if (query.target() != null) {
+                where.append(" AND target = ? COLLATE NOCASE");
+                params.add(query.target());
+            }
+
+            return transaction(connection -> {
+                int total;
+                try (PreparedStatement count = connection.prepareStatement("SELECT COUNT(*) FROM audit_log" + where)) {
+                    bind(count, params);
+                    try (ResultSet result = count.executeQuery()) {
+                        total = result.next() ? result.getInt(1) : 0;
+                    }
+                }
+
+                List<AuditRecord> records = new ArrayList<>(query.pageSize());
+                try (PreparedStatement select = connection.prepareStatement("SELECT time, player_uuid, player_name, "
+                        + "action, target, details FROM audit_log" + where + " ORDER BY time DESC, id DESC LIMIT ? OFFSET ?")) {
+                    bind(select, params);
+                    select.setInt(params.size() + 1, query.pageSize());
+                    select.setInt(params.size() + 2, query.offset());
+                    try (ResultSet result = select.executeQuery()) {
+                        while (result.next()) {
+                            String playerId = result.getString(2);
+                            records.add(new AuditRecord(result.getLong(1),
+                                playerId != null ? UUID.fromString(playerId) : null, result.getString(3),
+                                result.getString(4), result.getString(5), result.getString(6)));
+                        }
+                    }
+                }
+                return new AuditPage(records, total, query.page(), query.pageSize());
+            });
+        }
+
+        private void bind(PreparedStatement statement, List<Object> params) throws SQLException {
+            for (int i = 0; i < params.size(); i++) {
+                statement.setObject(i + 1, params.get(i));
+            }
+        }
+    }
+}
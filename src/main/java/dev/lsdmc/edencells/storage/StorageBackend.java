@@ -0,0 +1,43 @@
+package dev.lsdmc.edencells.storage;
+
+/**
+ * Where EdenCells keeps its persistent state. Each kind of data has its own repository;
+ * managers keep working copies in memory and hand changes to the repository to store.
+ */
+public interface StorageBackend {
+
+    /**
+     * Get the backend name as used for storage.type in config.yml
+     * @return The name
+     */
+    String getName();
+
+    /**
+     * Get the door link repository
+     * @return Door links
+     */
+    DoorRepository doors();
+
+    /**
+     * Get the cell group repository
+     * @return Cell groups
+     */
+    GroupRepository groups();
+
+    /**
+     * Get the teleport NPC repository
+     * @return NPC configurations
+     */
+    NPCRepository npcs();
+
+    /**
+     * Get the audit trail repository
+     * @return Audit records
+     */
+    AuditRepository audit();
+
+    /**
+     * Release files and connections. Managers must have flushed their changes first.
+     */
+    void close();
+}
@@ -0,0 +1,75 @@
+package dev.lsdmc.edencells.storage;
+
+import dev.lsdmc.edencells.EdenCells;
+import dev.lsdmc.edencells.managers.TeleportNPCManager.NPCConfig;
+import dev.lsdmc.edencells.utils.Constants;
+import dev.lsdmc.edencells.utils.LongObjectMap;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Creates storage backends and copies data between them
+ */
+public final class StorageBackends {
+
+    public static final String YAML = "yaml";
+    public static final String SQLITE = "sqlite";
+    public static final List<String> TYPES = List.of(YAML, SQLITE);
+
+    private StorageBackends() {} // Utility class
+
+    /**
+     * Open the backend configured under storage.type
+     * @param plugin Plugin instance
+     * @return The backend
+     * @throws IOException if it can't be opened
+     */
+    public static StorageBackend open(EdenCells plugin) throws IOException {
+        return open(plugin, plugin.getConfig().getString(Constants.Config.STORAGE_TYPE, YAML));
+    }
+
+    /**
+     * Open a backend by type
+     * @param plugin Plugin instance
+     * @param type Backend type (yaml or sqlite)
+     * @return The backend
+     * @throws IOException if the type is unknown or the backend can't be opened
+     */
+    public static StorageBackend open(EdenCells plugin, String type) throws IOException {
+        return switch (type.toLowerCase(Locale.ROOT)) {
+            case YAML -> new YamlStorageBackend(plugin);
+            case SQLITE -> new SqliteStorageBackend(plugin, new File(plugin.getDataFolder(),
+                plugin.getConfig().getString(Constants.Config.STORAGE_SQLITE_FILE, "edencells.db")));
+            default -> throw new IOException("Unknown storage type: " + type);
+        };
+    }
+
+    /**
+     * Copy door links, cell groups and NPC configurations, replacing what the target holds.
+     * The audit trail is append-only history and stays where it was written.
+     * @param from Source backend; its managers must have flushed first
+     * @param to Target backend
+     * @return Human-readable summary of what was copied
+     * @throws IOException if reading or writing fails
+     */
+    public static String migrate(StorageBackend from, StorageBackend to) throws IOException {
+        Map<String, LongObjectMap<String>> doors = from.doors().load();
+        int doorCount = 0;
+        for (LongObjectMap<String> worldDoors : doors.values()) {
+            doorCount += worldDoors.size();
+        }
+        to.doors().replaceAll(doors);
+
+        GroupData groups = from.groups().load();
+        to.groups().save(groups, groups.groups().keySet());
+
+        Map<Integer, NPCConfig> npcs = from.npcs().load();
+        to.npcs().save(npcs);
+
+        return doorCount + " door links, " + groups.groups().size() + " cell groups and " + npcs.size() + " teleport NPCs";
+    }
+}
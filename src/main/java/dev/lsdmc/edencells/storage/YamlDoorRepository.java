@@ -0,0 +1,416 @@
+package dev.lsdmc.edencells.storage;
+
+import dev.lsdmc.edencells.EdenCells;
+import dev.lsdmc.edencells.utils.AtomicFiles;
+import dev.lsdmc.edencells.utils.BlockKey;
+import dev.lsdmc.edencells.utils.LongObjectMap;
+import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.configuration.InvalidConfigurationException;
+import org.bukkit.configuration.file.FileConfiguration;
+import org.bukkit.configuration.file.YamlConfiguration;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.logging.Logger;
+
+/**
+ * Door links in doors.yml or doors.bin, with changes since the last snapshot kept in
+ * doors.journal. A flush writes a fresh snapshot and compacts the journal into it.
+ */
+final class YamlDoorRepository implements DoorRepository {
+
+    private final EdenCells plugin;
+    private final File doorsFile;
+    private final File binaryFile;
+    private final boolean binaryFormat;
+
+    // Link changes since the last snapshot; null when journaling is disabled
+    private DoorJournal journal;
+    private final File journalFile;
+    private final long journalCompactBytes;
+
+    // Set when journaling is disabled but an old journal was replayed; deleted after the next snapshot
+    private volatile boolean leftoverJournal;
+
+    // Set when a change couldn't be journaled or the snapshot needs converting
+    private volatile boolean snapshotDirty;
+
+    // Snapshot that existed but couldn't be read at load; while set, no snapshot is written
+    // so links recovered from a backup (or none at all) can't replace it
+    private volatile File unreadableSnapshot;
+
+    YamlDoorRepository(EdenCells plugin) {
+        this.plugin = plugin;
+        this.doorsFile = new File(plugin.getDataFolder(), "doors.yml");
+        this.binaryFile = new File(plugin.getDataFolder(), "doors.bin");
+        this.journalFile = new File(plugin.getDataFolder(), "doors.journal");
+
+        FileConfiguration config = plugin.getConfig();
+        this.binaryFormat = "binary".equalsIgnoreCase(config.getString("doors.storage-format", "yaml"));
+        this.journalCompactBytes = Math.max(1L, config.getLong("doors.journal.compact-threshold-kb", 256)) * 1024L;
+        if (config.getBoolean("doors.journal.enabled", true)) {
+            try {
+                this.journal = new DoorJournal(journalFile);
+            } catch (IOException e) {
+                plugin.getLogger().warning("Failed to open door journal, falling back to full saves: " + e.getMessage());
+            }
+        }
+    }
+
+    @Override
+    public Map<String, LongObjectMap<String>> load() throws IOException {
+        // Prefer the configured format; convert from the other one if that's all there is
+        File primary = binaryFormat ? binaryFile : doorsFile;
+        File secondary = binaryFormat ? doorsFile : binaryFile;
+        unreadableSnapshot = null;
+
+        Map<String, LongObjectMap<String>> links = loadSnapshot(primary);
+        if (links != null) {
+            plugin.debug("Loaded door snapshot from " + primary.getName());
+        } else if ((links = loadSnapshot(secondary)) != null) {
+            plugin.getLogger().info("Converting door links from " + secondary.getName() + " to " + primary.getName());
+            snapshotDirty = true;
+        } else if (!primary.exists() && !secondary.exists()) {
+            plugin.getLogger().info("No door data found, starting fresh");
+            links = new HashMap<>();
+        } else {
+            links = recoverFromBackup(primary.exists() ? primary : secondary, secondary, primary);
+        }
+
+        if (journal != null) {
+            replayJournal(links);
+        } else if (DoorJournal.exists(journalFile)) {
+            // Left from when journaling was on; fold it into the next snapshot so it can't be
+            // replayed over newer data if journaling is turned back on
+            if (replayJournal(links)) {
+                leftoverJournal = true;
+                snapshotDirty = true;
+            }
+        }
+        return links;
+    }
+
+    @Override
+    public boolean linked(String worldName, long key, String regionId) {
+        if (journal == null) {
+            snapshotDirty = true;
+            return true;
+        }
+
+        try {
+            journal.appendLink(worldName, BlockKey.x(key), BlockKey.y(key), BlockKey.z(key), regionId);
+        } catch (IOException e) {
+            plugin.getLogger().warning("Failed to append to door journal: " + e.getMessage());
+            snapshotDirty = true;
+            return true;
+        }
+        return journal.size() >= journalCompactBytes;
+    }
+
+    @Override
+    public boolean unlinked(String worldName, long key) {
+        if (journal == null) {
+            snapshotDirty = true;
+            return true;
+        }
+
+        try {
+            journal.appendUnlink(worldName, BlockKey.x(key), BlockKey.y(key), BlockKey.z(key));
+        } catch (IOException e) {
+            plugin.getLogger().warning("Failed to append to door journal: " + e.getMessage());
+            snapshotDirty = true;
+            return true;
+        }
+        return journal.size() >= journalCompactBytes;
+    }
+
+    @Override
+    public boolean hasPendingChanges() {
+        return snapshotDirty || (journal != null && (journal.size() > 0 || journal.hasPendingCompaction()));
+    }
+
+    /**
+     * Write a full snapshot in the configured format, compacting the journal into it
+     */
+    @Override
+    public void flush(SnapshotSource source) throws IOException {
+        File unreadable = unreadableSnapshot;
+        if (unreadable != null) {
+            // Leaves the journal alone too, so its records are replayed once the file is fixed
+            plugin.getLogger().warning("Not saving door links: " + unreadable.getName()
+                + " could not be read; fix or remove it and run /econfig reload");
+            return;
+        }
+
+        Map<String, LongObjectMap<String>> links;
+        try {
+            links = source.capture(() -> {
+                snapshotDirty = false;
+                if (journal != null) {
+                    try {
+                        journal.rotate();
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                }
+            });
+        } catch (UncheckedIOException e) {
+            snapshotDirty = true;
+            throw e.getCause();
+        }
+
+        try {
+            writeSnapshot(links);
+        } catch (IOException e) {
+            snapshotDirty = true;
+            throw e;
+        }
+
+        if (journal != null) {
+            journal.completeCompaction();
+        } else {
+            deleteLeftoverJournal();
+        }
+    }
+
+    @Override
+    public void replaceAll(Map<String, LongObjectMap<String>> links) throws IOException {
+        // A full replacement is an explicit admin action, so it may overwrite an unreadable snapshot
+        writeSnapshot(links);
+        unreadableSnapshot = null;
+        if (journal != null) {
+            journal.rotate();
+            journal.completeCompaction();
+        } else {
+            deleteLeftoverJournal();
+        }
+    }
+
+    /**
+     * Close the journal
+     */
+    void close() {
+        if (journal != null) {
+            journal.close();
+        }
+    }
+
+    private void writeSnapshot(Map<String, LongObjectMap<String>> links) throws IOException {
+        int count = 0;
+        if (binaryFormat) {
+            DoorSnapshotFile.write(binaryFile, links);
+            retire(doorsFile);
+            for (LongObjectMap<String> worldLinks : links.values()) {
+                count += worldLinks.size();
+            }
+        } else {
+            for (LongObjectMap<String> worldLinks : links.values()) {
+                count += worldLinks.size();
+            }
+            AtomicFiles.writeYaml(toYaml(links), doorsFile);
+            retire(binaryFile);
+        }
+        plugin.debug("Saved " + count + " door links");
+    }
+
+    /**
+     * Load links from the copy a format conversion moved aside, after the snapshot couldn't be read.
+     * Blocks snapshot writes until the unreadable file is dealt with.
+     * @param unreadable The snapshot that failed to load
+     * @param backups Snapshots whose retired copies to try, in order
+     * @return The recovered links, or none
+     */
+    private Map<String, LongObjectMap<String>> recoverFromBackup(File unreadable, File... backups) {
+        unreadableSnapshot = unreadable;
+        String where = journal != null ? "doors.journal" : "memory only";
+
+        for (File snapshot : backups) {
+            File backup = retiredCopy(snapshot);
+            Map<String, LongObjectMap<String>> links = loadSnapshot(backup);
+            if (links != null) {
+                plugin.getLogger().severe("Door snapshot " + unreadable.getName() + " could not be read; restored door links from "
+                    + backup.getName() + ", which may be out of date. Door links will not be saved until "
+                    + unreadable.getName() + " is fixed or removed and /econfig reload is run; changes are kept in " + where);
+                return links;
+            }
+        }
+
+        plugin.getLogger().severe("Door snapshot " + unreadable.getName() + " could not be read and no backup was found; "
+            + "starting with NO door links, so cell doors are unprotected. Door links will not be saved until "
+            + unreadable.getName() + " is fixed or removed and /econfig reload is run; changes are kept in " + where);
+        return new HashMap<>();
+    }
+
+    /**
+     * Load a doors.yml or doors.bin snapshot, or a retired copy of one
+     * @return The links, or null if the file is missing or couldn't be read
+     */
+    private Map<String, LongObjectMap<String>> loadSnapshot(File file) {
+        if (!file.exists()) {
+            return null;
+        }
+
+        if (file.getName().startsWith(binaryFile.getName())) {
+            Map<String, LongObjectMap<String>> links = new HashMap<>();
+            try {
+                DoorSnapshotFile.read(file, (worldName, x, y, z, regionId) ->
+                    links.computeIfAbsent(worldName, w -> new LongObjectMap<>()).put(BlockKey.pack(x, y, z), regionId));
+                return links;
+            } catch (IOException e) {
+                plugin.getLogger().severe("Failed to load " + file.getName() + ": " + e.getMessage());
+                keepCorruptCopy(file);
+                return null;
+            }
+        }
+
+        return loadYaml(file);
+    }
+
+    private Map<String, LongObjectMap<String>> loadYaml(File file) {
+        // Not loadConfiguration: it turns a broken file into an empty one
+        YamlConfiguration config = new YamlConfiguration();
+        try {
+            config.load(file);
+        } catch (IOException | InvalidConfigurationException e) {
+            plugin.getLogger().severe("Failed to load " + file.getName() + ": " + e.getMessage());
+            keepCorruptCopy(file);
+            return null;
+        }
+        return fromYaml(config, plugin.getLogger());
+    }
+
+    /**
+     * Parse links in doors.yml layout
+     * @param config The parsed file
+     * @param logger Receives a warning about malformed keys
+     * @return World name -> packed block key -> region ID
+     */
+    static Map<String, LongObjectMap<String>> fromYaml(ConfigurationSection config, Logger logger) {
+        Map<String, LongObjectMap<String>> links = new HashMap<>();
+
+        // Share one string per region rather than one per door
+        Map<String, String> regionIds = new HashMap<>();
+        int skipped = 0;
+        for (String key : config.getKeys(false)) {
+            String regionId = config.getString(key);
+            if (regionId == null) {
+                continue;
+            }
+            regionId = regionIds.computeIfAbsent(regionId, r -> r);
+
+            // Key format: world:x:y:z (world names may contain ':' so parse from the right)
+            try {
+                int zSep = key.lastIndexOf(':');
+                int ySep = key.lastIndexOf(':', zSep - 1);
+                int xSep = key.lastIndexOf(':', ySep - 1);
+                if (xSep <= 0) {
+                    skipped++;
+                    continue;
+                }
+
+                long blockKey = BlockKey.pack(
+                    Integer.parseInt(key.substring(xSep + 1, ySep)),
+                    Integer.parseInt(key.substring(ySep + 1, zSep)),
+                    Integer.parseInt(key.substring(zSep + 1)));
+                links.computeIfAbsent(key.substring(0, xSep), w -> new LongObjectMap<>()).put(blockKey, regionId);
+            } catch (NumberFormatException | StringIndexOutOfBoundsException e) {
+                skipped++;
+            }
+        }
+
+        if (skipped > 0) {
+            logger.warning("Skipped " + skipped + " malformed door keys in doors.yml");
+        }
+        return links;
+    }
+
+    /**
+     * Lay links out as doors.yml
+     * @param links World name -> packed block key -> region ID
+     * @return The configuration
+     */
+    static YamlConfiguration toYaml(Map<String, LongObjectMap<String>> links) {
+        YamlConfiguration config = new YamlConfiguration();
+        for (Map.Entry<String, LongObjectMap<String>> world : links.entrySet()) {
+            String worldName = world.getKey();
+            world.getValue().forEach((key, regionId) -> config.set(toKey(worldName, key), regionId));
+        }
+        return config;
+    }
+
+    private void deleteLeftoverJournal() {
+        if (!leftoverJournal) {
+            return;
+        }
+        try {
+            DoorJournal.deleteLeftover(journalFile);
+            leftoverJournal = false;
+            plugin.debug("Deleted door journal left from before journaling was disabled");
+        } catch (IOException e) {
+            plugin.getLogger().warning("Failed to delete old door journal: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Apply journaled changes on top of the snapshot
+     * @return true if the journal was read
+     */
+    private boolean replayJournal(Map<String, LongObjectMap<String>> links) {
+        try {
+            DoorJournal.Handler handler = new DoorJournal.Handler() {
+                @Override
+                public void link(String worldName, int x, int y, int z, String regionId) {
+                    links.computeIfAbsent(worldName, w -> new LongObjectMap<>()).put(BlockKey.pack(x, y, z), regionId);
+                }
+
+                @Override
+                public void unlink(String worldName, int x, int y, int z) {
+                    LongObjectMap<String> worldLinks = links.get(worldName);
+                    if (worldLinks != null) {
+                        worldLinks.remove(BlockKey.pack(x, y, z));
+                    }
+                }
+            };
+            int replayed = journal != null ? journal.replay(handler) : DoorJournal.replayLeftover(journalFile, handler);
+
+            if (replayed > 0) {
+                plugin.getLogger().info("Replayed " + replayed + " door journal records");
+            }
+            return true;
+        } catch (IOException e) {
+            plugin.getLogger().severe("Failed to replay door journal: " + e.getMessage());
+            return false;
+        }
+    }
+
+    private void keepCorruptCopy(File file) {
+        try {
+            Files.copy(file.toPath(), new File(file.getParentFile(), file.getName() + ".corrupt").toPath(),
+                StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            plugin.getLogger().warning("Failed to back up " + file.getName() + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * Move a snapshot in the other format aside so it can't be loaded stale later
+     */
+    private void retire(File file) throws IOException {
+        if (file.exists()) {
+            Files.move(file.toPath(), retiredCopy(file).toPath(), StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    private static File retiredCopy(File file) {
+        return new File(file.getParentFile(), file.getName() + ".bak");
+    }
+
+    private static String toKey(String worldName, long key) {
+        return worldName + ":" + BlockKey.x(key) + ":" + BlockKey.y(key) + ":" + BlockKey.z(key);
+    }
+}
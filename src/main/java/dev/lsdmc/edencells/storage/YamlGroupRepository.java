@@ -0,0 +1,150 @@
+package dev.lsdmc.edencells.storage;
+
+import dev.lsdmc.edencells.EdenCells;
+import dev.lsdmc.edencells.utils.AtomicFiles;
+import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.configuration.file.YamlConfiguration;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.logging.Logger;
+
+/**
+ * Cell groups in cell-groups.yml, rewritten whole on every save
+ */
+final class YamlGroupRepository implements GroupRepository {
+
+    private final EdenCells plugin;
+    private final File groupsFile;
+
+    YamlGroupRepository(EdenCells plugin) {
+        this.plugin = plugin;
+        this.groupsFile = new File(plugin.getDataFolder(), "cell-groups.yml");
+
+        // Create the file if it doesn't exist
+        if (!groupsFile.exists()) {
+            plugin.saveResource("cell-groups.yml", false);
+        }
+
+        // Migrate from config.yml if needed
+        migrateFromMainConfig();
+    }
+
+    /**
+     * Migrate cell groups from main config.yml to cell-groups.yml if they exist there
+     */
+    private void migrateFromMainConfig() {
+        ConfigurationSection mainConfigGroups = plugin.getConfig().getConfigurationSection("cell-groups");
+
+        if (mainConfigGroups != null && !mainConfigGroups.getKeys(false).isEmpty()) {
+            plugin.getLogger().info("Migrating cell groups from config.yml to cell-groups.yml...");
+            YamlConfiguration groupsConfig = YamlConfiguration.loadConfiguration(groupsFile);
+
+            // Copy the entire cell-groups section
+            groupsConfig.set("groups", mainConfigGroups);
+
+            // Copy global limits
+            int globalLimit = plugin.getConfig().getInt("cell-limits.global", -1);
+            groupsConfig.set("limits.global", globalLimit);
+
+            // Set version
+            groupsConfig.set("version", 1);
+
+            // Save the new file
+            try {
+                AtomicFiles.writeYaml(groupsConfig, groupsFile);
+            } catch (IOException e) {
+                plugin.getLogger().severe("Failed to save migrated cell groups: " + e.getMessage());
+            }
+
+            // Remove from main config
+            plugin.getConfig().set("cell-groups", null);
+            plugin.getConfig().set("cell-limits", null);
+            plugin.saveConfig();
+
+            plugin.getLogger().info("Migration completed! Cell groups moved to cell-groups.yml");
+        }
+    }
+
+    @Override
+    public GroupData load() {
+        return fromYaml(YamlConfiguration.loadConfiguration(groupsFile), plugin.getLogger());
+    }
+
+    @Override
+    public void save(GroupData data, Set<String> changed) throws IOException {
+        AtomicFiles.writeYaml(toYaml(data), groupsFile);
+        plugin.debug("Saved " + data.groups().size() + " cell groups to cell-groups.yml");
+    }
+
+    /**
+     * Parse groups in cell-groups.yml layout
+     * @param groupsConfig The parsed file
+     * @param logger Receives warnings about groups that can't be read
+     * @return The groups
+     */
+    static GroupData fromYaml(ConfigurationSection groupsConfig, Logger logger) {
+        Map<String, GroupRecord> groups = new LinkedHashMap<>();
+
+        ConfigurationSection groupsSection = groupsConfig.getConfigurationSection("groups");
+        if (groupsSection != null) {
+            for (String groupName : groupsSection.getKeys(false)) {
+                try {
+                    ConfigurationSection groupSection = groupsSection.getConfigurationSection(groupName);
+                    if (groupSection == null) continue;
+
+                    groups.put(groupName, new GroupRecord(
+                        groupSection.getString("display-name", groupName),
+                        groupSection.getStringList("regions"),
+                        groupSection.getInt("cell-limit", -1),
+                        groupSection.getDouble("teleport-cost", -1),
+                        groupSection.getBoolean("is-donor", false),
+                        groupSection.getString("permission")));
+                } catch (Exception e) {
+                    logger.warning("Failed to load cell group '" + groupName + "': " + e.getMessage());
+                }
+            }
+        }
+
+        return new GroupData(groupsConfig.getInt("limits.global", -1), groups);
+    }
+
+    /**
+     * Lay groups out as cell-groups.yml
+     * @param data The groups
+     * @return The configuration
+     */
+    static YamlConfiguration toYaml(GroupData data) {
+        YamlConfiguration config = new YamlConfiguration();
+        config.set("limits.global", data.globalLimit());
+
+        for (Map.Entry<String, GroupRecord> entry : data.groups().entrySet()) {
+            String path = "groups." + entry.getKey();
+            GroupRecord group = entry.getValue();
+            config.set(path + ".display-name", group.displayName());
+            config.set(path + ".regions", List.copyOf(group.regions()));
+
+            // Save options only if they differ from defaults
+            if (group.cellLimit() != -1) {
+                config.set(path + ".cell-limit", group.cellLimit());
+            }
+            if (group.teleportCost() != -1) {
+                config.set(path + ".teleport-cost", group.teleportCost());
+            }
+            if (group.donor()) {
+                config.set(path + ".is-donor", true);
+            }
+            if (group.permission() != null) {
+                config.set(path + ".permission", group.permission());
+            }
+        }
+
+        // Set file version
+        config.set("version", 1);
+        return config;
+    }
+}
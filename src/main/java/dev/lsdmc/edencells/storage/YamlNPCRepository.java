@@ -0,0 +1,101 @@
+package dev.lsdmc.edencells.storage;
+
+import dev.lsdmc.edencells.EdenCells;
+import dev.lsdmc.edencells.managers.TeleportNPCManager.NPCConfig;
+import dev.lsdmc.edencells.utils.AtomicFiles;
+import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.configuration.file.YamlConfiguration;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.logging.Logger;
+
+/**
+ * Teleport NPC configurations in teleport-npcs.yml
+ */
+final class YamlNPCRepository implements NPCRepository {
+
+    private final EdenCells plugin;
+    private final File npcsFile;
+
+    YamlNPCRepository(EdenCells plugin) {
+        this.plugin = plugin;
+        this.npcsFile = new File(plugin.getDataFolder(), "teleport-npcs.yml");
+        if (!npcsFile.exists()) {
+            try {
+                npcsFile.createNewFile();
+            } catch (IOException e) {
+                plugin.getLogger().severe("Could not create teleport-npcs.yml: " + e.getMessage());
+            }
+        }
+    }
+
+    @Override
+    public Map<Integer, NPCConfig> load() {
+        return fromYaml(YamlConfiguration.loadConfiguration(npcsFile), plugin.getLogger());
+    }
+
+    @Override
+    public void save(Map<Integer, NPCConfig> configs) throws IOException {
+        AtomicFiles.writeYaml(toYaml(configs), npcsFile);
+    }
+
+    /**
+     * Parse NPC configurations in teleport-npcs.yml layout
+     * @param npcsConfig The parsed file
+     * @param logger Receives warnings about invalid NPC IDs
+     * @return NPC ID -> configuration
+     */
+    static Map<Integer, NPCConfig> fromYaml(ConfigurationSection npcsConfig, Logger logger) {
+        Map<Integer, NPCConfig> loaded = new HashMap<>();
+
+        ConfigurationSection npcs = npcsConfig.getConfigurationSection("npcs");
+        if (npcs == null) {
+            return loaded;
+        }
+
+        for (String npcIdStr : npcs.getKeys(false)) {
+            try {
+                int npcId = Integer.parseInt(npcIdStr);
+                String path = "npcs." + npcIdStr;
+
+                String name = npcsConfig.getString(path + ".name", "Unknown");
+                String cellGroupName = npcsConfig.getString(path + ".cell-group", "");
+                String worldName = npcsConfig.getString(path + ".world", "world");
+                boolean requirePayment = npcsConfig.getBoolean(path + ".require-payment", true);
+                double cost = npcsConfig.getDouble(path + ".cost", 50.0);
+
+                if (!cellGroupName.isEmpty()) {
+                    loaded.put(npcId, new NPCConfig(name, cellGroupName, worldName, requirePayment, cost));
+                }
+            } catch (NumberFormatException e) {
+                logger.warning("Invalid NPC ID in config: " + npcIdStr);
+            }
+        }
+        return loaded;
+    }
+
+    /**
+     * Lay NPC configurations out as teleport-npcs.yml
+     * @param configs NPC ID -> configuration
+     * @return The configuration
+     */
+    static YamlConfiguration toYaml(Map<Integer, NPCConfig> configs) {
+        YamlConfiguration config = new YamlConfiguration();
+
+        for (Map.Entry<Integer, NPCConfig> entry : new TreeMap<>(configs).entrySet()) {
+            NPCConfig npc = entry.getValue();
+            String path = "npcs." + entry.getKey();
+
+            config.set(path + ".name", npc.name());
+            config.set(path + ".cell-group", npc.cellGroupName());
+            config.set(path + ".world", npc.worldName());
+            config.set(path + ".require-payment", npc.requirePayment());
+            config.set(path + ".cost", npc.cost());
+        }
+        return config;
+    }
+}
@@ -0,0 +1,52 @@
+package dev.lsdmc.edencells.storage;
+
+import dev.lsdmc.edencells.EdenCells;
+
+/**
+ * Default backend: one YAML file per kind of data in the plugin folder
+ */
+final class YamlStorageBackend implements StorageBackend {
+
+    private final YamlDoorRepository doors;
+    private final YamlGroupRepository groups;
+    private final YamlNPCRepository npcs;
+    private final FileAuditRepository audit;
+
+    YamlStorageBackend(EdenCells plugin) {
+        this.doors = new YamlDoorRepository(plugin);
+        this.groups = new YamlGroupRepository(plugin);
+        this.npcs = new YamlNPCRepository(plugin);
+        this.audit = new FileAuditRepository(plugin);
+    }
+
+    @Override
+    public String getName() {
+        return StorageBackends.YAML;
+    }
+
+    @Override
+    public DoorRepository doors() {
+        return doors;
+    }
+
+    @Override
+    public GroupRepository groups() {
+        return groups;
+    }
+
+    @Override
+    public NPCRepository npcs() {
+        return npcs;
+    }
+
+    @Override
+    public AuditRepository audit() {
+        return audit;
+    }
+
+    @Override
+    public void close() {
+        doors.close();
+        audit.close();
+    }
+}
@@ -0,0 +1,84 @@
+package dev.lsdmc.edencells.utils;
+
+import org.bukkit.configuration.file.YamlConfiguration;
+
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Crash-safe file writes: data goes to a sibling temp file which is then renamed over
+ * the target, so readers only ever see the old or the new contents.
+ */
+public final class AtomicFiles {
+
+    private AtomicFiles() {} // Utility class
+
+    /**
+     * Atomically replace a file with YAML contents
+     * @param config The configuration to write
+     * @param target The target file
+     * @throws IOException if writing or renaming fails
+     */
+    public static void writeYaml(YamlConfiguration config, File target) throws IOException {
+        write(target, config.saveToString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Writes new contents into the temp file's stream, without closing it
+     */
+    public interface ContentWriter {
+        void writeTo(OutputStream out) throws IOException;
+    }
+
+    /**
+     * Atomically replace a file with raw bytes
+     * @param target The target file
+     * @param data The new contents
+     * @throws IOException if writing or renaming fails
+     */
+    public static void write(File target, byte[] data) throws IOException {
+        write(target, out -> out.write(data));
+    }
+
+    /**
+     * Atomically replace a file with streamed contents, for data too large to build in memory
+     * @param target The target file
+     * @param writer Writes the new contents
+     * @throws IOException if writing or renaming fails; the target is left untouched
+     */
+    public static void write(File target, ContentWriter writer) throws IOException {
+        Path path = target.toPath();
+        Path parent = path.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+
+        Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            OutputStream out = new BufferedOutputStream(Channels.newOutputStream(channel));
+            writer.writeTo(out);
+            out.flush();
+            channel.force(true);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(temp);
+            throw e;
+        }
+
+        try {
+            Files.move(temp, path, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+}
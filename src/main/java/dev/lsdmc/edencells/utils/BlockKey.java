@@ -0,0 +1,48 @@
+package dev.lsdmc.edencells.utils;
+
+/**
+ * Packs block coordinates into a single long (26 bits x, 26 bits z, 12 bits y)
+ */
+public final class BlockKey {
+
+    private BlockKey() {
+    }
+
+    /**
+     * Pack block coordinates
+     * @param x Block X
+     * @param y Block Y (-2048 to 2047)
+     * @param z Block Z
+     * @return Packed key
+     */
+    public static long pack(int x, int y, int z) {
+        return ((long) (x & 0x3FFFFFF) << 38) | ((long) (z & 0x3FFFFFF) << 12) | (y & 0xFFFL);
+    }
+
+    /**
+     * Get the X coordinate from a packed key
+     * @param key The key
+     * @return Block X
+     */
+    public static int x(long key) {
+        return (int) (key >> 38);
+    }
+
+    /**
+     * Get the Y coordinate from a packed key
+     * @param key The key
+     * @return Block Y
+     */
+    public static int y(long key) {
+        return (int) (key << 52 >> 52);
+    }
+
+    /**
+     * Get the Z coordinate from a packed key
+     * @param key The key
+     * @return Block Z
+     */
+    public static int z(long key) {
+        return (int) (key << 26 >> 38);
+    }
+}
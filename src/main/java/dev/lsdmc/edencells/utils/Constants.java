@@ -135,9 +135,20 @@ public final class Constants {
         
         // Security
         public static final String RATE_LIMIT_PREFIX = "security.rate-limits.";
+        public static final String PERMISSION_CACHE_REFRESH = "security.permission-cache.refresh-seconds";
         public static final String AUDIT_ENABLED = "security.audit.enabled";
         public static final String AUDIT_LOG_FILE = "security.audit.log-file";
         public static final String AUDIT_LOG_ACTIONS = "security.audit.log-actions";
+        public static final String AUDIT_QUEUE_CAPACITY = "security.audit.queue.capacity";
+        public static final String AUDIT_BATCH_SIZE = "security.audit.queue.batch-size";
+        public static final String AUDIT_FLUSH_INTERVAL_MS = "security.audit.queue.flush-interval-ms";
+        public static final String AUDIT_OVERFLOW_POLICY = "security.audit.queue.overflow-policy";
+        public static final String AUDIT_BLOCK_TIMEOUT_MS = "security.audit.queue.block-timeout-ms";
+        public static final String AUDIT_ROTATE_MAX_SIZE_MB = "security.audit.rotation.max-size-mb";
+        public static final String AUDIT_ROTATE_DAILY = "security.audit.rotation.daily";
+        public static final String AUDIT_COMPRESS = "security.audit.rotation.compress";
+        public static final String AUDIT_MAX_FILES = "security.audit.rotation.max-files";
+        public static final String AUDIT_MAX_TOTAL_SIZE_MB = "security.audit.rotation.max-total-size-mb";
         
         // Integrations
         public static final String ARM_USE_ECONOMY = "integrations.arm.use-arm-economy";
@@ -153,11 +164,22 @@ public final class Constants {
         public static final String CACHE_MAX_SIZE = "performance.cache.max-cache-size";
         public static final String ASYNC_SAVES = "performance.async.async-saves";
         public static final String ASYNC_ECONOMY = "performance.async.async-economy";
+        public static final String ASYNC_THREAD_POOL_SIZE = "performance.async.thread-pool-size";
+        public static final String SAVE_DELAY_MS = "performance.async.save-delay-ms";
+        public static final String TAB_COMPLETE_LIMIT = "performance.tab-complete-limit";
+        
+        // Storage
+        public static final String STORAGE_TYPE = "storage.type";
+        public static final String STORAGE_SQLITE_FILE = "storage.sqlite.file";
         
         // Maintenance
         public static final String AUTO_SAVE_INTERVAL = "maintenance.auto-save-interval";
         public static final String BACKUP_ENABLED = "maintenance.backup.enabled";
         public static final String BACKUP_INTERVAL = "maintenance.backup.interval";
+        public static final String BACKUP_MAX = "maintenance.backup.max-backups";
+        public static final String BACKUP_MAX_AGE_DAYS = "maintenance.backup.max-age-days";
+        public static final String BACKUP_FOLDER = "maintenance.backup.folder";
+        public static final String BACKUP_INCLUDE_AUDIT = "maintenance.backup.include-audit-log";
         public static final String CLEANUP_EXPIRED_RENTALS = "maintenance.cleanup.remove-expired-rentals";
     }
     
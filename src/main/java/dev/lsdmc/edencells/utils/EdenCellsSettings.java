@@ -0,0 +1,224 @@
+package dev.lsdmc.edencells.utils;
+
+import org.bukkit.Sound;
+import org.bukkit.configuration.file.FileConfiguration;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.logging.Logger;
+
+/**
+ * Immutable snapshot of the config values read on hot paths.
+ * <p>
+ * Compiled once from config.yml and published by the plugin through a volatile field, so
+ * event handlers read plain fields instead of walking the YAML tree on every call. A reload
+ * or {@code /econfig set} compiles a new snapshot and swaps it in as a whole; readers see
+ * either the old values or the new ones, never a mix.
+ *
+ * @param debug Debug logging enabled
+ * @param guiClickSounds Play a click sound in GUIs
+ * @param doorSounds Door sound settings
+ * @param teleport NPC teleportation settings
+ * @param rateLimits Rate limited action -> calls allowed per minute, in display order
+ * @param auditEnabled Audit logging enabled
+ * @param auditActions Lowercase actions to audit; empty means all
+ * @param auditLog Text audit log file and rotation settings
+ * @param memberAddCost Cost to add a cell member
+ * @param memberRemoveCost Cost to remove a cell member
+ */
+public record EdenCellsSettings(
+    boolean debug,
+    boolean guiClickSounds,
+    DoorSounds doorSounds,
+    Teleport teleport,
+    Map<String, Integer> rateLimits,
+    boolean auditEnabled,
+    Set<String> auditActions,
+    AuditLog auditLog,
+    double memberAddCost,
+    double memberRemoveCost
+) {
+
+    private static final long MEGABYTE = 1024L * 1024L;
+
+    // Keys under security.rate-limits, the action each one limits, and its default
+    private static final List<RateLimitKey> RATE_LIMIT_KEYS = List.of(
+        new RateLimitKey("cell-purchase", "purchase", Constants.RateLimits.PURCHASE_PER_MINUTE),
+        new RateLimitKey("member-add", "member_add", Constants.RateLimits.MEMBER_ADD_PER_MINUTE),
+        new RateLimitKey("member-remove", "member_remove", 5),
+        new RateLimitKey("door-interact", "door_interact", Constants.RateLimits.DOOR_INTERACT_PER_MINUTE),
+        new RateLimitKey("gui-open", "gui_open", Constants.RateLimits.GUI_OPEN_PER_MINUTE),
+        new RateLimitKey("npc-interact", "npc_interact", 10),
+        new RateLimitKey("bulk-add", "bulk_add", Constants.RateLimits.BULK_ADD_PER_MINUTE));
+
+    /**
+     * Door sound settings
+     * @param enabled Play door sounds
+     * @param open Sound when a door opens
+     * @param close Sound when a door closes
+     * @param volume Sound volume
+     * @param pitch Sound pitch
+     */
+    public record DoorSounds(boolean enabled, Sound open, Sound close, float volume, float pitch) {
+    }
+
+    /**
+     * NPC teleportation settings
+     * @param requirePayment Charge for teleports
+     * @param baseCost Cost when the group has none of its own
+     * @param freeGroups Groups that teleport for free
+     * @param cooldownSeconds Cooldown between teleports
+     */
+    public record Teleport(boolean requirePayment, double baseCost, List<String> freeGroups, int cooldownSeconds) {
+    }
+
+    /**
+     * Text audit log settings, read by the audit writer and archiver threads
+     * @param file Log file path relative to the data folder
+     * @param rotateMaxBytes Size at which the active log is rotated, 0 for no limit
+     * @param rotateDaily Rotate the active log when the day changes
+     * @param compress Gzip rotated segments
+     * @param maxFiles Rotated segments to keep, 0 for no limit
+     * @param maxTotalBytes Total size of the logs to keep, 0 for no limit
+     */
+    public record AuditLog(String file, long rotateMaxBytes, boolean rotateDaily, boolean compress,
+                           int maxFiles, long maxTotalBytes) {
+    }
+
+    /**
+     * Compile a snapshot from the config
+     * @param config The loaded config
+     * @param logger Logger for invalid values
+     * @return The settings
+     */
+    public static EdenCellsSettings from(FileConfiguration config, Logger logger) {
+        DoorSounds doorSounds = new DoorSounds(
+            config.getBoolean(Constants.Config.DOOR_SOUNDS_ENABLED, true),
+            parseSound(config.getString(Constants.Config.DOOR_OPEN_SOUND, "BLOCK_IRON_DOOR_OPEN"), Sound.BLOCK_IRON_DOOR_OPEN, logger),
+            parseSound(config.getString(Constants.Config.DOOR_CLOSE_SOUND, "BLOCK_IRON_DOOR_CLOSE"), Sound.BLOCK_IRON_DOOR_CLOSE, logger),
+            (float) config.getDouble(Constants.Config.DOOR_SOUND_VOLUME, 1.0),
+            (float) config.getDouble(Constants.Config.DOOR_SOUND_PITCH, 1.0));
+
+        Teleport teleport = new Teleport(
+            config.getBoolean(Constants.Config.TELEPORT_REQUIRE_PAYMENT, true),
+            config.getDouble(Constants.Config.TELEPORT_BASE_COST, 50.0),
+            List.copyOf(config.getStringList(Constants.Config.TELEPORT_FREE_GROUPS)),
+            config.getInt(Constants.Config.TELEPORT_COOLDOWN, Constants.RateLimits.NPC_TELEPORT_COOLDOWN_SECONDS));
+
+        Map<String, Integer> rateLimits = new LinkedHashMap<>();
+        for (RateLimitKey limit : RATE_LIMIT_KEYS) {
+            rateLimits.put(limit.action(), config.getInt(Constants.Config.RATE_LIMIT_PREFIX + limit.configKey(), limit.defaultLimit()));
+        }
+
+        Set<String> auditActions = new LinkedHashSet<>();
+        for (String action : config.getStringList(Constants.Config.AUDIT_LOG_ACTIONS)) {
+            auditActions.add(action.toLowerCase(Locale.ROOT));
+        }
+
+        AuditLog auditLog = new AuditLog(
+            config.getString(Constants.Config.AUDIT_LOG_FILE, Constants.Storage.AUDIT_LOG_FILE),
+            Math.max(0L, config.getLong(Constants.Config.AUDIT_ROTATE_MAX_SIZE_MB, 10L)) * MEGABYTE,
+            config.getBoolean(Constants.Config.AUDIT_ROTATE_DAILY, true),
+            config.getBoolean(Constants.Config.AUDIT_COMPRESS, true),
+            Math.max(0, config.getInt(Constants.Config.AUDIT_MAX_FILES, 30)),
+            Math.max(0L, config.getLong(Constants.Config.AUDIT_MAX_TOTAL_SIZE_MB, 200L)) * MEGABYTE);
+
+        return new EdenCellsSettings(
+            config.getBoolean(Constants.Config.DEBUG, false),
+            config.getBoolean(Constants.Config.GUI_CLICK_SOUNDS, true),
+            doorSounds,
+            teleport,
+            Collections.unmodifiableMap(rateLimits),
+            config.getBoolean(Constants.Config.AUDIT_ENABLED, true),
+            Collections.unmodifiableSet(auditActions),
+            auditLog,
+            config.getDouble(Constants.Config.MEMBER_ADD_COST, 100.0),
+            config.getDouble(Constants.Config.MEMBER_REMOVE_COST, 50.0));
+    }
+
+    /**
+     * Get the per-minute limit of a rate limited action
+     * @param action The action
+     * @return Calls allowed per minute, 10 for unknown actions
+     */
+    public int rateLimit(String action) {
+        return rateLimits.getOrDefault(action, 10);
+    }
+
+    /**
+     * Get the per-minute limit configured under a rate limit key
+     * @param configKey Key under {@code security.rate-limits}
+     * @return Calls allowed per minute
+     */
+    public int rateLimitByKey(String configKey) {
+        String action = rateLimitAction(configKey);
+        return action != null ? rateLimit(action) : 10;
+    }
+
+    /**
+     * Get the keys under {@code security.rate-limits} that are read, in display order
+     * @return Config keys such as {@code cell-purchase}
+     */
+    public static List<String> rateLimitKeys() {
+        List<String> keys = new ArrayList<>(RATE_LIMIT_KEYS.size());
+        for (RateLimitKey limit : RATE_LIMIT_KEYS) {
+            keys.add(limit.configKey());
+        }
+        return keys;
+    }
+
+    /**
+     * Get the rate limited action a config key sets
+     * @param configKey Key under {@code security.rate-limits}, any case
+     * @return The action, or null if the key isn't read
+     */
+    public static String rateLimitAction(String configKey) {
+        for (RateLimitKey limit : RATE_LIMIT_KEYS) {
+            if (limit.configKey().equalsIgnoreCase(configKey)) {
+                return limit.action();
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Get the config key that sets a rate limited action's limit
+     * @param action The action, such as {@code member_add}
+     * @return The key under {@code security.rate-limits}, or the action if it has none
+     */
+    public static String rateLimitKey(String action) {
+        for (RateLimitKey limit : RATE_LIMIT_KEYS) {
+            if (limit.action().equals(action)) {
+                return limit.configKey();
+            }
+        }
+        return action;
+    }
+
+    /**
+     * Check if an action is written to the audit log
+     * @param action The action, any case
+     * @return true if audit logging is on and the action is not filtered out
+     */
+    public boolean isAudited(String action) {
+        return auditEnabled && (auditActions.isEmpty() || auditActions.contains(action.toLowerCase(Locale.ROOT)));
+    }
+
+    private record RateLimitKey(String configKey, String action, int defaultLimit) {
+    }
+
+    private static Sound parseSound(String name, Sound fallback, Logger logger) {
+        try {
+            return Sound.valueOf(name.toUpperCase(Locale.ROOT).replace(".", "_"));
+        } catch (IllegalArgumentException e) {
+            logger.warning("Invalid sound: " + name + ", using default");
+            return fallback;
+        }
+    }
+}
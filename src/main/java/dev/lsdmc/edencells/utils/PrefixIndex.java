@@ -0,0 +1,116 @@
+package dev.lsdmc.edencells.utils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.Predicate;
+
+/**
+ * Immutable sorted index for case-insensitive prefix lookups.
+ * A lookup is a binary search to the first match followed by a walk over the
+ * matching range, so it never touches entries that don't share the prefix.
+ */
+public final class PrefixIndex {
+
+    private static final PrefixIndex EMPTY = new PrefixIndex(new String[0], new String[0]);
+
+    private final String[] keys;   // lower-cased, sorted
+    private final String[] values; // original spelling, same order
+
+    private PrefixIndex(String[] keys, String[] values) {
+        this.keys = keys;
+        this.values = values;
+    }
+
+    /**
+     * Build an index over a set of strings (duplicates ignoring case are collapsed)
+     * @param entries The strings
+     * @return The index
+     */
+    public static PrefixIndex of(Collection<String> entries) {
+        if (entries == null || entries.isEmpty()) {
+            return EMPTY;
+        }
+
+        String[][] pairs = new String[entries.size()][];
+        int count = 0;
+        for (String entry : entries) {
+            if (entry != null && !entry.isEmpty()) {
+                pairs[count++] = new String[]{entry.toLowerCase(Locale.ROOT), entry};
+            }
+        }
+
+        Arrays.sort(pairs, 0, count, Comparator.comparing((String[] pair) -> pair[0]));
+
+        String[] keys = new String[count];
+        String[] values = new String[count];
+        int size = 0;
+        for (int i = 0; i < count; i++) {
+            if (size > 0 && keys[size - 1].equals(pairs[i][0])) {
+                continue;
+            }
+            keys[size] = pairs[i][0];
+            values[size] = pairs[i][1];
+            size++;
+        }
+
+        return new PrefixIndex(Arrays.copyOf(keys, size), Arrays.copyOf(values, size));
+    }
+
+    /**
+     * Get entries starting with a prefix
+     * @param prefix The prefix (case-insensitive)
+     * @param limit Maximum number of results
+     * @return Matching entries in sorted order
+     */
+    public List<String> complete(String prefix, int limit) {
+        return complete(prefix, limit, null);
+    }
+
+    /**
+     * Get entries starting with a prefix that also pass a filter
+     * @param prefix The prefix (case-insensitive)
+     * @param limit Maximum number of results
+     * @param filter Extra filter on the original entry (null for none)
+     * @return Matching entries in sorted order
+     */
+    public List<String> complete(String prefix, int limit, Predicate<String> filter) {
+        String key = prefix == null ? "" : prefix.toLowerCase(Locale.ROOT);
+        List<String> result = new ArrayList<>(Math.min(limit, 16));
+
+        for (int i = lowerBound(key); i < keys.length && result.size() < limit; i++) {
+            if (!keys[i].startsWith(key)) {
+                break;
+            }
+            if (filter == null || filter.test(values[i])) {
+                result.add(values[i]);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Get the number of entries
+     * @return Entry count
+     */
+    public int size() {
+        return keys.length;
+    }
+
+    private int lowerBound(String key) {
+        int low = 0;
+        int high = keys.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (keys[mid].compareTo(key) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+}
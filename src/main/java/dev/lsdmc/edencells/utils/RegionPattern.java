@@ -0,0 +1,201 @@
+package dev.lsdmc.edencells.utils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Compiled region ID pattern for bulk operations.
+ * <p>
+ * Syntax: one or more terms separated by commas or spaces. Each term is an exact ID
+ * ({@code jcell1}), a numeric range ({@code jcell1-50}), or a glob ({@code jcell*}, {@code cell?}).
+ * Terms starting with {@code !} exclude matches, e.g. {@code jcell1-50,!jcell13 donor*}.
+ * Matching is case-sensitive. Each term is parsed once, so matching a region never
+ * re-parses the pattern or builds a regex.
+ */
+public final class RegionPattern {
+
+    // prefix + start number, '-', optional repeated prefix + end number
+    private static final Pattern RANGE = Pattern.compile("^([^*?]*?)(\\d{1,9})-(?:\\1)?(\\d{1,9})$");
+
+    private final String expression;
+    private final List<Term> includes;
+    private final List<Term> excludes;
+
+    private RegionPattern(String expression, List<Term> includes, List<Term> excludes) {
+        this.expression = expression;
+        this.includes = includes;
+        this.excludes = excludes;
+    }
+
+    /**
+     * Compile a pattern expression
+     * @param expression The expression
+     * @return The compiled pattern
+     * @throws IllegalArgumentException if the expression has no include terms or a bad range
+     */
+    public static RegionPattern compile(String expression) {
+        if (expression == null || expression.isBlank()) {
+            throw new IllegalArgumentException("Pattern cannot be empty");
+        }
+
+        List<Term> includes = new ArrayList<>();
+        List<Term> excludes = new ArrayList<>();
+
+        for (String raw : expression.split("[,\\s]+")) {
+            if (raw.isEmpty()) {
+                continue;
+            }
+
+            boolean exclude = raw.startsWith("!");
+            String token = exclude ? raw.substring(1) : raw;
+            if (token.isEmpty()) {
+                throw new IllegalArgumentException("Empty term in pattern: " + raw);
+            }
+
+            (exclude ? excludes : includes).add(compileTerm(token));
+        }
+
+        if (includes.isEmpty()) {
+            throw new IllegalArgumentException("Pattern needs at least one term that is not an exclusion");
+        }
+
+        return new RegionPattern(expression, List.copyOf(includes), List.copyOf(excludes));
+    }
+
+    /**
+     * Check if a region ID matches this pattern
+     * @param regionId The region ID
+     * @return true if any include term matches and no exclude term does
+     */
+    public boolean matches(String regionId) {
+        if (regionId == null) {
+            return false;
+        }
+
+        boolean included = false;
+        for (Term term : includes) {
+            if (term.matches(regionId)) {
+                included = true;
+                break;
+            }
+        }
+        if (!included) {
+            return false;
+        }
+
+        for (Term term : excludes) {
+            if (term.matches(regionId)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Get the original expression
+     * @return The expression
+     */
+    public String getExpression() {
+        return expression;
+    }
+
+    @Override
+    public String toString() {
+        return expression;
+    }
+
+    private static Term compileTerm(String token) {
+        Matcher range = RANGE.matcher(token);
+        if (range.matches()) {
+            int start = Integer.parseInt(range.group(2));
+            int end = Integer.parseInt(range.group(3));
+            if (start > end) {
+                throw new IllegalArgumentException("Range start is greater than end: " + token);
+            }
+            return new RangeTerm(range.group(1), start, end);
+        }
+
+        if (token.indexOf('*') >= 0 || token.indexOf('?') >= 0) {
+            return new GlobTerm(token);
+        }
+
+        return new ExactTerm(token);
+    }
+
+    private interface Term {
+        boolean matches(String regionId);
+    }
+
+    private record ExactTerm(String id) implements Term {
+        @Override
+        public boolean matches(String regionId) {
+            return regionId.equals(id);
+        }
+    }
+
+    /**
+     * Prefix followed by a number within [start, end] (leading zeros allowed)
+     */
+    private record RangeTerm(String prefix, int start, int end) implements Term {
+        @Override
+        public boolean matches(String regionId) {
+            int length = regionId.length();
+            int offset = prefix.length();
+            if (length <= offset || length - offset > 9 || !regionId.startsWith(prefix)) {
+                return false;
+            }
+
+            int value = 0;
+            for (int i = offset; i < length; i++) {
+                char c = regionId.charAt(i);
+                if (c < '0' || c > '9') {
+                    return false;
+                }
+                value = value * 10 + (c - '0');
+            }
+            return value >= start && value <= end;
+        }
+    }
+
+    /**
+     * Glob with '*' (any run) and '?' (any single char), matched without backtracking blowup
+     */
+    private record GlobTerm(String glob) implements Term {
+        @Override
+        public boolean matches(String regionId) {
+            int g = 0;
+            int r = 0;
+            int starG = -1;
+            int starR = 0;
+
+            while (r < regionId.length()) {
+                if (g < glob.length()) {
+                    char gc = glob.charAt(g);
+                    if (gc == '*') {
+                        starG = g++;
+                        starR = r;
+                        continue;
+                    }
+                    if (gc == '?' || gc == regionId.charAt(r)) {
+                        g++;
+                        r++;
+                        continue;
+                    }
+                }
+                if (starG < 0) {
+                    return false;
+                }
+                // Let the last '*' absorb one more character and retry
+                g = starG + 1;
+                r = ++starR;
+            }
+
+            while (g < glob.length() && glob.charAt(g) == '*') {
+                g++;
+            }
+            return g == glob.length();
+        }
+    }
+}
@@ -0,0 +1,235 @@
+package dev.lsdmc.edencells.utils;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Hashed timing wheel for per-player cooldowns and expiring state.
+ * <p>
+ * Each timer is keyed by a kind (such as {@code "door-cooldown"}) and a player, and sits in
+ * the bucket of the tick it expires on, in a doubly linked list. Scheduling, replacing and
+ * cancelling are O(1); {@link #advance()}, called once per server tick, only visits the
+ * buckets that came due. Timers further out than one turn of the wheel share buckets and
+ * stay put until their own tick comes round.
+ * <p>
+ * Whether a timer is still running is decided by its exact deadline, so the tick size only
+ * affects how soon expired timers are cleaned up and their callbacks run.
+ */
+public final class TimingWheel {
+
+    private final long tickNanos;
+    private final int mask;
+    private final Timer[] buckets;
+    private final Map<Key, Timer> timers = new HashMap<>();
+    private final long origin = System.nanoTime();
+    private long currentTick;
+
+    /**
+     * Create a wheel
+     * @param slots Buckets per turn, rounded up to a power of two
+     * @param tickMillis Length of one tick
+     */
+    public TimingWheel(int slots, long tickMillis) {
+        int size = Integer.highestOneBit(Math.max(2, slots) - 1) << 1;
+        this.tickNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(1L, tickMillis));
+        this.mask = size - 1;
+        this.buckets = new Timer[size];
+    }
+
+    /**
+     * Start or restart a timer
+     * @param kind What the timer is for
+     * @param playerId The player
+     * @param delayMillis Time until it expires
+     * @param onExpire Run on the ticking thread when it expires or by {@link #expire}, or null
+     */
+    public void schedule(String kind, UUID playerId, long delayMillis, Runnable onExpire) {
+        long deadline = now() + TimeUnit.MILLISECONDS.toNanos(Math.max(0L, delayMillis));
+
+        synchronized (this) {
+            Timer timer = timers.get(new Key(kind, playerId));
+            if (timer != null) {
+                unlink(timer);
+            } else {
+                timer = new Timer(new Key(kind, playerId));
+                timers.put(timer.key, timer);
+            }
+            timer.deadline = deadline;
+            timer.onExpire = onExpire;
+            // Never behind the tick being processed, or the timer would wait a full turn
+            timer.tick = Math.max(currentTick + 1, (deadline + tickNanos - 1) / tickNanos);
+            link(timer);
+        }
+    }
+
+    /**
+     * Cancel a timer without running its callback
+     * @param kind What the timer is for
+     * @param playerId The player
+     * @return true if a timer was running
+     */
+    public synchronized boolean cancel(String kind, UUID playerId) {
+        Timer timer = timers.remove(new Key(kind, playerId));
+        if (timer == null) {
+            return false;
+        }
+        unlink(timer);
+        return timer.deadline > now();
+    }
+
+    /**
+     * Check if a timer is running
+     * @param kind What the timer is for
+     * @param playerId The player
+     * @return true until its deadline passes
+     */
+    public boolean isActive(String kind, UUID playerId) {
+        return getRemainingMillis(kind, playerId) > 0;
+    }
+
+    /**
+     * Get the time left on a timer
+     * @param kind What the timer is for
+     * @param playerId The player
+     * @return Milliseconds until it expires, 0 if it isn't running
+     */
+    public synchronized long getRemainingMillis(String kind, UUID playerId) {
+        Timer timer = timers.get(new Key(kind, playerId));
+        if (timer == null) {
+            return 0L;
+        }
+        long remaining = timer.deadline - now();
+        return remaining > 0 ? TimeUnit.NANOSECONDS.toMillis(remaining + 999_999L) : 0L;
+    }
+
+    /**
+     * Expire some of a player's timers now, running their callbacks
+     * @param playerId The player
+     * @param kinds What the timers are for; other kinds keep running
+     */
+    public void expire(UUID playerId, String... kinds) {
+        List<Runnable> callbacks = new ArrayList<>();
+        synchronized (this) {
+            for (String kind : kinds) {
+                Timer timer = timers.remove(new Key(kind, playerId));
+                if (timer != null) {
+                    unlink(timer);
+                    if (timer.onExpire != null) {
+                        callbacks.add(timer.onExpire);
+                    }
+                }
+            }
+        }
+        callbacks.forEach(Runnable::run);
+    }
+
+    /**
+     * Expire the timers that came due since the last call; call once per server tick
+     */
+    public void advance() {
+        List<Runnable> callbacks = new ArrayList<>();
+        synchronized (this) {
+            long targetTick = now() / tickNanos;
+            // After a long stall every bucket is due, so one turn covers it
+            long steps = Math.min(targetTick - currentTick, buckets.length);
+            for (long step = 1; step <= steps; step++) {
+                expireBucket((int) ((currentTick + step) & mask), targetTick, callbacks);
+            }
+            currentTick = Math.max(currentTick, targetTick);
+        }
+        callbacks.forEach(Runnable::run);
+    }
+
+    /**
+     * Get the number of scheduled timers, including expired ones not yet cleaned up
+     * @return Timer count
+     */
+    public synchronized int size() {
+        return timers.size();
+    }
+
+    /**
+     * Count the scheduled timers of one kind
+     * @param kind What the timers are for
+     * @return Timer count
+     */
+    public synchronized int count(String kind) {
+        int count = 0;
+        for (Key key : timers.keySet()) {
+            if (key.kind().equals(kind)) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private void expireBucket(int index, long targetTick, List<Runnable> callbacks) {
+        Timer timer = buckets[index];
+        while (timer != null) {
+            Timer next = timer.next;
+            if (timer.tick <= targetTick) {
+                unlink(timer);
+                timers.remove(timer.key);
+                if (timer.onExpire != null) {
+                    callbacks.add(timer.onExpire);
+                }
+            }
+            timer = next;
+        }
+    }
+
+    private void link(Timer timer) {
+        int index = (int) (timer.tick & mask);
+        Timer head = buckets[index];
+        timer.prev = null;
+        timer.next = head;
+        if (head != null) {
+            head.prev = timer;
+        }
+        buckets[index] = timer;
+    }
+
+    private void unlink(Timer timer) {
+        if (timer.prev != null) {
+            timer.prev.next = timer.next;
+        } else {
+            int index = (int) (timer.tick & mask);
+            if (buckets[index] == timer) {
+                buckets[index] = timer.next;
+            }
+        }
+        if (timer.next != null) {
+            timer.next.prev = timer.prev;
+        }
+        timer.prev = null;
+        timer.next = null;
+    }
+
+    private long now() {
+        // Relative to creation so ticks start at zero
+        return System.nanoTime() - origin;
+    }
+
+    private record Key(String kind, UUID playerId) {
+    }
+
+    /**
+     * One scheduled timer; a node in its bucket's list
+     */
+    private static final class Timer {
+        private final Key key;
+        private long deadline;
+        private long tick;
+        private Runnable onExpire;
+        private Timer prev;
+        private Timer next;
+
+        Timer(Key key) {
+            this.key = key;
+        }
+    }
+}
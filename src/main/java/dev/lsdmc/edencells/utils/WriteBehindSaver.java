@@ -0,0 +1,171 @@
+package dev.lsdmc.edencells.utils;
+
+import dev.lsdmc.edencells.EdenCells;
+
+import java.io.IOException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Coalesces save requests for one data file.
+ * <p>
+ * {@link #markDirty()} is cheap and may be called for every change; the first call in a
+ * quiet period schedules a single write after {@code performance.async.save-delay-ms},
+ * and every change made before that write runs is folded into it. Writes happen on a
+ * dedicated daemon thread, one at a time. A failed write is retried with backoff, up to
+ * once a minute, until one succeeds. {@link #shutdown()} performs the final flush.
+ */
+public final class WriteBehindSaver {
+
+    private static final long MIN_RETRY_MILLIS = 1000L;
+    private static final long MAX_RETRY_MILLIS = 60_000L;
+
+    /**
+     * Writes the current state to disk
+     */
+    @FunctionalInterface
+    public interface SaveTask {
+        void save() throws IOException;
+    }
+
+    private final EdenCells plugin;
+    private final String name;
+    private final SaveTask task;
+    private final boolean async;
+    private final long delayMillis;
+    private final ScheduledThreadPoolExecutor executor;
+
+    private final AtomicBoolean dirty = new AtomicBoolean();
+    private final AtomicBoolean scheduled = new AtomicBoolean();
+    private final Object writeLock = new Object();
+    private int failures; // consecutive failed writes, guarded by writeLock
+    private volatile boolean closed;
+
+    /**
+     * Create a saver
+     * @param plugin Plugin instance
+     * @param name File name, used for the thread name and log messages
+     * @param task The write to perform
+     */
+    public WriteBehindSaver(EdenCells plugin, String name, SaveTask task) {
+        this.plugin = plugin;
+        this.name = name;
+        this.task = task;
+        this.async = plugin.getConfig().getBoolean(Constants.Config.ASYNC_SAVES, true);
+        this.delayMillis = Math.max(0L, plugin.getConfig().getLong(Constants.Config.SAVE_DELAY_MS, 2000L));
+        this.executor = new ScheduledThreadPoolExecutor(1, runnable -> {
+            Thread thread = new Thread(runnable, "EdenCells-" + name + "-writer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        // Pending delayed writes are folded into the final flush instead
+        this.executor.setExecuteExistingDelayedTasksAfterShutdownPolicy(false);
+    }
+
+    /**
+     * Record that the data changed and schedule a write if one isn't pending.
+     * Writes synchronously when async saves are disabled or the saver is shut down.
+     */
+    public void markDirty() {
+        dirty.set(true);
+        if (!async || closed) {
+            flush();
+            return;
+        }
+
+        if (!schedule(delayMillis)) {
+            flush();
+        }
+    }
+
+    /**
+     * Write now on the calling thread, whether or not anything changed
+     * @return true if the write succeeded
+     */
+    public boolean saveNow() {
+        dirty.set(true);
+        return flush();
+    }
+
+    /**
+     * Write now on the calling thread if there are unsaved changes
+     * @return true if a write happened and succeeded
+     */
+    public boolean flush() {
+        synchronized (writeLock) {
+            if (!dirty.getAndSet(false)) {
+                return false;
+            }
+
+            try {
+                task.save();
+                failures = 0;
+                return true;
+            } catch (IOException | RuntimeException e) {
+                dirty.set(true);
+                failures++;
+                plugin.getLogger().severe("Failed to save " + name + ": " + e.getMessage());
+                scheduleRetry();
+                return false;
+            }
+        }
+    }
+
+    /**
+     * Check for unsaved changes
+     * @return true if a write is pending
+     */
+    public boolean isDirty() {
+        return dirty.get();
+    }
+
+    /**
+     * Stop the writer thread and flush any pending changes
+     */
+    public void shutdown() {
+        closed = true;
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(5, TimeUnit.SECONDS)) {
+                executor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+        flush();
+    }
+
+    /**
+     * Schedule a write if one isn't pending
+     * @return false if the writer thread is shut down
+     */
+    private boolean schedule(long delay) {
+        if (!scheduled.compareAndSet(false, true)) {
+            return true;
+        }
+        try {
+            executor.schedule(this::runScheduled, delay, TimeUnit.MILLISECONDS);
+            return true;
+        } catch (RejectedExecutionException e) {
+            scheduled.set(false);
+            return false;
+        }
+    }
+
+    private void scheduleRetry() {
+        // Nothing else writes until the next change, which may never come
+        if (!async || closed) {
+            return;
+        }
+        long delay = Math.max(delayMillis, MIN_RETRY_MILLIS) << Math.min(failures - 1, 6);
+        schedule(Math.min(delay, MAX_RETRY_MILLIS));
+    }
+
+    private void runScheduled() {
+        scheduled.set(false);
+        flush();
+    }
+}